@@ -1,10 +1,14 @@
 package org.qubership.cloud.restclient;
 
+import org.qubership.cloud.restclient.entity.RequestResult;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public abstract class AbstractMicroserviceRestClient implements MicroserviceRestClient {
 
@@ -20,4 +24,36 @@ public abstract class AbstractMicroserviceRestClient implements MicroserviceRest
                 requestBody,
                 responseClass);
     }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String url,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return doRequestAsync(URI.create(url),
+                httpMethod,
+                headers,
+                requestBody,
+                responseClass);
+    }
+
+    protected static void checkParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+    }
+
+    protected static <T> RequestResult<T> toRequestResult(RestClientResponseEntity<T> response, Throwable error) {
+        if (error == null) {
+            return RequestResult.success(response);
+        }
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException) {
+            return RequestResult.failure((RuntimeException) error);
+        }
+        return RequestResult.failure(new MicroserviceRestClientException(error.getMessage(), error));
+    }
 }
@@ -0,0 +1,178 @@
+package org.qubership.cloud.restclient;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * URI template parsed once and expanded on every request without parsing it again. Intended to be kept in a constant
+ * for templates used on hot paths:
+ * <pre>{@code
+ * private static final CompiledUriTemplate ITEM = CompiledUriTemplate.compile("http://items-service:8080/items/{id}?view={view}");
+ *
+ * restClient.doRequest(ITEM, HttpMethod.GET, null, null, Item.class, Map.of("id", 42, "view", "full"));
+ * }</pre>
+ * Variables may be written as {@code {name}} or {@code {name:regex}}, the regex part is ignored. Variable values are
+ * encoded strictly, i.e. all characters except unreserved ones are percent-encoded, so they cannot change the structure
+ * of the URI. Literal parts keep reserved characters and only characters not allowed in URIs are encoded.
+ */
+public final class CompiledUriTemplate {
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    /**
+     * Encoded literals, {@code literals.length == variables.length + 1}.
+     */
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalsLength;
+
+    private CompiledUriTemplate(String template, String[] literals, String[] variables) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a variable is not closed
+     */
+    public static CompiledUriTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < template.length()) {
+            if (template.charAt(i) != '{') {
+                i++;
+                continue;
+            }
+            int level = 1;
+            int end = i + 1;
+            while (end < template.length() && level > 0) {
+                char c = template.charAt(end);
+                if (c == '{') {
+                    level++;
+                } else if (c == '}') {
+                    level--;
+                }
+                end++;
+            }
+            if (level > 0) {
+                throw new IllegalArgumentException("Unclosed variable in URI template '" + template + "'");
+            }
+            String variable = template.substring(i + 1, end - 1);
+            int colon = variable.indexOf(':');
+            literals.add(encodeLiteral(template, literalStart, i));
+            variables.add((colon < 0 ? variable : variable.substring(0, colon)).trim());
+            literalStart = end;
+            i = end;
+        }
+        literals.add(encodeLiteral(template, literalStart, template.length()));
+        return new CompiledUriTemplate(template, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return names of the variables in the order of their first occurrence
+     */
+    public Set<String> getVariableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, variables);
+        return names;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a variable has no value in the map, {@code null} values expand to empty
+     *                                  strings
+     */
+    public URI expand(Map<String, ?> params) {
+        StringBuilder uri = new StringBuilder(literalsLength + 16 * variables.length);
+        uri.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            if (params == null || !params.containsKey(variables[i])) {
+                throw new IllegalArgumentException("Map has no value for '" + variables[i] + "'");
+            }
+            Object value = params.get(variables[i]);
+            if (value != null) {
+                appendEncoded(uri, value.toString());
+            }
+            uri.append(literals[i + 1]);
+        }
+        return URI.create(uri.toString());
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static void appendEncoded(StringBuilder uri, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isUnreserved(c)) {
+                uri.append(value, start, i);
+                int end = i + 1;
+                if (Character.isHighSurrogate(c) && end < value.length() && Character.isLowSurrogate(value.charAt(end))) {
+                    end++;
+                }
+                appendPercentEncoded(uri, value.substring(i, end));
+                start = end;
+                i = end - 1;
+            }
+        }
+        uri.append(value, start, value.length());
+    }
+
+    private static String encodeLiteral(String template, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isAllowedInUri(template.charAt(i))) {
+                StringBuilder literal = new StringBuilder(end - start + 16);
+                literal.append(template, start, i);
+                for (int j = i; j < end; j++) {
+                    char c = template.charAt(j);
+                    if (isAllowedInUri(c)) {
+                        literal.append(c);
+                    } else {
+                        int next = j + 1;
+                        if (Character.isHighSurrogate(c) && next < end && Character.isLowSurrogate(template.charAt(next))) {
+                            next++;
+                        }
+                        appendPercentEncoded(literal, template.substring(j, next));
+                        j = next - 1;
+                    }
+                }
+                return literal.toString();
+            }
+        }
+        return template.substring(start, end);
+    }
+
+    private static void appendPercentEncoded(StringBuilder uri, String chars) {
+        for (byte b : chars.getBytes(StandardCharsets.UTF_8)) {
+            uri.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isAllowedInUri(char c) {
+        return isUnreserved(c) || c == '%' || ":/?#[]@!$&'()*+,;=".indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,27 @@
+package org.qubership.cloud.restclient;
+
+import java.net.URI;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Destination of a request, i.e. its scheme, host and port, which decorators keep per-destination state for.
+ */
+public final class Destinations {
+    private static final Pattern TEMPLATE_DESTINATION = Pattern.compile("^([a-zA-Z][a-zA-Z0-9+.-]*)://(?:[^@/?#]*@)?([^/?#]+)");
+
+    private Destinations() {
+    }
+
+    public static String of(URI uri) {
+        return uri.getPort() < 0 ? uri.getScheme() + "://" + uri.getHost() : uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Takes destination from the not yet expanded uri template, so that templates are not expanded twice.
+     */
+    public static String of(String uriTemplate) {
+        Matcher matcher = TEMPLATE_DESTINATION.matcher(uriTemplate);
+        return matcher.find() ? matcher.group(1) + "://" + matcher.group(2) : uriTemplate;
+    }
+}
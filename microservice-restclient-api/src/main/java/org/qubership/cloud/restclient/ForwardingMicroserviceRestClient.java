@@ -0,0 +1,103 @@
+package org.qubership.cloud.restclient;
+
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for decorators of {@link MicroserviceRestClient}. Every call is forwarded to the delegate as is,
+ * subclasses override only the calls they intercept. Calls by {@code String} url are converted to {@link URI}
+ * and go through the {@link URI} overloads of this class.
+ */
+public abstract class ForwardingMicroserviceRestClient extends AbstractMicroserviceRestClient {
+    protected final MicroserviceRestClient delegate;
+
+    protected ForwardingMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this.delegate = delegate;
+    }
+
+    public MicroserviceRestClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(String url,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass,
+                                                     Map<String, Object> params) {
+        return delegate.doRequest(url, httpMethod, headers, requestBody, responseClass, params);
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        return delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass);
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String url,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        return delegate.doRequestAsync(url, httpMethod, headers, requestBody, responseClass, params);
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+    }
+
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        return delegate.doRequestForStream(uri, httpMethod, headers, requestBody);
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> uploadFile(URI uri,
+                                                      HttpMethod httpMethod,
+                                                      Map<String, List<String>> headers,
+                                                      Path file,
+                                                      Class<T> responseClass) {
+        return delegate.uploadFile(uri, httpMethod, headers, file, responseClass);
+    }
+
+    @Override
+    public RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                     Map<String, List<String>> headers,
+                                                     Path target) {
+        return delegate.downloadTo(uri, headers, target);
+    }
+
+    /**
+     * Makes cancellation of a future derived from the delegate's one, e.g. with {@code thenApply} or
+     * {@code whenComplete}, reach the delegate's future, so that decorators do not stop cancellation on its way to
+     * the exchange.
+     */
+    protected static <R> CompletableFuture<R> cancelling(CompletableFuture<?> source, CompletableFuture<R> derived) {
+        derived.whenComplete((response, e) -> {
+            if (derived.isCancelled()) {
+                source.cancel(false);
+            }
+        });
+        return derived;
+    }
+}
@@ -0,0 +1,50 @@
+package org.qubership.cloud.restclient;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive access to plain header maps used across the client API.
+ */
+public final class HeaderValues {
+    private HeaderValues() {
+    }
+
+    public static List<String> get(Map<String, List<String>> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        List<String> values = headers.get(name);
+        if (values != null) {
+            return values;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    public static String getFirst(Map<String, List<String>> headers, String name) {
+        List<String> values = get(headers, name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * @return epoch millis of given HTTP date or {@code -1} if it is absent or malformed
+     */
+    public static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package org.qubership.cloud.restclient;
 
 
+import org.qubership.cloud.restclient.codec.JsonElementIterator;
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestSpec;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 public interface MicroserviceRestClient {
 
@@ -29,4 +44,202 @@ public interface MicroserviceRestClient {
                                               @Nullable Map<String, List<String>> headers,
                                               @Nullable Object requestBody,
                                               Class<T> responseClass);
+
+    /**
+     * Same as {@link #doRequest(String, HttpMethod, Map, Object, Class, Map)} with a template parsed in advance.
+     * Note that variable values are always encoded strictly, see {@link CompiledUriTemplate}.
+     */
+    default <T> RestClientResponseEntity<T> doRequest(CompiledUriTemplate uriTemplate,
+                                                      HttpMethod httpMethod,
+                                                      @Nullable Map<String, List<String>> headers,
+                                                      @Nullable Object requestBody,
+                                                      Class<T> responseClass,
+                                                      Map<String, ?> params) {
+        return doRequest(uriTemplate.expand(params), httpMethod, headers, requestBody, responseClass);
+    }
+
+    /**
+     * Non-blocking variant of {@link #doRequest(String, HttpMethod, Map, Object, Class, Map)}.
+     * The returned future is completed exceptionally with
+     * {@link org.qubership.cloud.restclient.exception.MicroserviceRestClientException} in the same cases
+     * when the blocking variant throws it.
+     * <p>
+     * The default implementation performs the blocking variant on the calling thread and returns a completed future,
+     * client implementations override it with a non-blocking exchange.
+     */
+    default <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String url,
+                                                                              HttpMethod httpMethod,
+                                                                              @Nullable Map<String, List<String>> headers,
+                                                                              @Nullable Object requestBody,
+                                                                              Class<T> responseClass,
+                                                                              Map<String, Object> params) {
+        try {
+            return CompletableFuture.completedFuture(doRequest(url, httpMethod, headers, requestBody, responseClass, params));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #doRequest(String, HttpMethod, Map, Object, Class)}.
+     * The default implementation performs the blocking variant on the calling thread.
+     */
+    default <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String url,
+                                                                              HttpMethod httpMethod,
+                                                                              @Nullable Map<String, List<String>> headers,
+                                                                              @Nullable Object requestBody,
+                                                                              Class<T> responseClass) {
+        try {
+            return CompletableFuture.completedFuture(doRequest(url, httpMethod, headers, requestBody, responseClass));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #doRequest(URI, HttpMethod, Map, Object, Class)}.
+     * The default implementation performs the blocking variant on the calling thread.
+     */
+    default <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                              HttpMethod httpMethod,
+                                                                              @Nullable Map<String, List<String>> headers,
+                                                                              @Nullable Object requestBody,
+                                                                              Class<T> responseClass) {
+        try {
+            return CompletableFuture.completedFuture(doRequest(uri, httpMethod, headers, requestBody, responseClass));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #doRequest(CompiledUriTemplate, HttpMethod, Map, Object, Class, Map)}.
+     */
+    default <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(CompiledUriTemplate uriTemplate,
+                                                                              HttpMethod httpMethod,
+                                                                              @Nullable Map<String, List<String>> headers,
+                                                                              @Nullable Object requestBody,
+                                                                              Class<T> responseClass,
+                                                                              Map<String, ?> params) {
+        URI uri;
+        try {
+            uri = uriTemplate.expand(params);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+    }
+
+    /**
+     * Performs request and returns as soon as response status and headers are received. The body is not buffered
+     * in memory and has to be consumed from the returned response, which must be closed to release the connection.
+     * <p>
+     * Error responses are handled the same way as in {@link #doRequest(URI, HttpMethod, Map, Object, Class)}.
+     * <p>
+     * The default implementation reads the whole body as {@code byte[]}, client implementations override it to
+     * stream the body from the connection.
+     */
+    default RestClientStreamingResponse doRequestForStream(URI uri,
+                                                           HttpMethod httpMethod,
+                                                           @Nullable Map<String, List<String>> headers,
+                                                           @Nullable Object requestBody) {
+        RestClientResponseEntity<byte[]> response = doRequest(uri, httpMethod, headers, requestBody, byte[].class);
+        byte[] body = response.getResponseBody();
+        return new RestClientStreamingResponse(response.getHttpStatus(), response.getHeaders(),
+                new ByteArrayInputStream(body == null ? new byte[0] : body), () -> {
+        });
+    }
+
+    /**
+     * Performs request like {@link #doRequestForStream(URI, HttpMethod, Map, Object)} and parses the body element by
+     * element as it is read: items of a top-level JSON array or newline-delimited JSON values. Unlike reading the
+     * whole collection as {@code responseClass}, only the current element is held in memory.
+     * <p>
+     * The returned iterator must be closed unless it is read to the end, see {@link JsonElementIterator}.
+     */
+    default <T> JsonElementIterator<T> doRequestForElements(URI uri,
+                                                           HttpMethod httpMethod,
+                                                           @Nullable Map<String, List<String>> headers,
+                                                           @Nullable Object requestBody,
+                                                           Class<T> elementClass) {
+        return JsonElementIterator.open(doRequestForStream(uri, httpMethod, headers, requestBody), elementClass);
+    }
+
+    /**
+     * Sends content of given file as request body without loading it to memory. {@code Content-Type} defaults to
+     * {@code application/octet-stream}.
+     */
+    default <T> RestClientResponseEntity<T> uploadFile(URI uri,
+                                                       HttpMethod httpMethod,
+                                                       @Nullable Map<String, List<String>> headers,
+                                                       Path file,
+                                                       Class<T> responseClass) {
+        StreamingRequestBody requestBody;
+        try {
+            requestBody = StreamingRequestBody.ofFile(file);
+        } catch (IOException e) {
+            throw new MicroserviceRestClientException("Failed to read file " + file, e);
+        }
+        return doRequest(uri, httpMethod, headers, requestBody, responseClass);
+    }
+
+    /**
+     * Performs GET request and writes response body to given file, which is created or truncated.
+     * The returned entity holds {@code target} as the body.
+     */
+    default RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                      @Nullable Map<String, List<String>> headers,
+                                                      Path target) {
+        try (RestClientStreamingResponse response = doRequestForStream(uri, HttpMethod.GET, headers, null)) {
+            try (FileChannel fileChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ReadableByteChannel body = response.getBodyChannel();
+                long position = 0;
+                long transferred;
+                while ((transferred = fileChannel.transferFrom(body, position, Long.MAX_VALUE)) > 0) {
+                    position += transferred;
+                }
+            }
+            return new RestClientResponseEntity<>(target, response.getHttpStatus(), response.getHeaders());
+        } catch (IOException e) {
+            throw new MicroserviceRestClientException("Failed to download " + uri + " to " + target, e);
+        }
+    }
+
+    /**
+     * Performs given requests concurrently, at most {@code parallelism} at a time, and waits for all of them.
+     * Results are returned in the order of requests. A failed request does not affect the others, its result holds
+     * the exception which {@link #doRequest(URI, HttpMethod, Map, Object, Class)} would throw.
+     * <p>
+     * The default implementation sends requests with {@link #doRequestAsync(URI, HttpMethod, Map, Object, Class)}
+     * keeping at most {@code parallelism} of them in flight.
+     */
+    default <T> List<RequestResult<T>> doRequests(List<RequestSpec<T>> requests, int parallelism) {
+        AbstractMicroserviceRestClient.checkParallelism(parallelism);
+        Semaphore permits = new Semaphore(parallelism);
+        List<CompletableFuture<RequestResult<T>>> results = new ArrayList<>(requests.size());
+        try {
+            for (RequestSpec<T> request : requests) {
+                permits.acquire();
+                CompletableFuture<RestClientResponseEntity<T>> response;
+                try {
+                    response = doRequestAsync(request.getUri(), request.getHttpMethod(), request.getHeaders(),
+                            request.getRequestBody(), request.getResponseClass());
+                } catch (RuntimeException e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                results.add(response
+                        .handle(AbstractMicroserviceRestClient::toRequestResult)
+                        .whenComplete((result, e) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MicroserviceRestClientException("Interrupted while sending bulk requests", e);
+        }
+        List<RequestResult<T>> collected = new ArrayList<>(results.size());
+        for (CompletableFuture<RequestResult<T>> result : results) {
+            collected.add(result.join());
+        }
+        return collected;
+    }
 }
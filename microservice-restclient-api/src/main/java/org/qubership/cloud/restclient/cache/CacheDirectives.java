@@ -0,0 +1,115 @@
+package org.qubership.cloud.restclient.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed {@code Cache-Control} header.
+ */
+final class CacheDirectives {
+    static final CacheDirectives EMPTY = new CacheDirectives(false, false, false, false, false, -1, -1, 0);
+
+    final boolean noStore;
+    final boolean noCache;
+    final boolean mustRevalidate;
+    /**
+     * {@code private}, with or without field names, the response is meant for a single user.
+     */
+    final boolean privateResponse;
+    /**
+     * {@code public}, the response may be shared even if the request was authorized.
+     */
+    final boolean publicResponse;
+    final long maxAgeSeconds;
+    /**
+     * {@code s-maxage}, freshness lifetime for shared caches which overrides {@code max-age}.
+     */
+    final long sharedMaxAgeSeconds;
+    final long staleWhileRevalidateSeconds;
+
+    private CacheDirectives(boolean noStore, boolean noCache, boolean mustRevalidate,
+                            boolean privateResponse, boolean publicResponse,
+                            long maxAgeSeconds, long sharedMaxAgeSeconds, long staleWhileRevalidateSeconds) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.mustRevalidate = mustRevalidate;
+        this.privateResponse = privateResponse;
+        this.publicResponse = publicResponse;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.sharedMaxAgeSeconds = sharedMaxAgeSeconds;
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+    }
+
+    static CacheDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return EMPTY;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        boolean privateResponse = false;
+        boolean publicResponse = false;
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        long staleWhileRevalidate = 0;
+        for (String headerValue : headerValues) {
+            if (headerValue == null) {
+                continue;
+            }
+            for (String directive : headerValue.split(",")) {
+                int separator = directive.indexOf('=');
+                String name = (separator < 0 ? directive : directive.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+                String value = separator < 0 ? null : unquote(directive.substring(separator + 1).trim());
+                switch (name) {
+                    case "no-store":
+                        noStore = true;
+                        break;
+                    case "no-cache":
+                        noCache = true;
+                        break;
+                    case "must-revalidate":
+                    case "proxy-revalidate":
+                        mustRevalidate = true;
+                        break;
+                    case "private":
+                        privateResponse = true;
+                        break;
+                    case "public":
+                        publicResponse = true;
+                        break;
+                    case "max-age":
+                        maxAge = parseSeconds(value, maxAge);
+                        break;
+                    case "s-maxage":
+                        sharedMaxAge = parseSeconds(value, sharedMaxAge);
+                        break;
+                    case "stale-while-revalidate":
+                        staleWhileRevalidate = parseSeconds(value, staleWhileRevalidate);
+                        break;
+                    default:
+                        // other directives do not affect client cache
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, mustRevalidate, privateResponse, publicResponse,
+                maxAge, sharedMaxAge, staleWhileRevalidate);
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static long parseSeconds(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.qubership.cloud.restclient.cache;
+
+import org.qubership.cloud.restclient.HeaderValues;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class CacheEntry {
+    final RestClientResponseEntity<?> response;
+    final long weight;
+    final long freshUntil;
+    final long staleUntil;
+    final String etag;
+    final String lastModified;
+    /**
+     * Values of request headers listed in {@code Vary} response header.
+     */
+    final Map<String, List<String>> varyValues;
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
+    CacheEntry(RestClientResponseEntity<?> response, long weight, long freshUntil, long staleUntil,
+               String etag, String lastModified, Map<String, List<String>> varyValues) {
+        this.response = response;
+        this.weight = weight;
+        this.freshUntil = freshUntil;
+        this.staleUntil = staleUntil;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.varyValues = varyValues;
+    }
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    boolean isStaleUsable(long now) {
+        return now < staleUntil;
+    }
+
+    boolean matchesVary(Map<String, List<String>> requestHeaders) {
+        for (Map.Entry<String, List<String>> varyValue : varyValues.entrySet()) {
+            if (!Objects.equals(varyValue.getValue(), HeaderValues.get(requestHeaders, varyValue.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
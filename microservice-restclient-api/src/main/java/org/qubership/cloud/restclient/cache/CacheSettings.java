@@ -0,0 +1,43 @@
+package org.qubership.cloud.restclient.cache;
+
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Clock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Settings of {@link CachingMicroserviceRestClient}.
+ */
+@Getter
+@Builder
+@ToString
+public class CacheSettings {
+    /**
+     * Upper bound of the estimated size of all cached responses. Least recently used responses are evicted
+     * when it is exceeded.
+     */
+    @Builder.Default
+    private final long maxBytes = 32L * 1024 * 1024;
+    /**
+     * Estimated size of a response body when neither {@code Content-Length} header nor the body type tells it.
+     */
+    @Builder.Default
+    private final long defaultBodyWeight = 4 * 1024;
+    /**
+     * Custom estimation of response size in bytes. If not set, it is estimated from headers, {@code Content-Length}
+     * and {@link #defaultBodyWeight}.
+     */
+    @Builder.Default
+    private final ToLongFunction<RestClientResponseEntity<?>> weigher = null;
+    /**
+     * Whether stale responses are served within {@code stale-while-revalidate} window while they are refreshed
+     * in background.
+     */
+    @Builder.Default
+    private final boolean staleWhileRevalidate = true;
+    @Builder.Default
+    private final Clock clock = Clock.systemUTC();
+}
@@ -0,0 +1,41 @@
+package org.qubership.cloud.restclient.cache;
+
+import lombok.Value;
+
+/**
+ * Snapshot of {@link CachingMicroserviceRestClient} statistics.
+ */
+@Value
+public class CacheStats {
+    /**
+     * Fresh responses served from the cache without a request.
+     */
+    long hitCount;
+    /**
+     * Stale responses served from the cache while they were refreshed in background.
+     */
+    long staleHitCount;
+    /**
+     * Cached responses served after the server confirmed them with {@code 304 Not Modified}.
+     */
+    long revalidatedCount;
+    /**
+     * Responses which were fully received from the server.
+     */
+    long missCount;
+    long evictionCount;
+    long entryCount;
+    long bytesHeld;
+
+    public long getRequestCount() {
+        return hitCount + staleHitCount + revalidatedCount + missCount;
+    }
+
+    /**
+     * @return ratio of requests served with a cached body, {@code 0} if there were no requests
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0 : (double) (hitCount + staleHitCount + revalidatedCount) / requestCount;
+    }
+}
@@ -0,0 +1,416 @@
+package org.qubership.cloud.restclient.cache;
+
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HeaderValues;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MicroserviceRestClient} decorator which keeps responses of {@code GET} requests in memory according to
+ * the HTTP caching headers of the server: {@code Cache-Control} ({@code max-age}, {@code s-maxage},
+ * {@code no-store}, {@code no-cache}, {@code must-revalidate}, {@code private}, {@code public},
+ * {@code stale-while-revalidate}), {@code Expires}, {@code Age}, {@code Vary}, {@code ETag} and
+ * {@code Last-Modified}.
+ * <p>
+ * Fresh responses are returned without a request. Expired responses with validators are revalidated with
+ * {@code If-None-Match}/{@code If-Modified-Since}, so {@code 304 Not Modified} does not transfer and deserialize
+ * the body again. Within {@code stale-while-revalidate} window the stale response is returned at once and
+ * refreshed in background.
+ * <p>
+ * Only requests by {@link URI} or {@code String} url without a body are cached, uri template requests are forwarded
+ * as is. Responses are keyed by uri and response class, so deserialized bodies are shared between callers and must
+ * not be modified. The cache is bounded by the estimated size of the responses, see {@link CacheSettings}.
+ * <p>
+ * Since one client is usually shared by many callers, the cache behaves as a shared cache: {@code private}
+ * responses are not stored, and responses to requests with {@code Authorization} are stored only if they are
+ * explicitly {@code public} or have {@code s-maxage}.
+ */
+@Slf4j
+public class CachingMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    private static final int NOT_MODIFIED = 304;
+    private static final long ENTRY_OVERHEAD = 256;
+
+    private final CacheSettings settings;
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesHeld;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this(delegate, CacheSettings.builder().build());
+    }
+
+    public CachingMicroserviceRestClient(MicroserviceRestClient delegate, CacheSettings settings) {
+        super(delegate);
+        this.settings = settings;
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        if (!isCacheable(httpMethod, headers, requestBody)) {
+            return delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        CacheKey key = new CacheKey(uri, responseClass);
+        CacheEntry entry = lookup(key, headers);
+        if (entry != null) {
+            RestClientResponseEntity<T> cached = serveFromCache(key, entry, uri, headers, responseClass);
+            if (cached != null) {
+                return cached;
+            }
+            return onResponse(key, entry, headers,
+                    delegate.doRequest(uri, httpMethod, conditionalHeaders(headers, entry), null, responseClass), true);
+        }
+        return onResponse(key, null, headers, delegate.doRequest(uri, httpMethod, headers, null, responseClass), true);
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        if (!isCacheable(httpMethod, headers, requestBody)) {
+            return delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        CacheKey key = new CacheKey(uri, responseClass);
+        CacheEntry entry = lookup(key, headers);
+        if (entry != null) {
+            RestClientResponseEntity<T> cached = serveFromCache(key, entry, uri, headers, responseClass);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            CompletableFuture<RestClientResponseEntity<T>> revalidation =
+                    delegate.doRequestAsync(uri, httpMethod, conditionalHeaders(headers, entry), null, responseClass);
+            return cancelling(revalidation, revalidation.thenApply(response -> onResponse(key, entry, headers, response, true)));
+        }
+        CompletableFuture<RestClientResponseEntity<T>> response = delegate.doRequestAsync(uri, httpMethod, headers, null, responseClass);
+        return cancelling(response, response.thenApply(value -> onResponse(key, null, headers, value, true)));
+    }
+
+    public CacheStats getStats() {
+        synchronized (entries) {
+            return new CacheStats(hitCount.sum(), staleHitCount.sum(), revalidatedCount.sum(), missCount.sum(),
+                    evictionCount.sum(), entries.size(), bytesHeld);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            bytesHeld = 0;
+        }
+    }
+
+    private boolean isCacheable(HttpMethod httpMethod, Map<String, List<String>> headers, Object requestBody) {
+        if (httpMethod != HttpMethod.GET || requestBody != null) {
+            return false;
+        }
+        // caller manages validators on its own
+        if (HeaderValues.get(headers, "If-None-Match") != null || HeaderValues.get(headers, "If-Modified-Since") != null) {
+            return false;
+        }
+        return !CacheDirectives.parse(HeaderValues.get(headers, "Cache-Control")).noStore;
+    }
+
+    private CacheEntry lookup(CacheKey key, Map<String, List<String>> headers) {
+        if (CacheDirectives.parse(HeaderValues.get(headers, "Cache-Control")).noCache) {
+            missCount.increment();
+            return null;
+        }
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.matchesVary(headers)) {
+            missCount.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RestClientResponseEntity<T> serveFromCache(CacheKey key,
+                                                           CacheEntry entry,
+                                                           URI uri,
+                                                           Map<String, List<String>> headers,
+                                                           Class<T> responseClass) {
+        long now = now();
+        if (entry.isFresh(now)) {
+            hitCount.increment();
+            return (RestClientResponseEntity<T>) entry.response;
+        }
+        if (entry.isStaleUsable(now)) {
+            staleHitCount.increment();
+            refreshInBackground(key, entry, uri, headers, responseClass);
+            return (RestClientResponseEntity<T>) entry.response;
+        }
+        return null;
+    }
+
+    private <T> void refreshInBackground(CacheKey key,
+                                         CacheEntry entry,
+                                         URI uri,
+                                         Map<String, List<String>> headers,
+                                         Class<T> responseClass) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<RestClientResponseEntity<T>> refresh;
+        try {
+            refresh = delegate.doRequestAsync(uri, HttpMethod.GET, conditionalHeaders(headers, entry), null, responseClass);
+        } catch (RuntimeException e) {
+            refresh = CompletableFuture.failedFuture(e);
+        }
+        refresh.whenComplete((response, e) -> {
+            if (e != null) {
+                log.debug("Background revalidation of {} failed", uri, e);
+                entry.refreshing.set(false);
+            } else {
+                onResponse(key, entry, headers, response, false);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RestClientResponseEntity<T> onResponse(CacheKey key,
+                                                       CacheEntry previous,
+                                                       Map<String, List<String>> requestHeaders,
+                                                       RestClientResponseEntity<T> response,
+                                                       boolean countStats) {
+        if (previous != null && response.getHttpStatus() == NOT_MODIFIED) {
+            if (countStats) {
+                revalidatedCount.increment();
+            }
+            RestClientResponseEntity<T> merged = new RestClientResponseEntity<>(
+                    (T) previous.response.getResponseBody(),
+                    previous.response.getHttpStatus(),
+                    mergeHeaders(previous.response.getHeaders(), response.getHeaders()));
+            store(key, createEntry(merged, requestHeaders));
+            return merged;
+        }
+        if (previous != null && countStats) {
+            missCount.increment();
+        }
+        store(key, createEntry(response, requestHeaders));
+        return response;
+    }
+
+    private CacheEntry createEntry(RestClientResponseEntity<?> response, Map<String, List<String>> requestHeaders) {
+        if (response.getHttpStatus() != 200 && response.getHttpStatus() != 203) {
+            return null;
+        }
+        Map<String, List<String>> headers = response.getHeaders();
+        CacheDirectives directives = CacheDirectives.parse(HeaderValues.get(headers, "Cache-Control"));
+        if (directives.noStore || directives.privateResponse) {
+            return null;
+        }
+        if (HeaderValues.get(requestHeaders, "Authorization") != null
+                && !directives.publicResponse && directives.sharedMaxAgeSeconds < 0) {
+            return null;
+        }
+        Map<String, List<String>> varyValues = varyValues(headers, requestHeaders);
+        if (varyValues == null) {
+            return null;
+        }
+        String etag = HeaderValues.getFirst(headers, "ETag");
+        String lastModified = HeaderValues.getFirst(headers, "Last-Modified");
+        long now = now();
+        long freshness = directives.noCache ? 0 : freshnessLifetime(directives, headers, now);
+        if (freshness <= 0 && etag == null && lastModified == null) {
+            return null;
+        }
+        long freshUntil = now + Math.max(0, freshness);
+        long staleWindow = settings.isStaleWhileRevalidate() && !directives.mustRevalidate && !directives.noCache
+                ? directives.staleWhileRevalidateSeconds * 1000 : 0;
+        long weight = weigh(response);
+        if (weight > settings.getMaxBytes()) {
+            return null;
+        }
+        return new CacheEntry(response, weight, freshUntil, freshUntil + staleWindow, etag, lastModified, varyValues);
+    }
+
+    private static long freshnessLifetime(CacheDirectives directives, Map<String, List<String>> headers, long now) {
+        long age = 0;
+        String ageHeader = HeaderValues.getFirst(headers, "Age");
+        if (ageHeader != null) {
+            try {
+                age = Math.max(0, Long.parseLong(ageHeader.trim())) * 1000;
+            } catch (NumberFormatException e) {
+                // ignore malformed Age
+            }
+        }
+        if (directives.sharedMaxAgeSeconds >= 0) {
+            return directives.sharedMaxAgeSeconds * 1000 - age;
+        }
+        if (directives.maxAgeSeconds >= 0) {
+            return directives.maxAgeSeconds * 1000 - age;
+        }
+        long expires = HeaderValues.parseDate(HeaderValues.getFirst(headers, "Expires"));
+        if (expires < 0) {
+            return 0;
+        }
+        long date = HeaderValues.parseDate(HeaderValues.getFirst(headers, "Date"));
+        return expires - (date < 0 ? now : date) - age;
+    }
+
+    /**
+     * @return request header values the response varies on or {@code null} if the response must not be cached
+     */
+    private static Map<String, List<String>> varyValues(Map<String, List<String>> responseHeaders,
+                                                        Map<String, List<String>> requestHeaders) {
+        List<String> vary = HeaderValues.get(responseHeaders, "Vary");
+        if (vary == null || vary.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> varyValues = new HashMap<>();
+        for (String headerValue : vary) {
+            for (String name : headerValue.split(",")) {
+                name = name.trim();
+                if (name.equals("*")) {
+                    return null;
+                }
+                if (!name.isEmpty()) {
+                    varyValues.put(name, HeaderValues.get(requestHeaders, name));
+                }
+            }
+        }
+        return varyValues;
+    }
+
+    private static Map<String, List<String>> conditionalHeaders(Map<String, List<String>> headers, CacheEntry entry) {
+        Map<String, List<String>> conditionalHeaders = headers == null ? new HashMap<>() : new HashMap<>(headers);
+        if (entry.etag != null) {
+            conditionalHeaders.put("If-None-Match", Collections.singletonList(entry.etag));
+        }
+        if (entry.lastModified != null) {
+            conditionalHeaders.put("If-Modified-Since", Collections.singletonList(entry.lastModified));
+        }
+        return conditionalHeaders;
+    }
+
+    private static Map<String, List<String>> mergeHeaders(Map<String, List<String>> cached,
+                                                          Map<String, List<String>> notModified) {
+        Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (cached != null) {
+            merged.putAll(cached);
+        }
+        if (notModified != null) {
+            notModified.forEach((name, values) -> {
+                // 304 has no body, its framing headers do not describe the cached one
+                if (!name.equalsIgnoreCase("Content-Length") && !name.equalsIgnoreCase("Transfer-Encoding")) {
+                    merged.put(name, values);
+                }
+            });
+        }
+        return merged;
+    }
+
+    private long weigh(RestClientResponseEntity<?> response) {
+        if (settings.getWeigher() != null) {
+            return settings.getWeigher().applyAsLong(response);
+        }
+        long weight = ENTRY_OVERHEAD;
+        Map<String, List<String>> headers = response.getHeaders();
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                weight += header.getKey().length();
+                for (String value : header.getValue()) {
+                    weight += value == null ? 0 : value.length();
+                }
+            }
+        }
+        Object body = response.getResponseBody();
+        if (body == null) {
+            return weight;
+        }
+        if (body instanceof byte[]) {
+            return weight + ((byte[]) body).length;
+        }
+        if (body instanceof CharSequence) {
+            return weight + 2L * ((CharSequence) body).length();
+        }
+        String contentLength = HeaderValues.getFirst(headers, "Content-Length");
+        if (contentLength != null) {
+            try {
+                return weight + Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // fall back to default body weight
+            }
+        }
+        return weight + settings.getDefaultBodyWeight();
+    }
+
+    private void store(CacheKey key, CacheEntry entry) {
+        synchronized (entries) {
+            CacheEntry previous = entry == null ? entries.remove(key) : entries.put(key, entry);
+            if (previous != null) {
+                bytesHeld -= previous.weight;
+            }
+            if (entry == null) {
+                return;
+            }
+            bytesHeld += entry.weight;
+            Iterator<CacheEntry> eldest = entries.values().iterator();
+            while (bytesHeld > settings.getMaxBytes() && eldest.hasNext()) {
+                bytesHeld -= eldest.next().weight;
+                eldest.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private long now() {
+        return settings.getClock().millis();
+    }
+
+    private static final class CacheKey {
+        private final URI uri;
+        private final Class<?> responseClass;
+        private final int hash;
+
+        CacheKey(URI uri, Class<?> responseClass) {
+            this.uri = uri;
+            this.responseClass = responseClass;
+            this.hash = Objects.hash(uri, responseClass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return uri.equals(cacheKey.uri) && Objects.equals(responseClass, cacheKey.responseClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
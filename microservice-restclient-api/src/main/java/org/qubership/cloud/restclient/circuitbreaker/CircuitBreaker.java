@@ -0,0 +1,177 @@
+package org.qubership.cloud.restclient.circuitbreaker;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker of a single destination. Outcomes of the recent calls are kept in a count based sliding window;
+ * when failure or slow call rate reaches its threshold the circuit opens and calls are rejected for
+ * {@link CircuitBreakerSettings#getOpenDuration()}. Then a limited number of probe calls is let through in half-open
+ * state: the circuit closes if all of them succeed and opens again otherwise.
+ * <p>
+ * State and window are updated with atomic operations only, callers never block on each other.
+ */
+@Slf4j
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final int RECORDED = 1;
+    private static final int FAILURE = 2;
+    private static final int SLOW = 4;
+
+    @Getter
+    private final String destination;
+    private final CircuitBreakerSettings settings;
+    private final long slowCallNanos;
+    private final AtomicReference<StateHolder> state;
+
+    public CircuitBreaker(String destination, CircuitBreakerSettings settings) {
+        this.destination = destination;
+        this.settings = settings;
+        this.slowCallNanos = settings.getSlowCallDuration().toNanos();
+        this.state = new AtomicReference<>(new StateHolder(State.CLOSED, 0));
+    }
+
+    public State getState() {
+        return state.get().state;
+    }
+
+    /**
+     * @return failure rate of the calls in the window or {@code -1} if there are not enough calls recorded
+     */
+    public double getFailureRate() {
+        return state.get().window.failureRate();
+    }
+
+    /**
+     * @return slow call rate of the calls in the window or {@code -1} if there are not enough calls recorded
+     */
+    public double getSlowCallRate() {
+        return state.get().window.slowCallRate();
+    }
+
+    /**
+     * Must be called before each call. If permission is granted, outcome of the call must be reported with
+     * {@link #onSuccess(long)} or {@link #onError(long, Throwable)}.
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            StateHolder current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return current.halfOpenPermits.getAndDecrement() > 0;
+                default:
+                    if (settings.getClock().millis() - current.openedAt < settings.getOpenDuration().toMillis()) {
+                        return false;
+                    }
+                    transition(current, new StateHolder(State.HALF_OPEN, 0));
+            }
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        onResult(durationNanos, false);
+    }
+
+    public void onError(long durationNanos, Throwable error) {
+        onResult(durationNanos, settings.getFailurePredicate().test(error));
+    }
+
+    private void onResult(long durationNanos, boolean failure) {
+        int outcome = RECORDED | (failure ? FAILURE : 0) | (durationNanos >= slowCallNanos ? SLOW : 0);
+        StateHolder current = state.get();
+        switch (current.state) {
+            case CLOSED:
+                current.window.record(outcome);
+                if (current.window.isAboveThresholds()) {
+                    transition(current, new StateHolder(State.OPEN, settings.getClock().millis()));
+                }
+                break;
+            case HALF_OPEN:
+                if (outcome != RECORDED) {
+                    transition(current, new StateHolder(State.OPEN, settings.getClock().millis()));
+                } else if (current.halfOpenSuccesses.incrementAndGet() >= settings.getPermittedCallsInHalfOpenState()) {
+                    transition(current, new StateHolder(State.CLOSED, 0));
+                }
+                break;
+            default:
+                // late result of a call permitted before the circuit opened
+        }
+    }
+
+    private void transition(StateHolder from, StateHolder to) {
+        if (state.compareAndSet(from, to)) {
+            log.info("Circuit breaker for {} changed state from {} to {}", destination, from.state, to.state);
+        }
+    }
+
+    private class StateHolder {
+        final State state;
+        final long openedAt;
+        final SlidingWindow window;
+        final AtomicInteger halfOpenPermits;
+        final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+        StateHolder(State state, long openedAt) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.window = new SlidingWindow(settings.getSlidingWindowSize());
+            this.halfOpenPermits = new AtomicInteger(settings.getPermittedCallsInHalfOpenState());
+        }
+    }
+
+    /**
+     * Ring of the recent outcomes with running totals, updated without locks.
+     */
+    private class SlidingWindow {
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        SlidingWindow(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(int outcome) {
+            int slot = (int) (index.getAndIncrement() % outcomes.length());
+            int evicted = outcomes.getAndSet(slot, outcome);
+            calls.addAndGet(bit(outcome, RECORDED) - bit(evicted, RECORDED));
+            failures.addAndGet(bit(outcome, FAILURE) - bit(evicted, FAILURE));
+            slowCalls.addAndGet(bit(outcome, SLOW) - bit(evicted, SLOW));
+        }
+
+        boolean isAboveThresholds() {
+            double failureRate = failureRate();
+            double slowCallRate = slowCallRate();
+            return failureRate >= 0 && (failureRate >= settings.getFailureRateThreshold()
+                    || slowCallRate >= settings.getSlowCallRateThreshold());
+        }
+
+        double failureRate() {
+            int recorded = calls.get();
+            return recorded < settings.getMinimumNumberOfCalls() ? -1 : (double) failures.get() / recorded;
+        }
+
+        double slowCallRate() {
+            int recorded = calls.get();
+            return recorded < settings.getMinimumNumberOfCalls() ? -1 : (double) slowCalls.get() / recorded;
+        }
+
+        private int bit(int outcome, int flag) {
+            return (outcome & flag) == 0 ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.qubership.cloud.restclient.circuitbreaker;
+
+import org.qubership.cloud.restclient.Destinations;
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.CircuitBreakerOpenException;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link MicroserviceRestClient} decorator which keeps a {@link CircuitBreaker} per destination, i.e. scheme, host
+ * and port of the request. While the circuit is open, calls fail at once with {@link CircuitBreakerOpenException}
+ * instead of waiting for connect or read timeouts of an unavailable destination.
+ */
+public class CircuitBreakerMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    private final CircuitBreakerSettings settings;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this(delegate, CircuitBreakerSettings.builder().build());
+    }
+
+    public CircuitBreakerMicroserviceRestClient(MicroserviceRestClient delegate, CircuitBreakerSettings settings) {
+        super(delegate);
+        this.settings = settings;
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass,
+                                                     Map<String, Object> params) {
+        return call(Destinations.of(uriTemplate),
+                () -> delegate.doRequest(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        return call(Destinations.of(uri), () -> delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        return callAsync(Destinations.of(uriTemplate),
+                () -> delegate.doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return callAsync(Destinations.of(uri), () -> delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        return call(Destinations.of(uri), () -> delegate.doRequestForStream(uri, httpMethod, headers, requestBody));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> uploadFile(URI uri,
+                                                      HttpMethod httpMethod,
+                                                      Map<String, List<String>> headers,
+                                                      Path file,
+                                                      Class<T> responseClass) {
+        return call(Destinations.of(uri), () -> delegate.uploadFile(uri, httpMethod, headers, file, responseClass));
+    }
+
+    @Override
+    public RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                     Map<String, List<String>> headers,
+                                                     Path target) {
+        return call(Destinations.of(uri), () -> delegate.downloadTo(uri, headers, target));
+    }
+
+    /**
+     * @return circuit breakers of the destinations requested so far
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    public CircuitBreaker getCircuitBreaker(URI uri) {
+        return circuitBreaker(Destinations.of(uri));
+    }
+
+    private CircuitBreaker circuitBreaker(String destination) {
+        return circuitBreakers.computeIfAbsent(destination, key -> new CircuitBreaker(key, settings));
+    }
+
+    private <R> R call(String destination, Supplier<R> call) {
+        CircuitBreaker circuitBreaker = circuitBreaker(destination);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CircuitBreakerOpenException(destination);
+        }
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            circuitBreaker.onError(System.nanoTime() - start, e);
+            throw e;
+        }
+        circuitBreaker.onSuccess(System.nanoTime() - start);
+        return result;
+    }
+
+    private <R> CompletableFuture<R> callAsync(String destination, Supplier<CompletableFuture<R>> call) {
+        CircuitBreaker circuitBreaker = circuitBreaker(destination);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new CircuitBreakerOpenException(destination));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<R> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return cancelling(result, result.whenComplete((response, e) -> {
+            if (e == null) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            } else {
+                circuitBreaker.onError(System.nanoTime() - start,
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        }));
+    }
+}
@@ -0,0 +1,70 @@
+package org.qubership.cloud.restclient.circuitbreaker;
+
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Settings of {@link CircuitBreaker}.
+ */
+@Getter
+@Builder
+@ToString
+public class CircuitBreakerSettings {
+    /**
+     * Number of the most recent calls the failure and slow call rates are computed over.
+     */
+    @Builder.Default
+    private final int slidingWindowSize = 100;
+    /**
+     * Rates are not evaluated until this number of calls is recorded.
+     */
+    @Builder.Default
+    private final int minimumNumberOfCalls = 20;
+    @Builder.Default
+    private final double failureRateThreshold = 0.5;
+    @Builder.Default
+    private final double slowCallRateThreshold = 1.0;
+    /**
+     * Calls taking longer than this are slow.
+     */
+    @Builder.Default
+    private final Duration slowCallDuration = Duration.ofSeconds(10);
+    /**
+     * Time the circuit stays open before it lets probe calls through.
+     */
+    @Builder.Default
+    private final Duration openDuration = Duration.ofSeconds(30);
+    /**
+     * Number of probe calls in half-open state. All of them must succeed to close the circuit.
+     */
+    @Builder.Default
+    private final int permittedCallsInHalfOpenState = 5;
+    /**
+     * Which exceptions are failures of the destination. By default these are I/O errors, timeouts and 5xx
+     * responses, other responses prove the destination is available.
+     */
+    @Builder.Default
+    private final Predicate<Throwable> failurePredicate = CircuitBreakerSettings::isDestinationFailure;
+    @Builder.Default
+    private final Clock clock = Clock.systemUTC();
+
+    private static boolean isDestinationFailure(Throwable e) {
+        if (e instanceof MicroserviceRestClientResponseException) {
+            return ((MicroserviceRestClientResponseException) e).getHttpStatus() >= 500;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // netty timeouts are not IOExceptions
+            if (cause instanceof IOException || cause.getClass().getSimpleName().endsWith("TimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
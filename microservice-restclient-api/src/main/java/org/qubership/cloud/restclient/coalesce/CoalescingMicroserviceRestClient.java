@@ -0,0 +1,169 @@
+package org.qubership.cloud.restclient.coalesce;
+
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HeaderValues;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MicroserviceRestClient} decorator which shares one in-flight exchange between concurrent identical
+ * {@code GET} and {@code HEAD} requests without a body. Requests are identical when they have the same method,
+ * uri, response class and values of the key headers given to the constructor; other headers of the first request
+ * are sent for all of them.
+ * <p>
+ * Every caller, blocking or async, receives the same {@link RestClientResponseEntity} instance or the same
+ * exception, so response bodies must not be modified. Uri template requests are forwarded as is.
+ */
+public class CoalescingMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    /**
+     * Credential headers, requests of different users are never coalesced unless other key headers are given.
+     */
+    public static final List<String> DEFAULT_KEY_HEADERS = List.of("Authorization", "Cookie");
+
+    private final List<String> keyHeaders;
+    private final ConcurrentMap<RequestKey, CompletableFuture<RestClientResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Coalesces requests whose {@link #DEFAULT_KEY_HEADERS} match.
+     */
+    public CoalescingMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this(delegate, DEFAULT_KEY_HEADERS);
+    }
+
+    /**
+     * @param keyHeaders names of request headers which make requests different. Include credential headers, e.g.
+     *                   {@code Authorization}, and tenant headers, otherwise one caller gets the response to another
+     */
+    public CoalescingMicroserviceRestClient(MicroserviceRestClient delegate, Collection<String> keyHeaders) {
+        super(delegate);
+        this.keyHeaders = List.copyOf(keyHeaders);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        if (!isCoalescable(httpMethod, requestBody)) {
+            return delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        RequestKey key = requestKey(uri, httpMethod, headers, responseClass);
+        CompletableFuture<RestClientResponseEntity<?>> exchange = new CompletableFuture<>();
+        CompletableFuture<RestClientResponseEntity<?>> existing = inFlight.putIfAbsent(key, exchange);
+        if (existing != null) {
+            coalescedCount.increment();
+            return (RestClientResponseEntity<T>) await(existing);
+        }
+        try {
+            RestClientResponseEntity<T> response = delegate.doRequest(uri, httpMethod, headers, null, responseClass);
+            inFlight.remove(key, exchange);
+            exchange.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, exchange);
+            exchange.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        if (!isCoalescable(httpMethod, requestBody)) {
+            return delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        RequestKey key = requestKey(uri, httpMethod, headers, responseClass);
+        CompletableFuture<RestClientResponseEntity<?>> exchange = new CompletableFuture<>();
+        CompletableFuture<RestClientResponseEntity<?>> existing = inFlight.putIfAbsent(key, exchange);
+        if (existing != null) {
+            coalescedCount.increment();
+            // copy, so a caller cancelling its future does not affect the others
+            return (CompletableFuture) existing.copy();
+        }
+        CompletableFuture<RestClientResponseEntity<T>> response;
+        try {
+            response = delegate.doRequestAsync(uri, httpMethod, headers, null, responseClass);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((result, e) -> {
+            inFlight.remove(key, exchange);
+            if (e != null) {
+                exchange.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                exchange.complete(result);
+            }
+        });
+        return (CompletableFuture) exchange.copy();
+    }
+
+    /**
+     * @return number of requests which were served by an exchange started by another request
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static boolean isCoalescable(HttpMethod httpMethod, Object requestBody) {
+        return (httpMethod == HttpMethod.GET || httpMethod == HttpMethod.HEAD) && requestBody == null;
+    }
+
+    private RequestKey requestKey(URI uri, HttpMethod httpMethod, Map<String, List<String>> headers, Class<?> responseClass) {
+        if (keyHeaders.isEmpty()) {
+            return new RequestKey(httpMethod, uri, responseClass, Collections.emptyList());
+        }
+        List<List<String>> headerValues = new ArrayList<>(keyHeaders.size());
+        for (String name : keyHeaders) {
+            headerValues.add(HeaderValues.get(headers, name));
+        }
+        return new RequestKey(httpMethod, uri, responseClass, headerValues);
+    }
+
+    private static RestClientResponseEntity<?> await(CompletableFuture<RestClientResponseEntity<?>> exchange) {
+        try {
+            return exchange.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Value
+    private static class RequestKey {
+        HttpMethod httpMethod;
+        URI uri;
+        Class<?> responseClass;
+        List<List<String>> headerValues;
+    }
+}
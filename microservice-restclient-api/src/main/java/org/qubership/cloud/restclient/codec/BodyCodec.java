@@ -0,0 +1,41 @@
+package org.qubership.cloud.restclient.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Serializes request bodies and deserializes response bodies instead of the message converters of the client
+ * implementation. Client implementations ask the codec whether it handles a body once per request and then stream
+ * bytes between the codec and their transport buffers without intermediate copies. Bodies the codec does not handle
+ * are converted by the client as usual.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface BodyCodec {
+    /**
+     * @param contentType {@code Content-Type} header of the request as it was given, {@code null} if it is absent
+     */
+    boolean canWrite(Class<?> type, String contentType);
+
+    /**
+     * @param contentType {@code Content-Type} header of the response as it was received, {@code null} if it is absent
+     */
+    boolean canRead(Class<?> type, String contentType);
+
+    /**
+     * @return {@code Accept} header sent with requests whose responses are read by the codec, unless request headers
+     * have their own
+     */
+    String getAccept();
+
+    /**
+     * Writes the value to the stream, the stream must not be closed.
+     */
+    void write(Object value, OutputStream outputStream) throws IOException;
+
+    /**
+     * Reads the complete body from the stream, the body is never empty.
+     */
+    <T> T read(Class<T> type, InputStream inputStream) throws IOException;
+}
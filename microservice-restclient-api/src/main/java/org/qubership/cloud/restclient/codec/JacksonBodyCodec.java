@@ -0,0 +1,141 @@
+package org.qubership.cloud.restclient.codec;
+
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link BodyCodec} for JSON bodies, i.e. {@code application/json} and {@code application/*+json} content, or
+ * content without {@code Content-Type}. {@link ObjectReader} and {@link ObjectWriter} are created once per type and
+ * reused, so serializers are not looked up on every request. Strings, byte arrays, streams and files are left to the
+ * client implementation.
+ * <p>
+ * Default mapper matches the one of Spring message converters, except that it registers no modules found on the
+ * classpath: pass a configured mapper to read and write {@code java.time} types or Kotlin classes.
+ */
+public class JacksonBodyCodec implements BodyCodec {
+    private static final String ACCEPT = "application/json, application/*+json";
+
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JacksonBodyCodec() {
+        this(JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .build());
+    }
+
+    public JacksonBodyCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Creates codec which uses a copy of given mapper with Blackbird module, it replaces reflection in bean
+     * serializers and deserializers with generated lambdas. Requires {@code jackson-module-blackbird} on the classpath.
+     */
+    public static JacksonBodyCodec withBlackbird(ObjectMapper mapper) {
+        return new JacksonBodyCodec(mapper.copy().registerModule(Blackbird.module()));
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> type, String contentType) {
+        return isJson(contentType) && isSupported(type) && !StreamingRequestBody.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public boolean canRead(Class<?> type, String contentType) {
+        return isJson(contentType) && isSupported(type);
+    }
+
+    @Override
+    public String getAccept() {
+        return ACCEPT;
+    }
+
+    @Override
+    public void write(Object value, OutputStream outputStream) throws IOException {
+        writers.computeIfAbsent(value.getClass(),
+                        type -> mapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET))
+                .writeValue(outputStream, value);
+    }
+
+    @Override
+    public <T> T read(Class<T> type, InputStream inputStream) throws IOException {
+        return readers.computeIfAbsent(type, mapper::readerFor).readValue(inputStream);
+    }
+
+    /**
+     * Reads values one by one as they are requested: elements of a top-level JSON array or a sequence of root-level
+     * values, e.g. newline-delimited JSON.
+     */
+    public <T> MappingIterator<T> readValues(Class<T> type, InputStream inputStream) throws IOException {
+        return readers.computeIfAbsent(type, mapper::readerFor).readValues(inputStream);
+    }
+
+    private static boolean isSupported(Class<?> type) {
+        return !(type.isPrimitive()
+                || type == Void.class
+                || type == byte[].class
+                || CharSequence.class.isAssignableFrom(type)
+                || InputStream.class.isAssignableFrom(type)
+                || ByteBuffer.class.isAssignableFrom(type)
+                || Path.class.isAssignableFrom(type)
+                || File.class.isAssignableFrom(type));
+    }
+
+    static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        int end = contentType.indexOf(';');
+        if (end < 0) {
+            end = contentType.length();
+        }
+        while (end > 0 && contentType.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = 0;
+        while (start < end && contentType.charAt(start) == ' ') {
+            start++;
+        }
+        String json = "application/json";
+        if (end - start == json.length()) {
+            return contentType.regionMatches(true, start, json, 0, json.length());
+        }
+        return end - start > 17 && contentType.regionMatches(true, start, "application/", 0, 12)
+                && contentType.regionMatches(true, end - 5, "+json", 0, 5);
+    }
+
+    /**
+     * Keeps the optional Blackbird dependency out of {@link JacksonBodyCodec} linkage, the module class is resolved
+     * only once {@link #withBlackbird(ObjectMapper)} is called.
+     */
+    private static final class Blackbird {
+        static Module module() {
+            return new BlackbirdModule();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.qubership.cloud.restclient.codec;
+
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over elements of a top-level JSON array or over newline-delimited JSON values of a response body. Every
+ * element is parsed when it is requested while the body is read from the connection, so only the current element is
+ * held in memory.
+ * <p>
+ * The iterator closes the response once the last element is read. If iteration stops earlier, the iterator must be
+ * closed to release the connection, preferably with try-with-resources. Closing the {@link #stream()} closes the
+ * iterator as well.
+ */
+public final class JsonElementIterator<T> implements Iterator<T>, Closeable {
+    private final RestClientStreamingResponse response;
+    private final MappingIterator<T> elements;
+    private boolean closed;
+
+    private JsonElementIterator(RestClientStreamingResponse response, MappingIterator<T> elements) {
+        this.response = response;
+        this.elements = elements;
+    }
+
+    /**
+     * Parses elements with the default mapper of {@link JacksonBodyCodec}.
+     */
+    public static <T> JsonElementIterator<T> open(RestClientStreamingResponse response, Class<T> elementClass) {
+        return open(response, DefaultCodec.INSTANCE, elementClass);
+    }
+
+    /**
+     * @throws MicroserviceRestClientException if the body could not be read, the response is closed in this case
+     */
+    public static <T> JsonElementIterator<T> open(RestClientStreamingResponse response, JacksonBodyCodec codec, Class<T> elementClass) {
+        try {
+            return new JsonElementIterator<>(response, codec.readValues(elementClass, response.getBody()));
+        } catch (IOException e) {
+            try {
+                response.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new MicroserviceRestClientException("Could not read response body: " + e.getMessage(), e);
+        }
+    }
+
+    public int getHttpStatus() {
+        return response.getHttpStatus();
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return response.getHeaders();
+    }
+
+    /**
+     * @throws MicroserviceRestClientException if the body could not be read or parsed, the response is closed in
+     *                                         this case
+     */
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        boolean hasNext;
+        try {
+            hasNext = elements.hasNextValue();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    /**
+     * @throws MicroserviceRestClientException if the body could not be read or parsed, the response is closed in
+     *                                         this case
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return elements.nextValue();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * @return sequential stream of the remaining elements which closes the iterator when it is closed
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * @throws MicroserviceRestClientException if the response could not be closed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            elements.close();
+        } catch (IOException e) {
+            // the stream is closed once more with the response below
+        }
+        try {
+            response.close();
+        } catch (IOException e) {
+            throw new MicroserviceRestClientException("Could not close response: " + e.getMessage(), e);
+        }
+    }
+
+    private MicroserviceRestClientException failure(IOException e) {
+        MicroserviceRestClientException exception = new MicroserviceRestClientException("Could not read response body: " + e.getMessage(), e);
+        try {
+            close();
+        } catch (MicroserviceRestClientException closeException) {
+            exception.addSuppressed(closeException);
+        }
+        return exception;
+    }
+
+    /**
+     * Creates the default codec on first use rather than when the iterator class is initialized.
+     */
+    private static final class DefaultCodec {
+        static final JacksonBodyCodec INSTANCE = new JacksonBodyCodec();
+    }
+}
@@ -0,0 +1,80 @@
+package org.qubership.cloud.restclient.compression;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Settings of request body compression and response decompression, see {@link RequestCompressor}.
+ */
+@Getter
+@Builder
+@ToString
+public class CompressionSettings {
+    /**
+     * Media types whose content is compressed already. Entries ending with {@code /*} match all subtypes.
+     * {@code application/octet-stream} is included since it is the default type of uploads, which are not worth
+     * buffering for compression.
+     */
+    public static final Set<String> DEFAULT_SKIPPED_MEDIA_TYPES = Set.of(
+            "image/*", "video/*", "audio/*", "font/woff", "font/woff2",
+            "application/gzip", "application/x-gzip", "application/zip", "application/zstd", "application/x-bzip2",
+            "application/x-xz", "application/x-7z-compressed", "application/x-rar-compressed",
+            "application/octet-stream");
+
+    /**
+     * Encoding of compressed request bodies.
+     */
+    @Builder.Default
+    private final ContentEncoding requestEncoding = ContentEncoding.GZIP;
+    /**
+     * Request bodies shorter than this are sent as is, compressing them costs more CPU than it saves on the wire.
+     * {@link Integer#MAX_VALUE} disables request compression.
+     */
+    @Builder.Default
+    private final int minRequestSize = 1024;
+    /**
+     * Request bodies longer than this are sent as is, since a body is held in memory while it is compressed.
+     */
+    @Builder.Default
+    private final int maxRequestSize = 8 * 1024 * 1024;
+    /**
+     * Level of {@link Deflater} from {@code 1} to {@code 9}, larger levels compress better and slower.
+     */
+    @Builder.Default
+    private final int level = Deflater.DEFAULT_COMPRESSION;
+    /**
+     * Whether {@code Accept-Encoding} is sent with requests and compressed responses are decompressed transparently.
+     */
+    @Builder.Default
+    private final boolean decompressResponses = true;
+    /**
+     * Request bodies of these media types are never compressed, lower case without parameters.
+     */
+    @Builder.Default
+    private final Set<String> skippedMediaTypes = DEFAULT_SKIPPED_MEDIA_TYPES;
+
+    public enum ContentEncoding {
+        GZIP("gzip"),
+        /**
+         * zlib format, as {@code deflate} content coding is defined by RFC 9110.
+         */
+        DEFLATE("deflate");
+
+        private final String headerValue;
+
+        ContentEncoding(String headerValue) {
+            this.headerValue = headerValue;
+        }
+
+        /**
+         * @return value of {@code Content-Encoding} header
+         */
+        public String getHeaderValue() {
+            return headerValue;
+        }
+    }
+}
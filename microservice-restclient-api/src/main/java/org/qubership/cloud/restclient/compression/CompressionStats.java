@@ -0,0 +1,34 @@
+package org.qubership.cloud.restclient.compression;
+
+import lombok.Value;
+
+/**
+ * Snapshot of {@link RequestCompressor} statistics.
+ */
+@Value
+public class CompressionStats {
+    long compressedCount;
+    /**
+     * Requests sent uncompressed because their bodies were too short or of a skipped media type.
+     */
+    long skippedCount;
+    /**
+     * Total size of compressed bodies before compression.
+     */
+    long uncompressedBytes;
+    /**
+     * Total size of compressed bodies after compression.
+     */
+    long compressedBytes;
+    /**
+     * Time spent compressing bodies on the calling threads, compression does not block, so it is CPU time.
+     */
+    long compressionNanos;
+
+    /**
+     * @return uncompressed to compressed size ratio of compressed bodies, {@code 0} if nothing was compressed
+     */
+    public double getCompressionRatio() {
+        return compressedBytes == 0 ? 0 : (double) uncompressedBytes / compressedBytes;
+    }
+}
@@ -0,0 +1,47 @@
+package org.qubership.cloud.restclient.compression;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds {@link CompressionStats} of a {@link RequestCompressor} to Micrometer. Requires
+ * {@code io.micrometer:micrometer-core} on the classpath, which is an optional dependency of this library.
+ * <p>
+ * Registers counter {@code <name>.requests} tagged with {@code result} {@code compressed} or {@code skipped},
+ * counters {@code <name>.bytes} tagged with {@code stage} {@code uncompressed} or {@code compressed}, counter
+ * {@code <name>.time} of compression time in seconds and gauge {@code <name>.ratio}. The name defaults to
+ * {@code http.client.compression}.
+ */
+public class MicrometerCompressionMetrics implements MeterBinder {
+    private final RequestCompressor compressor;
+    private final String name;
+
+    public MicrometerCompressionMetrics(RequestCompressor compressor) {
+        this(compressor, "http.client.compression");
+    }
+
+    public MicrometerCompressionMetrics(RequestCompressor compressor, String name) {
+        this.compressor = compressor;
+        this.name = name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(name + ".requests", compressor, c -> c.getStats().getCompressedCount())
+                .tag("result", "compressed").register(registry);
+        FunctionCounter.builder(name + ".requests", compressor, c -> c.getStats().getSkippedCount())
+                .tag("result", "skipped").register(registry);
+        FunctionCounter.builder(name + ".bytes", compressor, c -> c.getStats().getUncompressedBytes())
+                .tag("stage", "uncompressed").baseUnit("bytes").register(registry);
+        FunctionCounter.builder(name + ".bytes", compressor, c -> c.getStats().getCompressedBytes())
+                .tag("stage", "compressed").baseUnit("bytes").register(registry);
+        FunctionCounter.builder(name + ".time", compressor,
+                        c -> (double) c.getStats().getCompressionNanos() / TimeUnit.SECONDS.toNanos(1))
+                .baseUnit("seconds").register(registry);
+        Gauge.builder(name + ".ratio", compressor, c -> c.getStats().getCompressionRatio()).register(registry);
+    }
+}
@@ -0,0 +1,144 @@
+package org.qubership.cloud.restclient.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses request bodies according to {@link CompressionSettings} and keeps {@link CompressionStats}. Client
+ * implementations check every request body with {@link #shouldCompress(String, String, long)} and compress the ones
+ * that qualify with {@link #compress(InputStream, OutputStream)}.
+ */
+public class RequestCompressor {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CompressionSettings settings;
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+
+    public RequestCompressor(CompressionSettings settings) {
+        this.settings = settings;
+    }
+
+    public CompressionSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return value of {@code Content-Encoding} header of compressed bodies
+     */
+    public String getContentEncoding() {
+        return settings.getRequestEncoding().getHeaderValue();
+    }
+
+    /**
+     * Checks whether a non-empty body should be compressed, bodies which should not are counted as skipped.
+     *
+     * @param contentType     {@code Content-Type} of the request, {@code null} if it is absent
+     * @param contentEncoding {@code Content-Encoding} of the request, bodies encoded already are not compressed again
+     * @param contentLength   length of the body, {@code -1} if it is unknown. Bodies of unknown length qualify, so the
+     *                        check has to be repeated once the body is buffered, at most
+     *                        {@link CompressionSettings#getMaxRequestSize()} bytes of it
+     */
+    public boolean shouldCompress(String contentType, String contentEncoding, long contentLength) {
+        boolean compress = (contentEncoding == null || contentEncoding.isEmpty() || "identity".equalsIgnoreCase(contentEncoding.trim()))
+                && (contentLength < 0 || contentLength >= settings.getMinRequestSize() && contentLength <= settings.getMaxRequestSize())
+                && !isSkipped(contentType);
+        if (!compress) {
+            skippedCount.increment();
+        }
+        return compress;
+    }
+
+    /**
+     * Compresses the remaining content of the stream to the target, which is not closed.
+     */
+    public void compress(InputStream body, OutputStream target) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream countingTarget = new CountingOutputStream(target);
+        long read;
+        try (DeflaterOutputStream outputStream = open(countingTarget)) {
+            read = body.transferTo(outputStream);
+        }
+        compressionNanos.add(System.nanoTime() - start);
+        compressedCount.increment();
+        uncompressedBytes.add(read);
+        compressedBytes.add(countingTarget.count);
+    }
+
+    public CompressionStats getStats() {
+        return new CompressionStats(compressedCount.sum(), skippedCount.sum(), uncompressedBytes.sum(),
+                compressedBytes.sum(), compressionNanos.sum());
+    }
+
+    private DeflaterOutputStream open(OutputStream target) throws IOException {
+        int level = settings.getLevel();
+        if (settings.getRequestEncoding() == CompressionSettings.ContentEncoding.GZIP) {
+            return new GZIPOutputStream(target, BUFFER_SIZE) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+        return new DeflaterOutputStream(target, new Deflater(level), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+    }
+
+    private boolean isSkipped(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int end = contentType.indexOf(';');
+        String mediaType = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        if (settings.getSkippedMediaTypes().contains(mediaType)) {
+            return true;
+        }
+        int slash = mediaType.indexOf('/');
+        return slash > 0 && settings.getSkippedMediaTypes().contains(mediaType.substring(0, slash) + "/*");
+    }
+
+    /**
+     * Counts written bytes and leaves the target open when it is closed.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream target) {
+            super(target);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.qubership.cloud.restclient.entity;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable set of request headers which is validated once and can be passed as {@code headers} to any
+ * {@code doRequest} method on every call. Unlike plain maps, which are copied and checked on each request, client
+ * implementations convert the template to their own header representation once and reuse it.
+ * <pre>{@code
+ * private static final RequestHeaders HEADERS = RequestHeaders.builder()
+ *         .add("Accept", "application/json")
+ *         .add("X-Api-Version", "2")
+ *         .build();
+ * }</pre>
+ * Header names are matched case-insensitively when the template is built, the case of the first occurrence is kept.
+ */
+public final class RequestHeaders extends AbstractMap<String, List<String>> {
+    public static final RequestHeaders EMPTY = new RequestHeaders(Collections.emptyMap());
+
+    private final Map<String, List<String>> headers;
+    /**
+     * Header representation of the client implementation which used the template last.
+     */
+    private volatile Object transportHeaders;
+
+    private RequestHeaders(Map<String, List<String>> headers) {
+        this.headers = headers;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a header name is not a valid token or a value contains control characters
+     */
+    public static RequestHeaders of(Map<String, List<String>> headers) {
+        if (headers instanceof RequestHeaders) {
+            return (RequestHeaders) headers;
+        }
+        Builder builder = builder();
+        if (headers != null) {
+            headers.forEach(builder::addAll);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return new template with given header set to the value, replacing its previous values
+     */
+    public RequestHeaders with(String name, String value) {
+        Builder builder = builder();
+        headers.forEach((key, values) -> {
+            if (!key.equalsIgnoreCase(name)) {
+                builder.addAll(key, values);
+            }
+        });
+        return builder.add(name, value).build();
+    }
+
+    public String getFirst(String name) {
+        List<String> values = get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public List<String> get(Object name) {
+        List<String> values = headers.get(name);
+        if (values != null || !(name instanceof String)) {
+            return values;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase((String) name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public int size() {
+        return headers.size();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return headers.entrySet();
+    }
+
+    /**
+     * Returns headers converted to the representation of a client implementation, converting them on the first
+     * call. Conversion may happen more than once under contention, so it must not have side effects.
+     */
+    public <H> H getTransportHeaders(Class<H> type, Function<? super RequestHeaders, ? extends H> converter) {
+        Object cached = transportHeaders;
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+        H converted = converter.apply(this);
+        transportHeaders = converted;
+        return converted;
+    }
+
+    public static final class Builder {
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String name, String value) {
+            validateValue(name, value);
+            values(name).add(value);
+            return this;
+        }
+
+        public Builder addAll(String name, List<String> values) {
+            List<String> target = values(name);
+            for (String value : values) {
+                validateValue(name, value);
+                target.add(value);
+            }
+            return this;
+        }
+
+        public Builder set(String name, String value) {
+            List<String> values = values(name);
+            validateValue(name, value);
+            values.clear();
+            values.add(value);
+            return this;
+        }
+
+        public RequestHeaders build() {
+            Map<String, List<String>> copy = new LinkedHashMap<>(headers.size() * 2);
+            headers.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+            return new RequestHeaders(Collections.unmodifiableMap(copy));
+        }
+
+        private List<String> values(String name) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            validateName(name);
+            List<String> values = new ArrayList<>(1);
+            headers.put(name, values);
+            return values;
+        }
+
+        private static void validateName(String name) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Header name must not be empty");
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c <= ' ' || c >= 127 || "\"(),/:;<=>?@[\\]{}".indexOf(c) >= 0) {
+                    throw new IllegalArgumentException("Invalid character in header name '" + name + "'");
+                }
+            }
+        }
+
+        private static void validateValue(String name, String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Value of header '" + name + "' must not be null");
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if ((c < ' ' && c != '\t') || c == 127) {
+                    throw new IllegalArgumentException("Invalid character in value of header '" + name + "'");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.qubership.cloud.restclient.entity;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of a single request of {@link org.qubership.cloud.restclient.MicroserviceRestClient#doRequests(java.util.List, int)}:
+ * either the response or the exception the corresponding {@code doRequest} call would throw.
+ */
+@Getter
+@ToString
+public class RequestResult<T> {
+    private final RestClientResponseEntity<T> response;
+    private final RuntimeException exception;
+
+    private RequestResult(RestClientResponseEntity<T> response, RuntimeException exception) {
+        this.response = response;
+        this.exception = exception;
+    }
+
+    public static <T> RequestResult<T> success(RestClientResponseEntity<T> response) {
+        return new RequestResult<>(response, null);
+    }
+
+    public static <T> RequestResult<T> failure(RuntimeException exception) {
+        return new RequestResult<>(null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return the response or throws the exception of failed request
+     */
+    public RestClientResponseEntity<T> getResponseOrThrow() {
+        if (exception != null) {
+            throw exception;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package org.qubership.cloud.restclient.entity;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single request of {@link org.qubership.cloud.restclient.MicroserviceRestClient#doRequests(List, int)}.
+ */
+@Getter
+@ToString
+public class RequestSpec<T> {
+    private final URI uri;
+    private final HttpMethod httpMethod;
+    @Nullable
+    private final Map<String, List<String>> headers;
+    @Nullable
+    private final Object requestBody;
+    private final Class<T> responseClass;
+
+    private RequestSpec(URI uri,
+                        HttpMethod httpMethod,
+                        @Nullable Map<String, List<String>> headers,
+                        @Nullable Object requestBody,
+                        Class<T> responseClass) {
+        this.uri = uri;
+        this.httpMethod = httpMethod;
+        this.headers = headers;
+        this.requestBody = requestBody;
+        this.responseClass = responseClass;
+    }
+
+    public static <T> RequestSpec<T> of(URI uri,
+                                        HttpMethod httpMethod,
+                                        @Nullable Map<String, List<String>> headers,
+                                        @Nullable Object requestBody,
+                                        Class<T> responseClass) {
+        return new RequestSpec<>(uri, httpMethod, headers, requestBody, responseClass);
+    }
+
+    public static <T> RequestSpec<T> of(String url,
+                                        HttpMethod httpMethod,
+                                        @Nullable Map<String, List<String>> headers,
+                                        @Nullable Object requestBody,
+                                        Class<T> responseClass) {
+        return of(URI.create(url), httpMethod, headers, requestBody, responseClass);
+    }
+}
@@ -0,0 +1,57 @@
+package org.qubership.cloud.restclient.entity;
+
+import lombok.Value;
+
+/**
+ * Breakdown of the time of a single HTTP exchange. Phases which did not happen, e.g. connection phases when a pooled
+ * connection is reused, or could not be measured by the transport are {@code -1}.
+ */
+@Value
+public class RequestTimings {
+    public static final RequestTimings UNKNOWN = new RequestTimings(-1, -1, -1, -1, -1);
+
+    public enum Phase {
+        DNS,
+        CONNECT,
+        TLS,
+        TIME_TO_FIRST_BYTE,
+        BODY
+    }
+
+    long dnsNanos;
+    /**
+     * TCP connect time. HttpClient5 transport includes waiting for the connection pool in it.
+     */
+    long connectNanos;
+    long tlsNanos;
+    /**
+     * Time from the start of sending the request to receiving the response headers.
+     */
+    long timeToFirstByteNanos;
+    /**
+     * Time from receiving the response headers to receiving the whole body.
+     */
+    long bodyNanos;
+
+    /**
+     * @return whether the exchange was performed on a new connection
+     */
+    public boolean isNewConnection() {
+        return dnsNanos >= 0 || connectNanos >= 0;
+    }
+
+    public long get(Phase phase) {
+        switch (phase) {
+            case DNS:
+                return dnsNanos;
+            case CONNECT:
+                return connectNanos;
+            case TLS:
+                return tlsNanos;
+            case TIME_TO_FIRST_BYTE:
+                return timeToFirstByteNanos;
+            default:
+                return bodyNanos;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.qubership.cloud.restclient.entity;
+
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only case-insensitive view of response headers as they were provided by the transport, nothing is copied.
+ * Lookups try the exact name first, so case-insensitive transport maps are never scanned. {@code Content-Type} is
+ * parsed on the first access and the result is kept, so later changes of {@code Content-Type} in the underlying map
+ * are not seen by {@link #getContentType()} and {@link #getCharset(Charset)}.
+ */
+public final class ResponseHeaders extends AbstractMap<String, List<String>> {
+    public static final ResponseHeaders EMPTY = new ResponseHeaders(Collections.emptyMap());
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final Map<String, List<String>> headers;
+    private volatile ContentType contentType;
+
+    private ResponseHeaders(Map<String, List<String>> headers) {
+        this.headers = headers;
+    }
+
+    public static ResponseHeaders of(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return EMPTY;
+        }
+        if (headers instanceof ResponseHeaders) {
+            return (ResponseHeaders) headers;
+        }
+        return new ResponseHeaders(headers);
+    }
+
+    @Override
+    public List<String> get(Object name) {
+        List<String> values = headers.get(name);
+        if (values != null || !(name instanceof String)) {
+            return values;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (((String) name).equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public int size() {
+        return headers.size();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return Collections.unmodifiableMap(headers).entrySet();
+    }
+
+    public String getFirst(String name) {
+        List<String> values = get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * @return media type of {@code Content-Type} in lower case without parameters or {@code null} if it is absent
+     */
+    public String getContentType() {
+        return contentType().mediaType;
+    }
+
+    /**
+     * @return charset of {@code Content-Type} or given default if it is absent or not supported
+     */
+    public Charset getCharset(Charset defaultCharset) {
+        Charset charset = contentType().charset;
+        return charset == null ? defaultCharset : charset;
+    }
+
+    /**
+     * @return {@code Content-Length} or {@code -1} if it is absent or malformed
+     */
+    public long getContentLength() {
+        String contentLength = getFirst(CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private ContentType contentType() {
+        ContentType parsed = contentType;
+        if (parsed == null) {
+            parsed = ContentType.parse(getFirst(CONTENT_TYPE));
+            contentType = parsed;
+        }
+        return parsed;
+    }
+
+    private static final class ContentType {
+        private static final ContentType ABSENT = new ContentType(null, null);
+
+        final String mediaType;
+        final Charset charset;
+
+        private ContentType(String mediaType, Charset charset) {
+            this.mediaType = mediaType;
+            this.charset = charset;
+        }
+
+        static ContentType parse(String value) {
+            if (value == null || value.isEmpty()) {
+                return ABSENT;
+            }
+            int end = value.indexOf(';');
+            String mediaType = (end < 0 ? value : value.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+            Charset charset = null;
+            // every segment is checked, servers sometimes send the charset alone
+            for (int start = 0; start <= value.length(); start = end + 1) {
+                end = value.indexOf(';', start);
+                if (end < 0) {
+                    end = value.length();
+                }
+                int equals = value.indexOf('=', start);
+                if (equals > start && equals < end
+                        && "charset".equalsIgnoreCase(value.substring(start, equals).trim())) {
+                    charset = charset(value.substring(equals + 1, end).trim());
+                }
+            }
+            return new ContentType(mediaType.isEmpty() || mediaType.indexOf('=') >= 0 ? null : mediaType, charset);
+        }
+
+        private static Charset charset(String name) {
+            if (name.length() > 1 && name.charAt(0) == '"' && name.charAt(name.length() - 1) == '"') {
+                name = name.substring(1, name.length() - 1);
+            }
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
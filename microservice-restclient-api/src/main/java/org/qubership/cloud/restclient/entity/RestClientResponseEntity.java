@@ -1,7 +1,10 @@
 package org.qubership.cloud.restclient.entity;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.HashMap;
 import java.util.List;
@@ -13,7 +16,15 @@ import java.util.Objects;
 public class RestClientResponseEntity<T> {
     private final T responseBody;
     private final int httpStatus;
+    @Setter(AccessLevel.NONE)
     private Map<String, List<String>> headers = new HashMap<>();
+    /**
+     * Phases of the exchange which produced the response, if the client measures them.
+     */
+    private RequestTimings timings = RequestTimings.UNKNOWN;
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private ResponseHeaders parsedHeaders;
 
     public RestClientResponseEntity(T responseBody,
                                     int httpStatus,
@@ -23,6 +34,28 @@ public class RestClientResponseEntity<T> {
         this.headers = headers;
     }
 
+    public void setHeaders(Map<String, List<String>> headers) {
+        this.headers = headers;
+        this.parsedHeaders = null;
+    }
+
+    /**
+     * The view keeps the {@code Content-Type} parsed on its first access, so changing it in the map returned by
+     * {@link #getHeaders()} in place is not reflected by the view, replace the map with
+     * {@link #setHeaders(Map)} instead.
+     *
+     * @return case-insensitive view of {@link #getHeaders()} with parsed {@code Content-Type}, created on the first
+     * call
+     */
+    public ResponseHeaders getParsedHeaders() {
+        ResponseHeaders view = parsedHeaders;
+        if (view == null) {
+            view = ResponseHeaders.of(headers);
+            parsedHeaders = view;
+        }
+        return view;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(responseBody, httpStatus, headers);
@@ -43,9 +76,14 @@ public class RestClientResponseEntity<T> {
         if(!(this.responseBody.equals(restClientResponseEntity.getResponseBody()) && this.httpStatus == restClientResponseEntity.getHttpStatus()))
             return false;
         else {
-            if (headers.size() != restClientResponseEntity.getHeaders().size())
+            Map<String, List<String>> otherHeaders = restClientResponseEntity.getHeaders();
+            if (headers.size() != otherHeaders.size())
                 return false;
-            return headers.entrySet().stream().allMatch(entity -> entity.getValue().equals(restClientResponseEntity.getHeaders().get(entity.getKey())));
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!header.getValue().equals(otherHeaders.get(header.getKey())))
+                    return false;
+            }
+            return true;
         }
     }
 }
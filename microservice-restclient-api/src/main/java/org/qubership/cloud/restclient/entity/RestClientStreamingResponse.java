@@ -0,0 +1,57 @@
+package org.qubership.cloud.restclient.entity;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response whose status and headers are already received while the body is still on the wire.
+ * <p>
+ * The body must be read incrementally via {@link #getBody()} or {@link #getBodyChannel()}, and the response
+ * must be closed afterwards to release the underlying connection, preferably with try-with-resources.
+ */
+public class RestClientStreamingResponse implements Closeable {
+    @Getter
+    private final int httpStatus;
+    @Getter
+    private final Map<String, List<String>> headers;
+    private final InputStream body;
+    private final Closeable onClose;
+    private ReadableByteChannel bodyChannel;
+
+    public RestClientStreamingResponse(int httpStatus,
+                                       Map<String, List<String>> headers,
+                                       InputStream body,
+                                       Closeable onClose) {
+        this.httpStatus = httpStatus;
+        this.headers = headers;
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    public ReadableByteChannel getBodyChannel() {
+        if (bodyChannel == null) {
+            bodyChannel = Channels.newChannel(body);
+        }
+        return bodyChannel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            body.close();
+        } finally {
+            onClose.close();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.qubership.cloud.restclient.entity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * Request body which is streamed to the connection instead of being serialized in memory. Pass it as
+ * {@code requestBody} to any {@code doRequest} method.
+ * <p>
+ * When content length is known it is sent as {@code Content-Length}, otherwise chunked transfer encoding is used.
+ * If no {@code Content-Type} header is provided, {@code application/octet-stream} is sent.
+ */
+public final class StreamingRequestBody {
+    public static final long UNKNOWN_CONTENT_LENGTH = -1;
+
+    /**
+     * Opens a new stream with the body content. May be called more than once if the request is retried.
+     */
+    @FunctionalInterface
+    public interface InputStreamSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Writes the body content to the connection. May be called more than once if the request is retried.
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private final long contentLength;
+    private final InputStreamSource inputStreamSource;
+    private final Flow.Publisher<ByteBuffer> publisher;
+    private final BodyWriter bodyWriter;
+    private final Path file;
+
+    private StreamingRequestBody(long contentLength,
+                                 InputStreamSource inputStreamSource,
+                                 Flow.Publisher<ByteBuffer> publisher,
+                                 BodyWriter bodyWriter,
+                                 Path file) {
+        this.contentLength = contentLength;
+        this.inputStreamSource = inputStreamSource;
+        this.publisher = publisher;
+        this.bodyWriter = bodyWriter;
+        this.file = file;
+    }
+
+    public static StreamingRequestBody ofInputStream(InputStreamSource inputStreamSource) {
+        return ofInputStream(inputStreamSource, UNKNOWN_CONTENT_LENGTH);
+    }
+
+    public static StreamingRequestBody ofInputStream(InputStreamSource inputStreamSource, long contentLength) {
+        return new StreamingRequestBody(contentLength, Objects.requireNonNull(inputStreamSource), null, null, null);
+    }
+
+    public static StreamingRequestBody ofPublisher(Flow.Publisher<ByteBuffer> publisher) {
+        return ofPublisher(publisher, UNKNOWN_CONTENT_LENGTH);
+    }
+
+    /**
+     * Body which is sent as it is emitted by the publisher. Blocking clients request the next buffer only after
+     * the previous one is written to the connection.
+     */
+    public static StreamingRequestBody ofPublisher(Flow.Publisher<ByteBuffer> publisher, long contentLength) {
+        return new StreamingRequestBody(contentLength, null, Objects.requireNonNull(publisher), null, null);
+    }
+
+    public static StreamingRequestBody ofWriter(BodyWriter bodyWriter) {
+        return ofWriter(bodyWriter, UNKNOWN_CONTENT_LENGTH);
+    }
+
+    public static StreamingRequestBody ofWriter(BodyWriter bodyWriter, long contentLength) {
+        return new StreamingRequestBody(contentLength, null, null, Objects.requireNonNull(bodyWriter), null);
+    }
+
+    /**
+     * Body with the content of given file. Clients transfer it through {@link FileChannel} and use zero-copy
+     * transfer where the transport allows it.
+     */
+    public static StreamingRequestBody ofFile(Path file) throws IOException {
+        return new StreamingRequestBody(Files.size(file), null, null, null, file);
+    }
+
+    /**
+     * @return content length in bytes or {@link #UNKNOWN_CONTENT_LENGTH}
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public boolean isContentLengthKnown() {
+        return contentLength >= 0;
+    }
+
+    /**
+     * @return whether the body can be written more than once, e.g. to retry the request. Bodies of
+     * {@link Flow.Publisher} can be subscribed to once only.
+     */
+    public boolean isRepeatable() {
+        return publisher == null;
+    }
+
+    /**
+     * @return source of the body if it was created by {@code ofInputStream}, otherwise {@code null}
+     */
+    public InputStreamSource getInputStreamSource() {
+        return inputStreamSource;
+    }
+
+    /**
+     * @return publisher of the body if it was created by {@code ofPublisher}, otherwise {@code null}
+     */
+    public Flow.Publisher<ByteBuffer> getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * @return writer of the body if it was created by {@code ofWriter}, otherwise {@code null}
+     */
+    public BodyWriter getBodyWriter() {
+        return bodyWriter;
+    }
+
+    /**
+     * @return file with the body if it was created by {@code ofFile}, otherwise {@code null}
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the whole body to given stream, blocking the calling thread until it is done.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (file != null) {
+            writeFileTo(outputStream);
+        } else if (inputStreamSource != null) {
+            try (InputStream inputStream = inputStreamSource.open()) {
+                inputStream.transferTo(outputStream);
+            }
+        } else if (bodyWriter != null) {
+            bodyWriter.writeTo(outputStream);
+        } else {
+            writePublisherTo(outputStream);
+        }
+    }
+
+    private void writeFileTo(OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = fileChannel.transferTo(position, size - position, target);
+                if (transferred == 0 && position >= fileChannel.size()) {
+                    throw new IOException("File " + file + " was truncated to " + position + " bytes while it was sent, "
+                            + size + " bytes expected");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private void writePublisherTo(OutputStream outputStream) throws IOException {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                try {
+                    if (byteBuffer.hasArray()) {
+                        outputStream.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+                    } else {
+                        byte[] bytes = new byte[byteBuffer.remaining()];
+                        byteBuffer.get(bytes);
+                        outputStream.write(bytes);
+                    }
+                    subscription.request(1);
+                } catch (IOException e) {
+                    subscription.cancel();
+                    completion.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completion.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing request body");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to write request body", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.qubership.cloud.restclient.error;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of {@link ErrorResponseProcessor}.
+ */
+@Getter
+@Builder
+@ToString
+public class ErrorDecodingSettings {
+    public static final String JSON = "application/json";
+
+    /**
+     * Error response bodies longer than this are truncated before they are kept in the exception. Decoders always get
+     * the complete body.
+     */
+    @Builder.Default
+    private final int maxCapturedBodySize = 64 * 1024;
+    /**
+     * Failures to decode error responses are logged at WARN level at most once per this interval, the rest is logged
+     * at DEBUG level and counted in the next WARN message.
+     */
+    @Builder.Default
+    private final Duration failureLogInterval = Duration.ofSeconds(10);
+    /**
+     * Additional decoders by lower case media type without parameters. Decoder of {@link #JSON} is used for
+     * {@code +json} media types too and replaces the TMF decoder of the client.
+     */
+    @Singular
+    private final Map<String, ErrorResponseDecoder> decoders;
+}
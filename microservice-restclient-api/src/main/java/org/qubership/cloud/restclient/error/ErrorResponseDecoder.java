@@ -0,0 +1,20 @@
+package org.qubership.cloud.restclient.error;
+
+import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
+import org.qubership.cloud.restclient.entity.ResponseHeaders;
+
+import java.io.IOException;
+
+/**
+ * Converts error response body of a particular media type to {@link RemoteCodeException}, which becomes the cause of
+ * {@link org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException}.
+ */
+@FunctionalInterface
+public interface ErrorResponseDecoder {
+    /**
+     * @param body complete response body, never truncated
+     * @return decoded exception or {@code null} if the body is not an error response of the expected format
+     * @throws IOException if the body could not be parsed
+     */
+    RemoteCodeException decode(int httpStatus, ResponseHeaders headers, byte[] body) throws IOException;
+}
@@ -0,0 +1,109 @@
+package org.qubership.cloud.restclient.error;
+
+import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
+import org.qubership.cloud.restclient.entity.ResponseHeaders;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Converts error responses to {@link MicroserviceRestClientResponseException}. Only bodies of media types with
+ * a registered decoder are parsed; a body without {@code Content-Type} is parsed as JSON if it looks like a JSON
+ * object. The body is read once and kept in the exception up to
+ * {@link ErrorDecodingSettings#getMaxCapturedBodySize()}.
+ */
+@Slf4j
+public class ErrorResponseProcessor {
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    @Getter
+    private final ErrorDecodingSettings settings;
+    private final Map<String, ErrorResponseDecoder> decoders;
+    private final long failureLogIntervalNanos;
+    private final AtomicLong nextFailureLogAt = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedFailures = new AtomicLong();
+
+    /**
+     * @param jsonDecoder decoder of JSON error responses, used unless the settings provide their own
+     */
+    public ErrorResponseProcessor(ErrorDecodingSettings settings, ErrorResponseDecoder jsonDecoder) {
+        this.settings = settings;
+        this.decoders = new HashMap<>();
+        if (jsonDecoder != null) {
+            decoders.put(ErrorDecodingSettings.JSON, jsonDecoder);
+        }
+        decoders.putAll(settings.getDecoders());
+        this.failureLogIntervalNanos = settings.getFailureLogInterval().toNanos();
+    }
+
+    /**
+     * @param message message of the exception if the body could not be decoded
+     * @param cause   cause of the exception if the body could not be decoded
+     */
+    public MicroserviceRestClientResponseException process(String message,
+                                                           Throwable cause,
+                                                           int httpStatus,
+                                                           Map<String, List<String>> headers,
+                                                           byte[] body) {
+        if (body == null) {
+            body = EMPTY_BODY;
+        }
+        byte[] capturedBody = body.length > settings.getMaxCapturedBodySize()
+                ? Arrays.copyOf(body, settings.getMaxCapturedBodySize())
+                : body;
+        ResponseHeaders responseHeaders = ResponseHeaders.of(headers);
+        ErrorResponseDecoder decoder = body.length == 0 ? null : decoderFor(responseHeaders, body);
+        if (decoder != null) {
+            try {
+                RemoteCodeException remoteCodeException = decoder.decode(httpStatus, responseHeaders, body);
+                if (remoteCodeException != null) {
+                    return new MicroserviceRestClientResponseException(remoteCodeException.getMessage(), remoteCodeException,
+                            httpStatus, capturedBody, headers);
+                }
+            } catch (Exception e) {
+                logFailure(e);
+            }
+        }
+        return new MicroserviceRestClientResponseException(message, cause, httpStatus, capturedBody, headers);
+    }
+
+    private ErrorResponseDecoder decoderFor(ResponseHeaders headers, byte[] body) {
+        String mediaType = headers.getContentType();
+        if (mediaType == null) {
+            return startsWithJsonObject(body) ? decoders.get(ErrorDecodingSettings.JSON) : null;
+        }
+        ErrorResponseDecoder decoder = decoders.get(mediaType);
+        if (decoder == null && mediaType.endsWith("+json")) {
+            decoder = decoders.get(ErrorDecodingSettings.JSON);
+        }
+        return decoder;
+    }
+
+    private static boolean startsWithJsonObject(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private void logFailure(Exception e) {
+        long now = System.nanoTime();
+        long next = nextFailureLogAt.get();
+        if (now - next >= 0 && nextFailureLogAt.compareAndSet(next, now + failureLogIntervalNanos)) {
+            long suppressed = suppressedFailures.getAndSet(0);
+            log.warn("Failed to parse response as TMF error response, cause: {}{}", e.getMessage(),
+                    suppressed == 0 ? "" : " (" + suppressed + " similar failures suppressed)");
+        } else {
+            suppressedFailures.incrementAndGet();
+            log.debug("Failed to parse response as TMF error response", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.qubership.cloud.restclient.error;
+
+import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
+import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
+import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponseConverter;
+import org.qubership.cloud.restclient.entity.ResponseHeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+/**
+ * Decodes JSON bodies in TMF error response format with an {@link ObjectReader} created once.
+ */
+public class TmfErrorResponseDecoder implements ErrorResponseDecoder {
+    private final ObjectReader reader;
+    private final TmfErrorResponseConverter converter;
+
+    public TmfErrorResponseDecoder(ObjectMapper mapper, TmfErrorResponseConverter converter) {
+        this.reader = mapper.readerFor(TmfErrorResponse.class);
+        this.converter = converter;
+    }
+
+    @Override
+    public RemoteCodeException decode(int httpStatus, ResponseHeaders headers, byte[] body) throws IOException {
+        TmfErrorResponse tmfErrorResponse = reader.readValue(body);
+        return tmfErrorResponse == null ? null : converter.buildErrorCodeException(tmfErrorResponse);
+    }
+}
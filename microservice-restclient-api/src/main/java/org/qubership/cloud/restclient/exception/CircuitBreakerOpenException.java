@@ -0,0 +1,18 @@
+package org.qubership.cloud.restclient.exception;
+
+import org.qubership.cloud.core.error.runtime.ErrorCodeHolder;
+import lombok.Getter;
+
+/**
+ * Thrown without performing the request while circuit breaker of the destination is open.
+ */
+public class CircuitBreakerOpenException extends MicroserviceRestClientException {
+    @Getter
+    private final String destination;
+
+    public CircuitBreakerOpenException(String destination) {
+        super(new ErrorCodeHolder("CORE-LIB-MRA-0002", "Circuit breaker is open"),
+                "Circuit breaker for " + destination + " is open", null);
+        this.destination = destination;
+    }
+}
@@ -0,0 +1,19 @@
+package org.qubership.cloud.restclient.exception;
+
+import org.qubership.cloud.core.error.runtime.ErrorCodeHolder;
+import lombok.Getter;
+
+/**
+ * Thrown without performing the request when the concurrency limit of the destination is reached and the request
+ * could not be queued or has waited in the queue for too long.
+ */
+public class ConcurrencyLimitExceededException extends MicroserviceRestClientException {
+    @Getter
+    private final String destination;
+
+    public ConcurrencyLimitExceededException(String destination, int limit) {
+        super(new ErrorCodeHolder("CORE-LIB-MRA-0003", "Concurrency limit exceeded"),
+                "Concurrency limit " + limit + " of " + destination + " is exceeded", null);
+        this.destination = destination;
+    }
+}
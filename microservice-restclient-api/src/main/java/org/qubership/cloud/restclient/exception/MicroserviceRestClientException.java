@@ -11,4 +11,8 @@ public class MicroserviceRestClientException extends ErrorCodeException {
     public MicroserviceRestClientException(String msg, Throwable cause) {
         super(new ErrorCodeHolder("CORE-LIB-MRA-0001", "Exception occurred performing REST call"), msg, cause);
     }
+
+    protected MicroserviceRestClientException(ErrorCodeHolder errorCodeHolder, String msg, Throwable cause) {
+        super(errorCodeHolder, msg, cause);
+    }
 }
@@ -1,25 +1,21 @@
 package org.qubership.cloud.restclient.exception;
 
-
+import org.qubership.cloud.restclient.entity.ResponseHeaders;
 import lombok.Getter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 public class MicroserviceRestClientResponseException extends MicroserviceRestClientException {
-    private static final Logger LOGGER = LoggerFactory.getLogger(MicroserviceRestClientResponseException.class);
     @Getter
     private final int httpStatus;
     @Getter
     private final byte[] responseBody;
     @Getter
     private final Map<String, List<String>> responseHeaders;
+    private transient ResponseHeaders parsedResponseHeaders;
+    private transient String responseBodyAsString;
 
     public MicroserviceRestClientResponseException(String msg,
                                                    int httpStatus,
@@ -42,37 +38,29 @@ public class MicroserviceRestClientResponseException extends MicroserviceRestCli
         this.responseHeaders = responseHeaders;
     }
 
-    private Charset getResponseCharset() {
-        Charset charset = StandardCharsets.ISO_8859_1;
-        try {
-            Optional<String> mediaTypeKey = responseHeaders.keySet()
-                    .stream()
-                    .filter("content-type"::equalsIgnoreCase)
-                    .findFirst();
-            if (mediaTypeKey.isPresent()) {
-                List<String> mediaTypes = responseHeaders.getOrDefault(mediaTypeKey.get(), Collections.emptyList());
-                String mediaType = mediaTypes.get(0);
-                if (mediaType != null && !mediaType.isEmpty()) {
-                    String[] parameters = mediaType.split(";");
-                    for (String parameter : parameters) {
-                        if (parameter != null && !parameter.isEmpty()) {
-                            String[] split = parameter.split("=");
-                            if (split.length == 2 && "charset".equalsIgnoreCase(split[0].trim())) {
-                                charset = Charset.forName(split[1].trim());
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.debug("Could not get charset from response", e);
+    /**
+     * @return case-insensitive view of the response headers with parsed {@code Content-Type}
+     */
+    public ResponseHeaders getParsedResponseHeaders() {
+        ResponseHeaders view = parsedResponseHeaders;
+        if (view == null) {
+            view = ResponseHeaders.of(responseHeaders);
+            parsedResponseHeaders = view;
         }
-        return charset;
+        return view;
     }
 
+    /**
+     * Decodes the body with the charset of the response, {@code ISO-8859-1} by default. The result is kept, so
+     * logging the exception more than once does not decode it again.
+     */
     public String getResponseBodyAsString() {
-        Charset responseCharset = getResponseCharset();
-        return new String(this.responseBody, responseCharset);
+        String body = responseBodyAsString;
+        if (body == null) {
+            body = responseBody == null ? "" : new String(responseBody, getParsedResponseHeaders().getCharset(StandardCharsets.ISO_8859_1));
+            responseBodyAsString = body;
+        }
+        return body;
     }
 
     @Override
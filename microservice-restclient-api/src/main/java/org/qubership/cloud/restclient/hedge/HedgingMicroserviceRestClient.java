@@ -0,0 +1,257 @@
+package org.qubership.cloud.restclient.hedge;
+
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.retry.RetryBudget;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link MicroserviceRestClient} decorator which cuts tail latency of idempotent requests: if the first attempt has
+ * not completed within hedge delay, the same request is sent once more, the first successful response wins and the
+ * other attempt is cancelled. A definitive failure, e.g. 404, fails the request without waiting for the other attempt.
+ * The delay is either fixed or follows a percentile of observed latencies of all attempts, the number of hedged
+ * attempts is capped relative to the number of requests, see {@link HedgingPolicy}.
+ * <p>
+ * Attempts are performed with {@code doRequestAsync} of the delegate, blocking calls wait for it. Hedged attempts are
+ * sent from the hedge executor, the first one from the calling thread. The future of the
+ * losing attempt is cancelled, decorators of this library pass the cancellation on to the client. It aborts the
+ * exchange of {@code MicroserviceWebClient}, while {@code MicroserviceRestTemplate} cannot abort a blocking exchange,
+ * which completes on its async executor and holds the connection until then.
+ */
+@Slf4j
+public class HedgingMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    private static final Executor DEFAULT_HEDGE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "microservice-rest-client-hedge-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final HedgingPolicy policy;
+    private final Executor hedgeExecutor;
+    private final LatencyTracker latencyTracker;
+    private final RetryBudget hedgeBudget;
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    public HedgingMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this(delegate, HedgingPolicy.builder().build());
+    }
+
+    public HedgingMicroserviceRestClient(MicroserviceRestClient delegate, HedgingPolicy policy) {
+        this(delegate, policy, DEFAULT_HEDGE_EXECUTOR);
+    }
+
+    /**
+     * @param hedgeExecutor executor which sends hedged attempts once hedge delay expires. The delegate's
+     *                      {@code doRequestAsync} may block it, e.g. if the delegate implements only blocking calls, so
+     *                      it should not be a small shared pool. Defaults to a pool of daemon threads of this class.
+     */
+    public HedgingMicroserviceRestClient(MicroserviceRestClient delegate, HedgingPolicy policy, Executor hedgeExecutor) {
+        super(delegate);
+        this.policy = policy;
+        this.hedgeExecutor = hedgeExecutor;
+        this.latencyTracker = new LatencyTracker(policy.getLatencyWindowSize(), policy.getPercentile(),
+                policy.getMinHedgeDelay().toNanos());
+        this.hedgeBudget = new RetryBudget(policy.getMaxHedgeRatio(), policy.getMinHedges());
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass,
+                                                     Map<String, Object> params) {
+        if (!isHedgeable(httpMethod, requestBody)) {
+            return delegate.doRequest(uriTemplate, httpMethod, headers, requestBody, responseClass, params);
+        }
+        return await(doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        if (!isHedgeable(httpMethod, requestBody)) {
+            return delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        return await(doRequestAsync(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        if (!isHedgeable(httpMethod, requestBody)) {
+            return delegate.doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params);
+        }
+        return hedge(() -> delegate.doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        if (!isHedgeable(httpMethod, requestBody)) {
+            return delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        return hedge(() -> delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    /**
+     * @return number of hedged attempts sent
+     */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    /**
+     * @return number of requests answered by the hedged attempt
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    /**
+     * @return delay after which the hedged attempt is sent now
+     */
+    public Duration getHedgeDelay() {
+        return policy.getHedgeDelay() != null ? policy.getHedgeDelay() : Duration.ofNanos(latencyTracker.getPercentileNanos());
+    }
+
+    private boolean isHedgeable(HttpMethod httpMethod, Object requestBody) {
+        if (!policy.getIdempotentMethods().contains(httpMethod)) {
+            return false;
+        }
+        return !(requestBody instanceof StreamingRequestBody) || ((StreamingRequestBody) requestBody).isRepeatable();
+    }
+
+    private <T> CompletableFuture<RestClientResponseEntity<T>> hedge(Supplier<CompletableFuture<RestClientResponseEntity<T>>> attempt) {
+        hedgeBudget.onRequest();
+        HedgedExchange<T> exchange = new HedgedExchange<>(attempt);
+        exchange.start(false);
+        if (!exchange.result.isDone()) {
+            CompletableFuture.delayedExecutor(getHedgeDelay().toNanos(), TimeUnit.NANOSECONDS, hedgeExecutor)
+                    .execute(exchange::startHedge);
+        }
+        return exchange.result;
+    }
+
+    private static <T> RestClientResponseEntity<T> await(CompletableFuture<RestClientResponseEntity<T>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private class HedgedExchange<T> {
+        private final Supplier<CompletableFuture<RestClientResponseEntity<T>>> attempt;
+        private final CompletableFuture<RestClientResponseEntity<T>> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean answered = new AtomicBoolean();
+        private final AtomicReferenceArray<CompletableFuture<RestClientResponseEntity<T>>> attempts = new AtomicReferenceArray<>(2);
+
+        HedgedExchange(Supplier<CompletableFuture<RestClientResponseEntity<T>>> attempt) {
+            this.attempt = attempt;
+            result.whenComplete((response, e) -> cancelAttempts());
+        }
+
+        void startHedge() {
+            // the hedge must not be sent after the first attempt failed, retries are not the goal of hedging
+            if (result.isDone() || pending.get() == 0 || !hedgeBudget.tryAcquireRetry()) {
+                return;
+            }
+            hedgeCount.increment();
+            start(true);
+        }
+
+        void start(boolean hedged) {
+            pending.incrementAndGet();
+            long startTime = System.nanoTime();
+            CompletableFuture<RestClientResponseEntity<T>> response;
+            try {
+                response = attempt.get();
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            attempts.set(hedged ? 1 : 0, response);
+            response.whenComplete((value, e) -> {
+                int remaining = pending.decrementAndGet();
+                Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                // recording only the winners would skew the delay towards the fast attempts. An attempt cancelled
+                // because the other one answered is recorded with the time it ran, which is a lower bound of its latency
+                if (!(error instanceof CancellationException) || answered.get()) {
+                    latencyTracker.record(System.nanoTime() - startTime);
+                }
+                if (error == null) {
+                    if (answered.compareAndSet(false, true)) {
+                        if (hedged) {
+                            hedgeWinCount.increment();
+                        }
+                        // the other attempt is recorded before the caller sees the result
+                        cancelAttempts();
+                        result.complete(value);
+                    }
+                } else if (remaining == 0 || policy.getDefinitiveFailurePredicate().test(error)) {
+                    if (answered.compareAndSet(false, true)) {
+                        cancelAttempts();
+                        result.completeExceptionally(error);
+                    }
+                } else {
+                    log.debug("Attempt of hedged request failed, waiting for another one: {}", error.getMessage());
+                }
+            });
+            if (result.isDone()) {
+                response.cancel(true);
+            }
+        }
+
+        private void cancelAttempts() {
+            for (int i = 0; i < attempts.length(); i++) {
+                CompletableFuture<RestClientResponseEntity<T>> response = attempts.get(i);
+                if (response != null && !response.isDone()) {
+                    response.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.qubership.cloud.restclient.hedge;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Settings of {@link HedgingMicroserviceRestClient}.
+ */
+@Getter
+@Builder
+@ToString
+public class HedgingPolicy {
+    /**
+     * Fixed delay after which the hedged attempt is sent. If {@code null}, the delay follows {@link #percentile}
+     * of observed latencies.
+     */
+    @Builder.Default
+    private final Duration hedgeDelay = null;
+    /**
+     * Percentile of observed latencies used as hedge delay when {@link #hedgeDelay} is not set.
+     */
+    @Builder.Default
+    private final double percentile = 0.95;
+    /**
+     * Lower bound of the observed latency based delay. It is also used until enough latencies are observed.
+     */
+    @Builder.Default
+    private final Duration minHedgeDelay = Duration.ofMillis(20);
+    /**
+     * Number of recent latencies the percentile is computed over.
+     */
+    @Builder.Default
+    private final int latencyWindowSize = 1000;
+    /**
+     * Max number of hedged attempts relative to the number of requests.
+     */
+    @Builder.Default
+    private final double maxHedgeRatio = 0.1;
+    /**
+     * Number of hedged attempts allowed regardless of {@link #maxHedgeRatio}, e.g. at low request rate.
+     */
+    @Builder.Default
+    private final int minHedges = 5;
+    @Builder.Default
+    private final Set<HttpMethod> idempotentMethods = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+    /**
+     * Which failures of an attempt are definitive answers the other attempt would repeat, so the request fails at
+     * once instead of waiting for it. By default these are 4xx responses except 408 and 429.
+     */
+    @Builder.Default
+    private final Predicate<Throwable> definitiveFailurePredicate = HedgingPolicy::isDefinitiveFailure;
+
+    private static boolean isDefinitiveFailure(Throwable e) {
+        if (!(e instanceof MicroserviceRestClientResponseException)) {
+            return false;
+        }
+        int httpStatus = ((MicroserviceRestClientResponseException) e).getHttpStatus();
+        return httpStatus >= 400 && httpStatus < 500 && httpStatus != 408 && httpStatus != 429;
+    }
+}
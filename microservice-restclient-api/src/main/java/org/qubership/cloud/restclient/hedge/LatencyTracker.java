@@ -0,0 +1,38 @@
+package org.qubership.cloud.restclient.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a window of recent latencies and periodically recomputes a percentile of them.
+ */
+final class LatencyTracker {
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final long[] samples;
+    private final double percentile;
+    private final long defaultNanos;
+    private long count;
+    private volatile long percentileNanos;
+
+    LatencyTracker(int windowSize, double percentile, long defaultNanos) {
+        this.samples = new long[Math.max(RECOMPUTE_INTERVAL, windowSize)];
+        this.percentile = percentile;
+        this.defaultNanos = defaultNanos;
+        this.percentileNanos = defaultNanos;
+    }
+
+    synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+        if (count >= RECOMPUTE_INTERVAL && count % RECOMPUTE_INTERVAL == 0) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            percentileNanos = Math.max(defaultNanos, sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+    }
+
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,180 @@
+package org.qubership.cloud.restclient.limiter;
+
+import org.qubership.cloud.restclient.exception.ConcurrencyLimitExceededException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit of a single destination. The limit grows by one per limit of successful calls while
+ * the destination keeps up, shrinks the same way while calls take longer than the minimal observed response time
+ * multiplied by {@link ConcurrencyLimiterSettings#getLatencyTolerance()}, i.e. while the destination queues requests,
+ * and is cut by {@link ConcurrencyLimiterSettings#getBackoffRatio()} when a call fails with overload.
+ * <p>
+ * Requests above the limit wait in a bounded FIFO queue for a short time and are rejected with
+ * {@link ConcurrencyLimitExceededException} afterwards.
+ */
+@Slf4j
+public class ConcurrencyLimiter {
+    @Getter
+    private final String destination;
+    private final ConcurrencyLimiterSettings settings;
+    private final Deque<CompletableFuture<Permit>> queue = new ArrayDeque<>();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private double limit;
+    private int inFlight;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private long windowMinLatencyNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public ConcurrencyLimiter(String destination, ConcurrencyLimiterSettings settings) {
+        this.destination = destination;
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of requests rejected because the limit was reached
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Acquires a slot for a call. The returned future is completed once the slot is free, or fails with
+     * {@link ConcurrencyLimitExceededException} if it is not free in time. Outcome of the call must be reported to
+     * the permit. Cancelling the future while it waits leaves the queue, a slot granted concurrently is given back.
+     */
+    public CompletableFuture<Permit> acquire() {
+        CompletableFuture<Permit> waiter;
+        synchronized (this) {
+            if (inFlight < (int) limit && queue.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (queue.size() >= settings.getMaxQueueSize() || settings.getMaxQueueTime().isZero()) {
+                return CompletableFuture.failedFuture(reject());
+            }
+            waiter = new CompletableFuture<>();
+            queue.addLast(waiter);
+        }
+        waiter.whenComplete((permit, e) -> {
+            if (waiter.isCancelled()) {
+                synchronized (this) {
+                    queue.remove(waiter);
+                }
+            }
+        });
+        CompletableFuture.delayedExecutor(settings.getMaxQueueTime().toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> expire(waiter));
+        return waiter;
+    }
+
+    private void expire(CompletableFuture<Permit> waiter) {
+        boolean removed;
+        synchronized (this) {
+            removed = queue.remove(waiter);
+        }
+        if (removed) {
+            waiter.completeExceptionally(reject());
+        }
+    }
+
+    private ConcurrencyLimitExceededException reject() {
+        rejectedCount.increment();
+        return new ConcurrencyLimitExceededException(destination, getLimit());
+    }
+
+    private void release(long latencyNanos, boolean overload, boolean sample) {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        synchronized (this) {
+            int previousLimit = (int) limit;
+            if (overload) {
+                limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+            } else if (sample) {
+                updateLimit(latencyNanos);
+            }
+            if ((int) limit != previousLimit) {
+                log.debug("Concurrency limit of {} changed from {} to {}", destination, previousLimit, (int) limit);
+            }
+            inFlight--;
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                inFlight++;
+                granted.add(queue.pollFirst());
+            }
+        }
+        for (CompletableFuture<Permit> waiter : granted) {
+            if (!waiter.complete(new Permit())) {
+                // waiter was completed by the caller meanwhile, give the slot back
+                release(0, false, false);
+            }
+        }
+    }
+
+    private void updateLimit(long latencyNanos) {
+        windowMinLatencyNanos = Math.min(windowMinLatencyNanos, latencyNanos);
+        minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+        if (++windowSamples >= settings.getMinLatencyWindow()) {
+            minLatencyNanos = windowMinLatencyNanos;
+            windowMinLatencyNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        if (latencyNanos > minLatencyNanos * settings.getLatencyTolerance()) {
+            // queueing is a softer signal than overload, step down by one per limit of slow calls
+            limit = Math.max(settings.getMinLimit(), limit - 1 / limit);
+        } else if (inFlight * 2 >= limit) {
+            // grow only when the limit is actually used, otherwise it would grow without bound on low load
+            limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Slot of a call. Exactly one of the methods must be called when the call completes.
+     */
+    public class Permit {
+        private final long startTime = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void onSuccess() {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - startTime, false, true);
+            }
+        }
+
+        public void onError(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - startTime, settings.getOverloadPredicate().test(error), false);
+            }
+        }
+
+        /**
+         * Releases the slot without affecting the limit, e.g. when the call was cancelled.
+         */
+        public void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                release(0, false, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.qubership.cloud.restclient.limiter;
+
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Settings of {@link ConcurrencyLimiter}.
+ */
+@Getter
+@Builder
+@ToString
+public class ConcurrencyLimiterSettings {
+    @Builder.Default
+    private final int initialLimit = 20;
+    @Builder.Default
+    private final int minLimit = 1;
+    @Builder.Default
+    private final int maxLimit = 200;
+    /**
+     * Factor the limit is multiplied by on overload.
+     */
+    @Builder.Default
+    private final double backoffRatio = 0.9;
+    /**
+     * Response time above minimal observed response time multiplied by this factor means requests are queued by
+     * the destination, so the limit is decreased.
+     */
+    @Builder.Default
+    private final double latencyTolerance = 2.0;
+    /**
+     * Number of calls after which minimal observed response time is taken anew, so that it follows changes of the
+     * destination.
+     */
+    @Builder.Default
+    private final int minLatencyWindow = 1000;
+    /**
+     * Requests above the limit wait for a free slot while there are less than this number of waiting requests,
+     * {@code 0} rejects them at once.
+     */
+    @Builder.Default
+    private final int maxQueueSize = 100;
+    /**
+     * Time request may wait in the queue before it is rejected.
+     */
+    @Builder.Default
+    private final Duration maxQueueTime = Duration.ofMillis(50);
+    /**
+     * Which exceptions mean the destination is overloaded. By default these are I/O errors, timeouts and 429, 503
+     * and 504 responses.
+     */
+    @Builder.Default
+    private final Predicate<Throwable> overloadPredicate = ConcurrencyLimiterSettings::isOverload;
+
+    private static boolean isOverload(Throwable e) {
+        if (e instanceof MicroserviceRestClientResponseException) {
+            int status = ((MicroserviceRestClientResponseException) e).getHttpStatus();
+            return status == 429 || status == 503 || status == 504;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // netty timeouts are not IOExceptions
+            if (cause instanceof IOException || cause.getClass().getSimpleName().endsWith("TimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,204 @@
+package org.qubership.cloud.restclient.limiter;
+
+import org.qubership.cloud.restclient.Destinations;
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.ConcurrencyLimitExceededException;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * {@link MicroserviceRestClient} decorator which keeps an adaptive {@link ConcurrencyLimiter} per destination, so that
+ * the number of in-flight requests follows what the destination is able to serve instead of a static pool size.
+ * Requests above the limit are queued for a short time and then rejected with
+ * {@link ConcurrencyLimitExceededException}.
+ * <p>
+ * Streaming responses hold the slot until the response headers are received only.
+ */
+public class ConcurrencyLimitingMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    private final ConcurrencyLimiterSettings settings;
+    private final ConcurrentMap<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitingMicroserviceRestClient(MicroserviceRestClient delegate) {
+        this(delegate, ConcurrencyLimiterSettings.builder().build());
+    }
+
+    public ConcurrencyLimitingMicroserviceRestClient(MicroserviceRestClient delegate, ConcurrencyLimiterSettings settings) {
+        super(delegate);
+        this.settings = settings;
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass,
+                                                     Map<String, Object> params) {
+        return call(Destinations.of(uriTemplate),
+                () -> delegate.doRequest(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        return call(Destinations.of(uri), () -> delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        return callAsync(Destinations.of(uriTemplate),
+                () -> delegate.doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return callAsync(Destinations.of(uri), () -> delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        return call(Destinations.of(uri), () -> delegate.doRequestForStream(uri, httpMethod, headers, requestBody));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> uploadFile(URI uri,
+                                                      HttpMethod httpMethod,
+                                                      Map<String, List<String>> headers,
+                                                      Path file,
+                                                      Class<T> responseClass) {
+        return call(Destinations.of(uri), () -> delegate.uploadFile(uri, httpMethod, headers, file, responseClass));
+    }
+
+    @Override
+    public RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                     Map<String, List<String>> headers,
+                                                     Path target) {
+        return call(Destinations.of(uri), () -> delegate.downloadTo(uri, headers, target));
+    }
+
+    /**
+     * @return limiters of the destinations requested so far
+     */
+    public Map<String, ConcurrencyLimiter> getLimiters() {
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    public ConcurrencyLimiter getLimiter(URI uri) {
+        return limiter(Destinations.of(uri));
+    }
+
+    /**
+     * @return number of requests rejected over all destinations
+     */
+    public long getRejectedCount() {
+        return limiters.values().stream().mapToLong(ConcurrencyLimiter::getRejectedCount).sum();
+    }
+
+    private ConcurrencyLimiter limiter(String destination) {
+        return limiters.computeIfAbsent(destination, key -> new ConcurrencyLimiter(key, settings));
+    }
+
+    private <R> R call(String destination, Supplier<R> call) {
+        ConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter(destination).acquire().join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+        R result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            permit.onError(e);
+            throw e;
+        }
+        permit.onSuccess();
+        return result;
+    }
+
+    /**
+     * Cancelling the returned future gives up the place in the queue or cancels the exchange, the slot is released
+     * in both cases.
+     */
+    private <R> CompletableFuture<R> callAsync(String destination, Supplier<CompletableFuture<R>> call) {
+        CompletableFuture<ConcurrencyLimiter.Permit> acquired = limiter(destination).acquire();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<R>> exchange = new AtomicReference<>();
+        acquired.whenComplete((permit, acquireError) -> {
+            if (acquireError != null) {
+                result.completeExceptionally(acquireError);
+                return;
+            }
+            if (result.isDone()) {
+                permit.onIgnore();
+                return;
+            }
+            CompletableFuture<R> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                permit.onError(e);
+                result.completeExceptionally(e);
+                return;
+            }
+            exchange.set(started);
+            started.whenComplete((response, e) -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause == null) {
+                    permit.onSuccess();
+                    result.complete(response);
+                    return;
+                }
+                if (cause instanceof CancellationException) {
+                    permit.onIgnore();
+                } else {
+                    permit.onError(cause);
+                }
+                result.completeExceptionally(cause);
+            });
+            if (result.isCancelled()) {
+                started.cancel(false);
+            }
+        });
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                acquired.cancel(false);
+                CompletableFuture<R> started = exchange.get();
+                if (started != null) {
+                    started.cancel(false);
+                }
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Endpoint of a load balanced service with the statistics the choice is based on.
+ */
+public class Endpoint {
+    @Getter
+    private final URI uri;
+    private final String base;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+    private double latencyNanos;
+    private long lastSampleTime;
+    private boolean sampled;
+
+    Endpoint(URI uri) {
+        this.uri = uri;
+        String endpoint = uri.toString();
+        this.base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+    }
+
+    /**
+     * @return number of requests sent to the endpoint and not answered yet
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return exponentially weighted moving average of the response time
+     */
+    public synchronized long getLatencyNanos() {
+        return (long) latencyNanos;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    /**
+     * Compares outstanding requests weighted by average response time. Endpoints without latency samples yet are
+     * compared by outstanding requests only and win ties, so that they get their first samples.
+     */
+    static Endpoint lessLoaded(Endpoint a, Endpoint b) {
+        double costA;
+        double costB;
+        synchronized (a) {
+            costA = a.sampled ? a.latencyNanos : -1;
+        }
+        synchronized (b) {
+            costB = b.sampled ? b.latencyNanos : -1;
+        }
+        if (costA < 0 || costB < 0) {
+            int outstandingA = a.getOutstanding();
+            int outstandingB = b.getOutstanding();
+            if (outstandingA != outstandingB) {
+                return outstandingA < outstandingB ? a : b;
+            }
+            return costA <= costB ? a : b;
+        }
+        return costA * (a.getOutstanding() + 1) <= costB * (b.getOutstanding() + 1) ? a : b;
+    }
+
+    /**
+     * Appends path, query and fragment of the request to this endpoint.
+     */
+    URI resolve(URI request) {
+        StringBuilder uri = new StringBuilder(base);
+        if (request.getRawPath() != null) {
+            uri.append(request.getRawPath());
+        }
+        if (request.getRawQuery() != null) {
+            uri.append('?').append(request.getRawQuery());
+        }
+        if (request.getRawFragment() != null) {
+            uri.append('#').append(request.getRawFragment());
+        }
+        return URI.create(uri.toString());
+    }
+
+    String resolve(String uriTemplateSuffix) {
+        return base + uriTemplateSuffix;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onSuccess(long durationNanos, long decayNanos) {
+        outstanding.decrementAndGet();
+        consecutiveFailures.set(0);
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!sampled) {
+                latencyNanos = durationNanos;
+                sampled = true;
+            } else {
+                double weight = Math.exp(-(double) (now - lastSampleTime) / decayNanos);
+                latencyNanos = latencyNanos * weight + durationNanos * (1 - weight);
+            }
+            lastSampleTime = now;
+        }
+    }
+
+    /**
+     * @return number of consecutive failures including this one
+     */
+    int onFailure() {
+        outstanding.decrementAndGet();
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void onIgnore() {
+        outstanding.decrementAndGet();
+    }
+
+    void eject(long until) {
+        ejectedUntil = until;
+        consecutiveFailures.set(0);
+    }
+}
@@ -0,0 +1,23 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Source of the endpoints of a service, e.g. {@code http://10.0.0.1:8080}. It is asked for every request, so
+ * implementations must return fast and may change the list at any time.
+ */
+@FunctionalInterface
+public interface EndpointSource {
+    List<URI> getEndpoints();
+
+    static EndpointSource of(List<URI> endpoints) {
+        List<URI> copy = List.copyOf(endpoints);
+        return () -> copy;
+    }
+
+    static EndpointSource of(URI... endpoints) {
+        return of(Arrays.asList(endpoints));
+    }
+}
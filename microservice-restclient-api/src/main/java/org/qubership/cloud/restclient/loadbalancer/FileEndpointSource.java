@@ -0,0 +1,73 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads endpoints from a file with one endpoint per line, empty lines and lines starting with {@code #} are skipped.
+ * The file is re-read when its modification time changes, which is checked at most once per refresh interval. If
+ * the file cannot be read, the endpoints read last are kept.
+ */
+@Slf4j
+public class FileEndpointSource implements EndpointSource {
+    private final Path file;
+    private final long refreshIntervalNanos;
+
+    private volatile List<URI> endpoints = Collections.emptyList();
+    private volatile long nextCheck;
+    private FileTime lastModified;
+
+    public FileEndpointSource(Path file) {
+        this(file, Duration.ofSeconds(5));
+    }
+
+    public FileEndpointSource(Path file, Duration refreshInterval) {
+        this.file = file;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.nextCheck = System.nanoTime();
+        refresh();
+    }
+
+    @Override
+    public List<URI> getEndpoints() {
+        if (System.nanoTime() - nextCheck >= 0) {
+            refresh();
+        }
+        return endpoints;
+    }
+
+    private synchronized void refresh() {
+        long now = System.nanoTime();
+        if (now - nextCheck < 0) {
+            return;
+        }
+        nextCheck = now + refreshIntervalNanos;
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            List<URI> read = new ArrayList<>();
+            for (String line : Files.readAllLines(file)) {
+                String endpoint = line.trim();
+                if (!endpoint.isEmpty() && !endpoint.startsWith("#")) {
+                    read.add(URI.create(endpoint));
+                }
+            }
+            endpoints = Collections.unmodifiableList(read);
+            lastModified = modified;
+            log.debug("Read endpoints {} from {}", read, file);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to read endpoints from {}, keeping {}", file, endpoints, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Settings of {@link LoadBalancingMicroserviceRestClient}.
+ */
+@Getter
+@Builder
+@ToString
+public class LoadBalancerSettings {
+    /**
+     * Time after which a latency sample weighs {@code 1/e} of its initial weight in the latency average.
+     */
+    @Builder.Default
+    private final Duration latencyDecay = Duration.ofSeconds(10);
+    /**
+     * Number of consecutive failures after which an endpoint is ejected.
+     */
+    @Builder.Default
+    private final int consecutiveFailures = 5;
+    @Builder.Default
+    private final Duration ejectionDuration = Duration.ofSeconds(30);
+    /**
+     * Maximal share of the endpoints ejected at the same time.
+     */
+    @Builder.Default
+    private final double maxEjectionRatio = 0.5;
+    /**
+     * Which exceptions are failures of the endpoint. By default these are I/O errors, timeouts and 5xx responses.
+     */
+    @Builder.Default
+    private final Predicate<Throwable> failurePredicate = LoadBalancerSettings::isEndpointFailure;
+    @Builder.Default
+    private final Clock clock = Clock.systemUTC();
+
+    private static boolean isEndpointFailure(Throwable e) {
+        if (e instanceof MicroserviceRestClientResponseException) {
+            return ((MicroserviceRestClientResponseException) e).getHttpStatus() >= 500;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // netty timeouts are not IOExceptions
+            if (cause instanceof IOException || cause.getClass().getSimpleName().endsWith("TimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
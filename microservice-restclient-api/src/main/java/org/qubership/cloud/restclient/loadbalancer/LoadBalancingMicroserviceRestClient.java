@@ -0,0 +1,290 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import org.qubership.cloud.restclient.ForwardingMicroserviceRestClient;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link MicroserviceRestClient} decorator which balances requests to a logical service, e.g.
+ * {@code http://my-service/api/v1/items}, over the endpoints of the service given by {@link EndpointSource}. Scheme
+ * and authority of the request are replaced with the chosen endpoint before the request is delegated, requests to
+ * other hosts are delegated as is.
+ * <p>
+ * An endpoint is chosen with power of two choices: of two random endpoints the one with the lower product of
+ * outstanding requests and average response time wins. Endpoints failing several times in a row are ejected for a
+ * while, unless too many endpoints are ejected already.
+ */
+@Slf4j
+public class LoadBalancingMicroserviceRestClient extends ForwardingMicroserviceRestClient {
+    @Getter
+    private final String serviceName;
+    private final EndpointSource endpointSource;
+    private final LoadBalancerSettings settings;
+    private final Pattern templatePrefix;
+    private final long latencyDecayNanos;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of());
+
+    public LoadBalancingMicroserviceRestClient(MicroserviceRestClient delegate, String serviceName, EndpointSource endpointSource) {
+        this(delegate, serviceName, endpointSource, LoadBalancerSettings.builder().build());
+    }
+
+    public LoadBalancingMicroserviceRestClient(MicroserviceRestClient delegate,
+                                               String serviceName,
+                                               EndpointSource endpointSource,
+                                               LoadBalancerSettings settings) {
+        super(delegate);
+        this.serviceName = serviceName;
+        this.endpointSource = endpointSource;
+        this.settings = settings;
+        this.templatePrefix = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://(?:[^@/?#]*@)?" + Pattern.quote(serviceName) + "(?=[/?#]|$)",
+                Pattern.CASE_INSENSITIVE);
+        this.latencyDecayNanos = settings.getLatencyDecay().toNanos();
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass,
+                                                     Map<String, Object> params) {
+        Matcher matcher = templatePrefix.matcher(uriTemplate);
+        if (!matcher.find()) {
+            return delegate.doRequest(uriTemplate, httpMethod, headers, requestBody, responseClass, params);
+        }
+        String suffix = uriTemplate.substring(matcher.end());
+        return call(endpoint -> delegate.doRequest(endpoint.resolve(suffix), httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> doRequest(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        if (!isBalanced(uri)) {
+            return delegate.doRequest(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        return call(endpoint -> delegate.doRequest(endpoint.resolve(uri), httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        Matcher matcher = templatePrefix.matcher(uriTemplate);
+        if (!matcher.find()) {
+            return delegate.doRequestAsync(uriTemplate, httpMethod, headers, requestBody, responseClass, params);
+        }
+        String suffix = uriTemplate.substring(matcher.end());
+        return callAsync(endpoint -> delegate.doRequestAsync(endpoint.resolve(suffix), httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        if (!isBalanced(uri)) {
+            return delegate.doRequestAsync(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        return callAsync(endpoint -> delegate.doRequestAsync(endpoint.resolve(uri), httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        if (!isBalanced(uri)) {
+            return delegate.doRequestForStream(uri, httpMethod, headers, requestBody);
+        }
+        return call(endpoint -> delegate.doRequestForStream(endpoint.resolve(uri), httpMethod, headers, requestBody));
+    }
+
+    @Override
+    public <T> RestClientResponseEntity<T> uploadFile(URI uri,
+                                                      HttpMethod httpMethod,
+                                                      Map<String, List<String>> headers,
+                                                      Path file,
+                                                      Class<T> responseClass) {
+        if (!isBalanced(uri)) {
+            return delegate.uploadFile(uri, httpMethod, headers, file, responseClass);
+        }
+        return call(endpoint -> delegate.uploadFile(endpoint.resolve(uri), httpMethod, headers, file, responseClass));
+    }
+
+    @Override
+    public RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                     Map<String, List<String>> headers,
+                                                     Path target) {
+        if (!isBalanced(uri)) {
+            return delegate.downloadTo(uri, headers, target);
+        }
+        return call(endpoint -> delegate.downloadTo(endpoint.resolve(uri), headers, target));
+    }
+
+    /**
+     * @return current endpoints of the service with their statistics
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints();
+    }
+
+    private boolean isBalanced(URI uri) {
+        return serviceName.equalsIgnoreCase(uri.getHost());
+    }
+
+    private <R> R call(Function<Endpoint, R> call) {
+        Endpoint endpoint = choose();
+        long start = System.nanoTime();
+        endpoint.onStart();
+        R result;
+        try {
+            result = call.apply(endpoint);
+        } catch (RuntimeException | Error e) {
+            onError(endpoint, System.nanoTime() - start, e);
+            throw e;
+        }
+        endpoint.onSuccess(System.nanoTime() - start, latencyDecayNanos);
+        return result;
+    }
+
+    private <R> CompletableFuture<R> callAsync(Function<Endpoint, CompletableFuture<R>> call) {
+        Endpoint endpoint;
+        try {
+            endpoint = choose();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        endpoint.onStart();
+        CompletableFuture<R> result;
+        try {
+            result = call.apply(endpoint);
+        } catch (RuntimeException e) {
+            onError(endpoint, System.nanoTime() - start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return cancelling(result, result.whenComplete((response, e) -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause == null) {
+                endpoint.onSuccess(System.nanoTime() - start, latencyDecayNanos);
+            } else if (cause instanceof CancellationException) {
+                endpoint.onIgnore();
+            } else {
+                onError(endpoint, System.nanoTime() - start, cause);
+            }
+        }));
+    }
+
+    private void onError(Endpoint endpoint, long durationNanos, Throwable error) {
+        if (!settings.getFailurePredicate().test(error)) {
+            // the endpoint has answered, e.g. with 4xx
+            endpoint.onSuccess(durationNanos, latencyDecayNanos);
+            return;
+        }
+        if (endpoint.onFailure() < settings.getConsecutiveFailures()) {
+            return;
+        }
+        List<Endpoint> endpoints = endpoints();
+        long now = settings.getClock().millis();
+        long ejected = endpoints.stream().filter(candidate -> candidate.isEjected(now)).count();
+        if (ejected + 1 <= endpoints.size() * settings.getMaxEjectionRatio()) {
+            endpoint.eject(now + settings.getEjectionDuration().toMillis());
+            log.info("Endpoint {} of {} is ejected for {} after {} consecutive failures", endpoint.getUri(), serviceName,
+                    settings.getEjectionDuration(), settings.getConsecutiveFailures());
+        }
+    }
+
+    private Endpoint choose() {
+        List<Endpoint> endpoints = endpoints();
+        if (endpoints.isEmpty()) {
+            throw new MicroserviceRestClientException("No endpoints of service " + serviceName);
+        }
+        long now = settings.getClock().millis();
+        List<Endpoint> available = endpoints;
+        if (endpoints.stream().anyMatch(endpoint -> endpoint.isEjected(now))) {
+            available = new ArrayList<>(endpoints.size());
+            for (Endpoint endpoint : endpoints) {
+                if (!endpoint.isEjected(now)) {
+                    available.add(endpoint);
+                }
+            }
+            if (available.isEmpty()) {
+                available = endpoints;
+            }
+        }
+        int size = available.size();
+        if (size == 1) {
+            return available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        return Endpoint.lessLoaded(available.get(first), available.get(second));
+    }
+
+    /**
+     * Endpoints matching the current list of the source, statistics of the endpoints kept in the list are preserved.
+     */
+    private List<Endpoint> endpoints() {
+        List<URI> uris = endpointSource.getEndpoints();
+        Snapshot current = snapshot;
+        if (current.uris.equals(uris)) {
+            return current.endpoints;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current.uris.equals(uris)) {
+                return current.endpoints;
+            }
+            Map<URI, Endpoint> existing = new HashMap<>();
+            current.endpoints.forEach(endpoint -> existing.put(endpoint.getUri(), endpoint));
+            List<Endpoint> endpoints = new ArrayList<>(uris.size());
+            for (URI uri : uris) {
+                endpoints.add(existing.getOrDefault(uri, new Endpoint(uri)));
+            }
+            snapshot = new Snapshot(List.copyOf(uris), List.copyOf(endpoints));
+            log.info("Endpoints of {} changed to {}", serviceName, uris);
+            return snapshot.endpoints;
+        }
+    }
+
+    private static class Snapshot {
+        final List<URI> uris;
+        final List<Endpoint> endpoints;
+
+        Snapshot(List<URI> uris, List<Endpoint> endpoints) {
+            this.uris = uris;
+            this.endpoints = endpoints;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RequestTimings;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RequestMetricsListener} which keeps statistics in memory, grouped by host, method, status class and
+ * exception type, without any dependency on a metrics library.
+ */
+public class InMemoryRequestMetrics implements RequestMetricsListener {
+    private final ConcurrentMap<Key, RequestStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InFlightKey, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequestStart(String host, HttpMethod httpMethod) {
+        inFlight.computeIfAbsent(new InFlightKey(host, httpMethod), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @Override
+    public void onRequestEnd(RequestEvent event) {
+        AtomicInteger counter = inFlight.get(new InFlightKey(event.getHost(), event.getHttpMethod()));
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+        Key key = new Key(event.getHost(), event.getHttpMethod(), event.getStatusClass(), event.getExceptionType());
+        stats.computeIfAbsent(key, k -> new RequestStats()).record(event);
+    }
+
+    public Map<Key, RequestStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * @return statistics of the exchanges with given outcome or {@code null} if there were none
+     */
+    public RequestStats getStats(String host, HttpMethod httpMethod, String statusClass, String exceptionType) {
+        return stats.get(new Key(host, httpMethod, statusClass, exceptionType));
+    }
+
+    public int getInFlight(String host, HttpMethod httpMethod) {
+        AtomicInteger counter = inFlight.get(new InFlightKey(host, httpMethod));
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Value
+    public static class Key {
+        String host;
+        HttpMethod httpMethod;
+        String statusClass;
+        String exceptionType;
+    }
+
+    @Value
+    private static class InFlightKey {
+        String host;
+        HttpMethod httpMethod;
+    }
+
+    public static class RequestStats {
+        @Getter
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final Map<RequestTimings.Phase, LatencyHistogram> phases = new EnumMap<>(RequestTimings.Phase.class);
+
+        RequestStats() {
+            for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(RequestEvent event) {
+            latency.record(event.getDurationNanos());
+            for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+                long nanos = event.getTimings().get(phase);
+                if (nanos >= 0) {
+                    phases.get(phase).record(nanos);
+                }
+            }
+            if (event.getRequestBytes() > 0) {
+                requestBytes.add(event.getRequestBytes());
+            }
+            if (event.getResponseBytes() > 0) {
+                responseBytes.add(event.getResponseBytes());
+            }
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return durations of given phase of the exchanges which went through it
+         */
+        public LatencyHistogram getPhaseLatency(RequestTimings.Phase phase) {
+            return phases.get(phase);
+        }
+
+        /**
+         * @return total size of the request bodies of known size
+         */
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        /**
+         * @return total size of the response bodies of known size
+         */
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RequestTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bridge of {@link RequestMetricsListener} to Micrometer. Requires {@code io.micrometer:micrometer-core} on the
+ * classpath, which is an optional dependency of this library.
+ * <p>
+ * Records timer {@code <name>} with percentile histogram, distribution summaries {@code <name>.request.size} and
+ * {@code <name>.response.size} tagged with {@code host}, {@code method}, {@code status} and {@code exception}, and
+ * gauge {@code <name>.active} of in-flight requests tagged with {@code host} and {@code method}, and timer
+ * {@code <name>.phases} tagged with {@code host}, {@code method} and {@code phase} for the measured phases of
+ * {@link RequestTimings}. The name defaults to {@code http.client.requests}.
+ */
+public class MicrometerRequestMetricsListener implements RequestMetricsListener {
+    private final MeterRegistry registry;
+    private final String name;
+    private final ConcurrentMap<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public MicrometerRequestMetricsListener(MeterRegistry registry) {
+        this(registry, "http.client.requests");
+    }
+
+    public MicrometerRequestMetricsListener(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    @Override
+    public void onRequestStart(String host, HttpMethod httpMethod) {
+        inFlight(host, httpMethod).incrementAndGet();
+    }
+
+    @Override
+    public void onRequestEnd(RequestEvent event) {
+        inFlight(event.getHost(), event.getHttpMethod()).decrementAndGet();
+        Tags tags = Tags.of("host", event.getHost(),
+                "method", event.getHttpMethod().name(),
+                "status", event.getStatusClass(),
+                "exception", event.getExceptionType());
+        Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(event.getDurationNanos(), TimeUnit.NANOSECONDS);
+        if (event.getRequestBytes() >= 0) {
+            DistributionSummary.builder(name + ".request.size").baseUnit("bytes").tags(tags).register(registry)
+                    .record(event.getRequestBytes());
+        }
+        if (event.getResponseBytes() >= 0) {
+            DistributionSummary.builder(name + ".response.size").baseUnit("bytes").tags(tags).register(registry)
+                    .record(event.getResponseBytes());
+        }
+        for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+            long nanos = event.getTimings().get(phase);
+            if (nanos >= 0) {
+                Timer.builder(name + ".phases")
+                        .tags("host", event.getHost(), "method", event.getHttpMethod().name(), "phase", phase.name().toLowerCase(Locale.ROOT))
+                        .register(registry)
+                        .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private AtomicInteger inFlight(String host, HttpMethod httpMethod) {
+        return inFlight.computeIfAbsent(Tags.of("host", host, "method", httpMethod.name()), tags -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder(name + ".active", counter, AtomicInteger::get).tags(tags).register(registry);
+            return counter;
+        });
+    }
+}
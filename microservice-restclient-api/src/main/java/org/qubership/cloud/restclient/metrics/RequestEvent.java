@@ -0,0 +1,59 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RequestTimings;
+import lombok.Value;
+
+/**
+ * Outcome of a single HTTP exchange.
+ */
+@Value
+public class RequestEvent {
+    /**
+     * Host of the request, with port if it is given in the request URI.
+     */
+    String host;
+    HttpMethod httpMethod;
+    /**
+     * Status of the response or {@code 0} if no response was received.
+     */
+    int httpStatus;
+    long durationNanos;
+    /**
+     * Size of the request body or {@code -1} if it is unknown.
+     */
+    long requestBytes;
+    /**
+     * Size of the response body or {@code -1} if it is unknown.
+     */
+    long responseBytes;
+    /**
+     * Error the exchange failed with before a response was received, {@code null} otherwise.
+     */
+    Throwable error;
+    /**
+     * Phases of the exchange, those not measured by the transport are {@code -1}.
+     */
+    RequestTimings timings;
+
+    /**
+     * @return {@code 1xx} to {@code 5xx}, or {@code NONE} if no response was received
+     */
+    public String getStatusClass() {
+        return httpStatus >= 100 && httpStatus < 600 ? httpStatus / 100 + "xx" : "NONE";
+    }
+
+    /**
+     * @return simple class name of the root cause of the error, or {@code none}
+     */
+    public String getExceptionType() {
+        if (error == null) {
+            return "none";
+        }
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
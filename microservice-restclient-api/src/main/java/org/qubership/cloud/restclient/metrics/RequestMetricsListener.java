@@ -0,0 +1,22 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HttpMethod;
+
+/**
+ * Listener of HTTP exchanges performed by a client, e.g. {@link InMemoryRequestMetrics} or
+ * {@link MicrometerRequestMetricsListener}. Every exchange, including retried attempts, is reported once started
+ * and once ended. Listeners are called on I/O threads and must not block.
+ */
+public interface RequestMetricsListener {
+    RequestMetricsListener NONE = new RequestMetricsListener() {
+    };
+
+    /**
+     * @param host host and port of the request, see {@link RequestEvent#getHost()}
+     */
+    default void onRequestStart(String host, HttpMethod httpMethod) {
+    }
+
+    default void onRequestEnd(RequestEvent event) {
+    }
+}
@@ -0,0 +1,123 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HeaderValues;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measurement of a single exchange used by client implementations to report it to {@link RequestMetricsListener}.
+ * Failures of the listener are logged and never affect the request.
+ */
+@Slf4j
+public final class RequestSample {
+    private final RequestMetricsListener listener;
+    private final String host;
+    private final HttpMethod httpMethod;
+    private final long startTime;
+    private final RequestTimingsRecorder timings;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private RequestSample(RequestMetricsListener listener, String host, HttpMethod httpMethod, RequestTimingsRecorder timings) {
+        this.listener = listener;
+        this.host = host;
+        this.httpMethod = httpMethod;
+        this.startTime = System.nanoTime();
+        this.timings = timings;
+    }
+
+    public static RequestSample start(RequestMetricsListener listener, URI uri, HttpMethod httpMethod) {
+        return start(listener, uri, httpMethod, new RequestTimingsRecorder());
+    }
+
+    /**
+     * @param timings recorder the transport reports phases of the exchange to
+     */
+    public static RequestSample start(RequestMetricsListener listener, URI uri, HttpMethod httpMethod, RequestTimingsRecorder timings) {
+        RequestSample sample = new RequestSample(listener, host(uri), httpMethod, timings);
+        try {
+            listener.onRequestStart(sample.host, httpMethod);
+        } catch (RuntimeException e) {
+            log.warn("Request metrics listener failed", e);
+        }
+        return sample;
+    }
+
+    public RequestTimingsRecorder getTimings() {
+        return timings;
+    }
+
+    public static String host(URI uri) {
+        return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * @return size of the request body if it is known before the body is written, {@code -1} otherwise
+     */
+    public static long requestSize(Object requestBody) {
+        if (requestBody == null) {
+            return 0;
+        }
+        if (requestBody instanceof byte[]) {
+            return ((byte[]) requestBody).length;
+        }
+        if (requestBody instanceof StreamingRequestBody) {
+            return ((StreamingRequestBody) requestBody).getContentLength();
+        }
+        return -1;
+    }
+
+    /**
+     * @return {@code Content-Length} of the response, size of a byte array body or {@code -1} if it is unknown
+     */
+    public static long responseSize(Map<String, List<String>> headers, Object responseBody) {
+        String contentLength = HeaderValues.getFirst(headers, "Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        return responseBody instanceof byte[] ? ((byte[]) responseBody).length : -1;
+    }
+
+    public void stop(RestClientResponseEntity<?> response, long requestBytes) {
+        stop(response.getHttpStatus(), requestBytes, responseSize(response.getHeaders(), response.getResponseBody()), null);
+    }
+
+    /**
+     * Reports the failed exchange, error responses are reported as responses.
+     */
+    public void stop(Throwable error, long requestBytes) {
+        if (error instanceof MicroserviceRestClientResponseException) {
+            MicroserviceRestClientResponseException responseException = (MicroserviceRestClientResponseException) error;
+            stop(responseException.getHttpStatus(), requestBytes,
+                    responseSize(responseException.getResponseHeaders(), responseException.getResponseBody()), null);
+        } else {
+            stop(0, requestBytes, -1, error);
+        }
+    }
+
+    /**
+     * Reports the exchange, calls after the first one are ignored.
+     */
+    public void stop(int httpStatus, long requestBytes, long responseBytes, Throwable error) {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            listener.onRequestEnd(new RequestEvent(host, httpMethod, httpStatus, System.nanoTime() - startTime,
+                    requestBytes, responseBytes, error, timings.toTimings()));
+        } catch (RuntimeException e) {
+            log.warn("Request metrics listener failed", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.entity.RequestTimings;
+
+/**
+ * Collects phase timestamps of a single exchange from transport callbacks, which may be invoked on different
+ * threads, see {@link RequestTimings}.
+ */
+public final class RequestTimingsRecorder {
+    private static final long NOT_SET = Long.MIN_VALUE;
+
+    private volatile long dnsNanos = -1;
+    private volatile long connectNanos = -1;
+    private volatile long tlsNanos = -1;
+    private volatile long connectStartedAt = NOT_SET;
+    private volatile long requestStartedAt = NOT_SET;
+    private volatile long headersReceivedAt = NOT_SET;
+    private volatile long bodyReceivedAt = NOT_SET;
+
+    /**
+     * Sets connection phases measured by the transport, {@code -1} for the phases which did not happen.
+     */
+    public void connectionEstablished(long dnsNanos, long connectNanos, long tlsNanos) {
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+    }
+
+    public void addDnsTime(long nanos) {
+        dnsNanos = Math.max(dnsNanos, 0) + nanos;
+    }
+
+    public void addTlsTime(long nanos) {
+        tlsNanos = Math.max(tlsNanos, 0) + nanos;
+    }
+
+    /**
+     * Marks the start of connection establishment for transports which do not measure connect time on their own.
+     * Connect time is then the time until {@link #requestStarted()} without DNS and TLS time, provided a new
+     * connection was resolved.
+     */
+    public void connectStarted() {
+        connectStartedAt = System.nanoTime();
+    }
+
+    public void requestStarted() {
+        requestStartedAt = System.nanoTime();
+    }
+
+    public void headersReceived() {
+        headersReceivedAt = System.nanoTime();
+    }
+
+    public void bodyReceived() {
+        bodyReceivedAt = System.nanoTime();
+    }
+
+    public RequestTimings toTimings() {
+        long dns = dnsNanos;
+        long tls = tlsNanos;
+        long connect = connectNanos;
+        long requestStarted = requestStartedAt;
+        long headersReceived = headersReceivedAt;
+        long bodyReceived = bodyReceivedAt;
+        if (connect < 0 && dns >= 0 && connectStartedAt != NOT_SET && requestStarted != NOT_SET) {
+            connect = Math.max(0, requestStarted - connectStartedAt - dns - Math.max(tls, 0));
+        }
+        long timeToFirstByte = requestStarted != NOT_SET && headersReceived != NOT_SET ? headersReceived - requestStarted : -1;
+        long body = headersReceived != NOT_SET && bodyReceived != NOT_SET ? bodyReceived - headersReceived : -1;
+        return new RequestTimings(dns, connect, tls, timeToFirstByte, body);
+    }
+}
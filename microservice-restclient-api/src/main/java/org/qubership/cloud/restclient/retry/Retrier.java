@@ -0,0 +1,88 @@
+package org.qubership.cloud.restclient.retry;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link RetryPolicy} with a {@link RetryBudget} of a single client.
+ */
+@Slf4j
+public class Retrier {
+    @Getter
+    private final RetryPolicy policy;
+    @Getter
+    private final RetryBudget budget;
+
+    public Retrier(RetryPolicy policy) {
+        this.policy = policy;
+        this.budget = policy.newRetryBudget();
+    }
+
+    public boolean canRetry(HttpMethod httpMethod, Object requestBody) {
+        return policy.canRetry(httpMethod, requestBody);
+    }
+
+    /**
+     * Registers a request in the budget. Must be called once per request, not per attempt.
+     */
+    public void onRequest() {
+        budget.onRequest();
+    }
+
+    /**
+     * @param retry number of the retry starting from {@code 1}
+     * @return delay before the retry or {@code null} if the request must not be retried
+     */
+    public Duration nextRetryDelay(int retry, Throwable failure) {
+        if (retry >= policy.getMaxAttempts() || !policy.isRetryableFailure(failure)) {
+            return null;
+        }
+        Duration delay = policy.delayBeforeRetry(retry, failure);
+        if (delay == null) {
+            return null;
+        }
+        if (!budget.tryAcquireRetry()) {
+            log.debug("Retry budget is exhausted, request is not retried: {}", failure.getMessage());
+            return null;
+        }
+        return delay;
+    }
+
+    /**
+     * Performs blocking call with retries.
+     */
+    public <T> T execute(HttpMethod httpMethod, Object requestBody, Supplier<T> call) {
+        if (!canRetry(httpMethod, requestBody)) {
+            return call.get();
+        }
+        onRequest();
+        for (int retry = 1; ; retry++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                Duration delay = nextRetryDelay(retry, e);
+                if (delay == null) {
+                    throw e;
+                }
+                log.debug("Retry #{} of {} request in {} ms: {}", retry, httpMethod, delay.toMillis(), e.getMessage());
+                sleep(delay, e);
+            }
+        }
+    }
+
+    private static void sleep(Duration delay, RuntimeException failure) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            MicroserviceRestClientException interrupted = new MicroserviceRestClientException("Interrupted while waiting to retry", e);
+            interrupted.addSuppressed(failure);
+            throw interrupted;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.qubership.cloud.restclient.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries of a client to a ratio of its requests. Every request deposits {@code ratio} of a retry, every
+ * retry withdraws a whole one. The balance starts with and never exceeds {@code minRetries}, so that a client
+ * can retry occasional failures at any request rate, while under a downstream failure retries add at most
+ * {@code ratio} to the load.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int minRetries) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must not be negative: " + ratio);
+        }
+        this.depositPerRequest = (long) (ratio * SCALE);
+        this.capacity = Math.max(minRetries * SCALE, depositPerRequest);
+        this.balance = new AtomicLong(minRetries * SCALE);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(capacity, current + deposit));
+    }
+
+    /**
+     * @return {@code true} if the budget allows one more retry, which is withdrawn from it
+     */
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double getAvailableRetries() {
+        return (double) balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,123 @@
+package org.qubership.cloud.restclient.retry;
+
+import org.qubership.cloud.restclient.HeaderValues;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry settings honoured by both {@code MicroserviceRestTemplate} and {@code MicroserviceWebClient}.
+ * <p>
+ * Only requests with idempotent methods and repeatable bodies are retried, on I/O errors, transport timeouts and on
+ * responses with one of {@link #retryableStatuses}. Delay between attempts grows exponentially with random jitter, a
+ * {@code Retry-After} response header takes precedence. Retries of a client are limited by {@link RetryBudget},
+ * so they cannot multiply the load on a struggling downstream service.
+ */
+@Getter
+@Builder
+@ToString
+public class RetryPolicy {
+    /**
+     * Max number of attempts including the first one.
+     */
+    @Builder.Default
+    private final int maxAttempts = 3;
+    @Builder.Default
+    private final Duration initialBackoff = Duration.ofMillis(100);
+    @Builder.Default
+    private final Duration maxBackoff = Duration.ofSeconds(2);
+    @Builder.Default
+    private final double backoffMultiplier = 2;
+    /**
+     * Part of the backoff which is randomized, from {@code 0} (no jitter) to {@code 1} (delay is anywhere
+     * between zero and the backoff).
+     */
+    @Builder.Default
+    private final double jitter = 0.5;
+    @Builder.Default
+    private final Set<Integer> retryableStatuses = Set.of(429, 502, 503, 504);
+    @Builder.Default
+    private final Set<HttpMethod> idempotentMethods = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+            HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+    @Builder.Default
+    private final boolean respectRetryAfter = true;
+    /**
+     * Requests are not retried if the server asks to wait for longer than this with {@code Retry-After}.
+     */
+    @Builder.Default
+    private final Duration maxRetryAfter = Duration.ofSeconds(10);
+    /**
+     * Max number of retries relative to the number of requests of a client, see {@link RetryBudget}.
+     */
+    @Builder.Default
+    private final double retryBudgetRatio = 0.1;
+    /**
+     * Number of retries a client may perform regardless of {@link #retryBudgetRatio}, e.g. on start up or at low
+     * request rate.
+     */
+    @Builder.Default
+    private final int retryBudgetMinRetries = 10;
+
+    public boolean canRetry(HttpMethod httpMethod, Object requestBody) {
+        if (maxAttempts < 2 || !idempotentMethods.contains(httpMethod)) {
+            return false;
+        }
+        return !(requestBody instanceof StreamingRequestBody) || ((StreamingRequestBody) requestBody).isRepeatable();
+    }
+
+    public boolean isRetryableFailure(Throwable failure) {
+        if (failure instanceof MicroserviceRestClientResponseException) {
+            return retryableStatuses.contains(((MicroserviceRestClientResponseException) failure).getHttpStatus());
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            // netty timeouts of WebClient are not IOExceptions, unlike SocketTimeoutException of RestTemplate
+            if (cause instanceof IOException || cause.getClass().getSimpleName().endsWith("TimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param retry number of the retry starting from {@code 1}
+     * @return delay before the retry or {@code null} if server asked to wait for longer than {@link #maxRetryAfter}
+     */
+    public Duration delayBeforeRetry(int retry, Throwable failure) {
+        if (respectRetryAfter && failure instanceof MicroserviceRestClientResponseException) {
+            Duration retryAfter = parseRetryAfter(HeaderValues.getFirst(
+                    ((MicroserviceRestClientResponseException) failure).getResponseHeaders(), "Retry-After"));
+            if (retryAfter != null) {
+                return retryAfter.compareTo(maxRetryAfter) > 0 ? null : retryAfter;
+            }
+        }
+        double backoff = initialBackoff.toMillis() * Math.pow(backoffMultiplier, retry - 1);
+        backoff = Math.min(backoff, maxBackoff.toMillis());
+        backoff -= backoff * jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis((long) backoff);
+    }
+
+    public RetryBudget newRetryBudget() {
+        return new RetryBudget(retryBudgetRatio, retryBudgetMinRetries);
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            long date = HeaderValues.parseDate(value.trim());
+            return date < 0 ? null : Duration.ofMillis(Math.max(0, date - System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.qubership.cloud.restclient;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CompiledUriTemplateTest {
+
+    @Test
+    public void testExpand() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile("http://items-service:8080/items/{id}?view={view}&name={name}");
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", 42);
+        params.put("view", "full");
+        params.put("name", "item with spaces & symbols/=?");
+
+        URI uri = template.expand(params);
+
+        assertEquals("http://items-service:8080/items/42?view=full&name=item%20with%20spaces%20%26%20symbols%2F%3D%3F", uri.toString());
+        assertEquals("item with spaces & symbols/=?", splitQuery(uri).get("name"));
+        assertEquals(Set.of("id", "view", "name"), template.getVariableNames());
+    }
+
+    @Test
+    public void testValuesAreEncodedAsUtf8() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile("/files/{name}");
+
+        assertEquals("/files/caf%C3%A9%20%F0%9F%98%80.txt", template.expand(Map.of("name", "caf\u00e9 \ud83d\ude00.txt")).toString());
+    }
+
+    @Test
+    public void testLiteralsKeepReservedCharacters() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile("/search files/{id}?q=a+b&sort=name:asc#top");
+
+        assertEquals("/search%20files/1?q=a+b&sort=name:asc#top", template.expand(Map.of("id", 1)).toString());
+    }
+
+    @Test
+    public void testRegexAndRepeatedVariables() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile("/{version:v\\d{1,2}}/items/{id}/copies/{id}");
+        Map<String, Object> params = new HashMap<>();
+        params.put("version", "v1");
+        params.put("id", null);
+
+        assertEquals("/v1/items//copies/", template.expand(params).toString());
+        assertEquals(List.of("version", "id"), List.copyOf(template.getVariableNames()));
+    }
+
+    @Test
+    public void testInvalidTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledUriTemplate.compile("/items/{id"));
+        CompiledUriTemplate template = CompiledUriTemplate.compile("/items/{id}");
+        assertThrows(IllegalArgumentException.class, () -> template.expand(Map.of("other", 1)));
+        assertThrows(IllegalArgumentException.class, () -> template.expand(null));
+        assertEquals("/items", CompiledUriTemplate.compile("/items").expand(null).toString());
+    }
+
+    private static Map<String, String> splitQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : uri.getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(pair[0], URLDecoder.decode(pair[1].replace("+", "%2B"), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,76 @@
+package org.qubership.cloud.restclient;
+
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestSpec;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+public class MicroserviceRestClientTest {
+
+    /**
+     * Client which implements only the blocking methods, as implementations written before the non-blocking and
+     * streaming methods were added.
+     */
+    private final MicroserviceRestClient client = new MicroserviceRestClient() {
+        @Override
+        public <T> RestClientResponseEntity<T> doRequest(String url, HttpMethod httpMethod, Map<String, List<String>> headers,
+                                                         Object requestBody, Class<T> responseClass, Map<String, Object> params) {
+            return doRequest(URI.create(url), httpMethod, headers, requestBody, responseClass);
+        }
+
+        @Override
+        public <T> RestClientResponseEntity<T> doRequest(String url, HttpMethod httpMethod, Map<String, List<String>> headers,
+                                                         Object requestBody, Class<T> responseClass) {
+            return doRequest(URI.create(url), httpMethod, headers, requestBody, responseClass);
+        }
+
+        @Override
+        public <T> RestClientResponseEntity<T> doRequest(URI uri, HttpMethod httpMethod, Map<String, List<String>> headers,
+                                                         Object requestBody, Class<T> responseClass) {
+            if (uri.getPath().equals("/missing")) {
+                throw new MicroserviceRestClientException("Not found");
+            }
+            Object body = responseClass == byte[].class ? uri.getPath().getBytes(StandardCharsets.UTF_8) : uri.getPath();
+            return new RestClientResponseEntity<>(responseClass.cast(body), 200, Map.of());
+        }
+    };
+
+    @Test
+    public void testDefaultAsyncDelegatesToBlockingVariant() {
+        CompletableFuture<RestClientResponseEntity<String>> response =
+                client.doRequestAsync(URI.create("http://service/items"), HttpMethod.GET, null, null, String.class);
+        assertEquals("/items", response.join().getResponseBody());
+
+        CompletableFuture<RestClientResponseEntity<String>> failed =
+                client.doRequestAsync("http://service/missing", HttpMethod.GET, null, null, String.class);
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertTrue(e.getCause() instanceof MicroserviceRestClientException);
+    }
+
+    @Test
+    public void testDefaultStreamAndBulkRequests() throws IOException {
+        try (RestClientStreamingResponse response =
+                     client.doRequestForStream(URI.create("http://service/items"), HttpMethod.GET, null, null)) {
+            assertEquals(200, response.getHttpStatus());
+            assertEquals("/items", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        List<RequestResult<String>> results = client.doRequests(List.of(
+                RequestSpec.of(URI.create("http://service/first"), HttpMethod.GET, null, null, String.class),
+                RequestSpec.of(URI.create("http://service/missing"), HttpMethod.GET, null, null, String.class)), 2);
+        assertEquals("/first", results.get(0).getResponseOrThrow().getResponseBody());
+        assertFalse(results.get(1).isSuccess());
+    }
+}
@@ -0,0 +1,256 @@
+package org.qubership.cloud.restclient.cache;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingMicroserviceRestClientTest {
+    private static final URI URI_1 = URI.create("http://localhost/items/1");
+    private static final URI URI_2 = URI.create("http://localhost/items/2");
+
+    private MicroserviceRestClient delegate;
+    private MutableClock clock;
+    private CachingMicroserviceRestClient client;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+        clock = new MutableClock();
+        client = new CachingMicroserviceRestClient(delegate, CacheSettings.builder().clock(clock).build());
+    }
+
+    @Test
+    public void testFreshResponseIsServedFromCache() {
+        RestClientResponseEntity<String> response = response("body", 200, "Cache-Control", "max-age=60");
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(response);
+
+        assertSame(response, client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class));
+        clock.advance(59_000);
+        assertSame(response, client.doRequest(URI_1.toString(), HttpMethod.GET, new HashMap<>(), null, String.class));
+
+        verify(delegate, times(1)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        CacheStats stats = client.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getEntryCount());
+        assertEquals(0.5, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testExpiredResponseIsRequestedAgain() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("first", 200, "Cache-Control", "max-age=1"))
+                .thenReturn(response("second", 200, "Cache-Control", "max-age=1"));
+
+        assertEquals("first", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        clock.advance(1_000);
+        assertEquals("second", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        assertEquals(2, client.getStats().getMissCount());
+    }
+
+    @Test
+    public void testNoStoreResponseIsNotCached() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("body", 200, "Cache-Control", "no-store, max-age=60"));
+
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(0, client.getStats().getEntryCount());
+    }
+
+    @Test
+    public void testPrivateResponseIsNotCached() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("body", 200, "Cache-Control", "private, max-age=60"));
+
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(0, client.getStats().getEntryCount());
+    }
+
+    @Test
+    public void testAuthorizedResponseIsCachedOnlyIfPublic() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("first user", 200, "Cache-Control", "max-age=60"))
+                .thenReturn(response("second user", 200, "Cache-Control", "max-age=60"));
+        when(delegate.doRequest(eq(URI_2), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("shared", 200, "Cache-Control", "public, max-age=60"));
+
+        assertEquals("first user", client.doRequest(URI_1, HttpMethod.GET, headers("Authorization", "Bearer first"), null, String.class).getResponseBody());
+        assertEquals("second user", client.doRequest(URI_1, HttpMethod.GET, headers("Authorization", "Bearer second"), null, String.class).getResponseBody());
+        assertEquals("shared", client.doRequest(URI_2, HttpMethod.GET, headers("Authorization", "Bearer first"), null, String.class).getResponseBody());
+        assertEquals("shared", client.doRequest(URI_2, HttpMethod.GET, headers("Authorization", "Bearer second"), null, String.class).getResponseBody());
+
+        verify(delegate, times(1)).doRequest(eq(URI_2), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(1, client.getStats().getEntryCount());
+    }
+
+    @Test
+    public void testNonGetRequestIsNotCached() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.POST), anyMap(), any(), eq(String.class)))
+                .thenReturn(response("body", 200, "Cache-Control", "max-age=60"));
+
+        client.doRequest(URI_1, HttpMethod.POST, new HashMap<>(), "request", String.class);
+        client.doRequest(URI_1, HttpMethod.POST, new HashMap<>(), "request", String.class);
+
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.POST), anyMap(), any(), eq(String.class));
+        assertEquals(0, client.getStats().getRequestCount());
+    }
+
+    @Test
+    public void testNotModifiedResponseReusesCachedBody() {
+        RestClientResponseEntity<String> notModified = response(null, 304, "Cache-Control", "max-age=60");
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("body", 200, "ETag", "\"v1\""))
+                .thenReturn(notModified);
+
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        RestClientResponseEntity<String> revalidated = client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        assertEquals("body", revalidated.getResponseBody());
+        assertEquals(200, revalidated.getHttpStatus());
+        assertEquals(Collections.singletonList("\"v1\""), revalidated.getHeaders().get("etag"));
+        verify(delegate).doRequest(eq(URI_1), eq(HttpMethod.GET),
+                argThat(headers -> Collections.singletonList("\"v1\"").equals(headers.get("If-None-Match"))),
+                isNull(), eq(String.class));
+
+        // 304 made the entry fresh for max-age
+        assertEquals("body", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(1, client.getStats().getRevalidatedCount());
+        assertEquals(1, client.getStats().getHitCount());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() {
+        CompletableFuture<RestClientResponseEntity<String>> refresh = new CompletableFuture<>();
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("stale", 200, "Cache-Control", "max-age=1, stale-while-revalidate=30"));
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(refresh);
+
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        clock.advance(5_000);
+        assertEquals("stale", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        assertEquals("stale", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        verify(delegate, times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+
+        refresh.complete(response("fresh", 200, "Cache-Control", "max-age=60"));
+        assertEquals("fresh", client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+        assertEquals(2, client.getStats().getStaleHitCount());
+        assertEquals(1, client.getStats().getHitCount());
+    }
+
+    @Test
+    public void testVary() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("en", 200, "Cache-Control", "max-age=60", "Vary", "Accept-Language"))
+                .thenReturn(response("de", 200, "Cache-Control", "max-age=60", "Vary", "Accept-Language"));
+
+        assertEquals("en", client.doRequest(URI_1, HttpMethod.GET, headers("Accept-Language", "en"), null, String.class).getResponseBody());
+        assertEquals("en", client.doRequest(URI_1, HttpMethod.GET, headers("accept-language", "en"), null, String.class).getResponseBody());
+        assertEquals("de", client.doRequest(URI_1, HttpMethod.GET, headers("Accept-Language", "de"), null, String.class).getResponseBody());
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        client = new CachingMicroserviceRestClient(delegate, CacheSettings.builder()
+                .clock(clock)
+                .maxBytes(150)
+                .weigher(response -> 100)
+                .build());
+        when(delegate.doRequest(any(URI.class), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(response("body", 200, "Cache-Control", "max-age=60"));
+
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        client.doRequest(URI_2, HttpMethod.GET, new HashMap<>(), null, String.class);
+        client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        CacheStats stats = client.getStats();
+        assertEquals(2, stats.getEvictionCount());
+        assertEquals(1, stats.getEntryCount());
+        assertEquals(100, stats.getBytesHeld());
+    }
+
+    @Test
+    public void testAsyncRequestIsServedFromCache() throws Exception {
+        RestClientResponseEntity<String> response = response("body", 200, "Cache-Control", "max-age=60");
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(response, client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get());
+        assertSame(response, client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get());
+        verify(delegate, times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        verify(delegate, never()).doRequest(any(URI.class), any(), anyMap(), any(), any());
+    }
+
+    private static RestClientResponseEntity<String> response(String body, int status, String... headers) {
+        return new RestClientResponseEntity<>(body, status, headers(headers));
+    }
+
+    private static Map<String, List<String>> headers(String... headers) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            result.put(headers[i], Collections.singletonList(headers[i + 1]));
+        }
+        return result;
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
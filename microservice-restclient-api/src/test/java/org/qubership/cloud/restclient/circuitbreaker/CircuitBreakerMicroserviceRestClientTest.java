@@ -0,0 +1,258 @@
+package org.qubership.cloud.restclient.circuitbreaker;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.CircuitBreakerOpenException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CircuitBreakerMicroserviceRestClientTest {
+    private static final URI URI_1 = URI.create("http://service-a:8080/items/1");
+    private static final URI URI_2 = URI.create("http://service-a:8080/items/2");
+    private static final URI OTHER_URI = URI.create("http://service-b:8080/items/1");
+
+    private MicroserviceRestClient delegate;
+    private MutableClock clock;
+    private CircuitBreakerMicroserviceRestClient client;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+        clock = new MutableClock();
+        client = new CircuitBreakerMicroserviceRestClient(delegate, settings().build());
+    }
+
+    private CircuitBreakerSettings.CircuitBreakerSettingsBuilder settings() {
+        return CircuitBreakerSettings.builder()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(0.5)
+                .openDuration(Duration.ofSeconds(30))
+                .permittedCallsInHalfOpenState(2)
+                .clock(clock);
+    }
+
+    @Test
+    public void testCircuitOpensOnFailureRateAndFailsFast() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new RestClientResponseEntity<>("body", 200));
+        when(delegate.doRequest(eq(URI_2), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(serverError());
+
+        request(URI_1);
+        request(URI_1);
+        assertFails(URI_2, MicroserviceRestClientResponseException.class);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(URI_1).getState());
+        assertFails(URI_2, MicroserviceRestClientResponseException.class);
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker(URI_1).getState());
+
+        assertFails(URI_1, CircuitBreakerOpenException.class);
+        verify(delegate, times(2)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(1, client.getCircuitBreakers().size());
+    }
+
+    @Test
+    public void testCircuitIsPerDestination() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenThrow(serverError());
+        when(delegate.doRequest(eq(OTHER_URI), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new RestClientResponseEntity<>("body", 200));
+
+        for (int i = 0; i < 4; i++) {
+            assertFails(URI_1, MicroserviceRestClientResponseException.class);
+        }
+        assertFails(URI_1, CircuitBreakerOpenException.class);
+        assertEquals("body", request(OTHER_URI).getResponseBody());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(OTHER_URI).getState());
+    }
+
+    @Test
+    public void testClientErrorsAreNotFailures() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(new MicroserviceRestClientResponseException("not found", 404, new byte[0], Collections.emptyMap()));
+
+        for (int i = 0; i < 10; i++) {
+            assertFails(URI_1, MicroserviceRestClientResponseException.class);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(URI_1).getState());
+        assertEquals(0, client.getCircuitBreaker(URI_1).getFailureRate(), 0.0001);
+    }
+
+    @Test
+    public void testHalfOpenClosesAfterSuccessfulProbes() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(serverError(), serverError(), serverError(), serverError())
+                .thenReturn(new RestClientResponseEntity<>("body", 200));
+        for (int i = 0; i < 4; i++) {
+            assertFails(URI_1, MicroserviceRestClientResponseException.class);
+        }
+        clock.advance(29_000);
+        assertFails(URI_1, CircuitBreakerOpenException.class);
+
+        clock.advance(1_000);
+        request(URI_1);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, client.getCircuitBreaker(URI_1).getState());
+        request(URI_1);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(URI_1).getState());
+        assertEquals(-1, client.getCircuitBreaker(URI_1).getFailureRate(), 0.0001);
+    }
+
+    @Test
+    public void testHalfOpenReopensOnFailedProbe() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenThrow(serverError());
+        for (int i = 0; i < 4; i++) {
+            assertFails(URI_1, MicroserviceRestClientResponseException.class);
+        }
+        clock.advance(30_000);
+        assertFails(URI_1, MicroserviceRestClientResponseException.class);
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker(URI_1).getState());
+        assertFails(URI_1, CircuitBreakerOpenException.class);
+        verify(delegate, times(5)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testHalfOpenLimitsProbes() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", settings().build());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onError(0, serverError());
+        }
+        clock.advance(30_000);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(false, circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testSlowCallsOpenCircuit() {
+        client = new CircuitBreakerMicroserviceRestClient(delegate, settings()
+                .slowCallDuration(Duration.ZERO)
+                .slowCallRateThreshold(0.75)
+                .build());
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new RestClientResponseEntity<>("body", 200));
+
+        for (int i = 0; i < 4; i++) {
+            request(URI_1);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker(URI_1).getState());
+    }
+
+    @Test
+    public void testAsyncFailuresAreRecorded() throws Exception {
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(CompletableFuture.failedFuture(serverError()));
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get();
+                fail("Exception expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof MicroserviceRestClientResponseException);
+            }
+        }
+        try {
+            client.doRequestAsync(URI_1.toString(), HttpMethod.GET, new HashMap<>(), null, String.class).get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+            assertEquals("http://service-a:8080", ((CircuitBreakerOpenException) e.getCause()).getDestination());
+        }
+        verify(delegate, times(4)).doRequestAsync(any(URI.class), any(), anyMap(), any(), any());
+    }
+
+    @Test
+    public void testSynchronousAsyncFailureIsReturnedAsFuture() throws Exception {
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(serverError());
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get();
+                fail("Exception expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof MicroserviceRestClientResponseException);
+            }
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker(URI_1).getState());
+    }
+
+    @Test
+    public void testCancellationReachesDelegate() {
+        CompletableFuture<RestClientResponseEntity<String>> exchange = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(exchange);
+
+        client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).cancel(true);
+        assertTrue(exchange.isCancelled());
+    }
+
+    private RestClientResponseEntity<String> request(URI uri) {
+        return client.doRequest(uri, HttpMethod.GET, new HashMap<>(), null, String.class);
+    }
+
+    private void assertFails(URI uri, Class<? extends Exception> exceptionClass) {
+        try {
+            request(uri);
+            fail("Exception expected");
+        } catch (RuntimeException e) {
+            assertEquals(exceptionClass, e.getClass());
+        }
+    }
+
+    private static MicroserviceRestClientResponseException serverError() {
+        return new MicroserviceRestClientResponseException("unavailable", 503, new byte[0], Collections.emptyMap());
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
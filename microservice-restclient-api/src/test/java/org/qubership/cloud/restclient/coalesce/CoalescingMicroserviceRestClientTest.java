@@ -0,0 +1,158 @@
+package org.qubership.cloud.restclient.coalesce;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CoalescingMicroserviceRestClientTest {
+    private static final URI URI_1 = URI.create("http://localhost/items/1");
+
+    private MicroserviceRestClient delegate;
+    private CoalescingMicroserviceRestClient client;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+        client = new CoalescingMicroserviceRestClient(delegate);
+    }
+
+    @Test
+    public void testConcurrentBlockingRequestsShareExchange() throws Exception {
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("body", 200);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<RestClientResponseEntity<String>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.getCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<RestClientResponseEntity<String>> result : results) {
+                assertSame(response, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(callers - 1, client.getCoalescedCount());
+        assertEquals(0, client.getInFlightCount());
+    }
+
+    @Test
+    public void testAsyncRequestsShareExchange() throws Exception {
+        CompletableFuture<RestClientResponseEntity<String>> exchange = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(exchange);
+
+        CompletableFuture<RestClientResponseEntity<String>> first = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        CompletableFuture<RestClientResponseEntity<String>> second = client.doRequestAsync(URI_1.toString(), HttpMethod.GET, new HashMap<>(), null, String.class);
+        second.cancel(false);
+        CompletableFuture<RestClientResponseEntity<String>> third = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("body", 200);
+        exchange.complete(response);
+        assertSame(response, first.get());
+        assertSame(response, third.get());
+        verify(delegate, times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(0, client.getInFlightCount());
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotRemembered() throws Exception {
+        CompletableFuture<RestClientResponseEntity<String>> exchange = new CompletableFuture<>();
+        MicroserviceRestClientException failure = new MicroserviceRestClientException("failed");
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(exchange)
+                .thenReturn(CompletableFuture.completedFuture(new RestClientResponseEntity<>("body", 200)));
+
+        CompletableFuture<RestClientResponseEntity<String>> first = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        CompletableFuture<RestClientResponseEntity<String>> second = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        exchange.completeExceptionally(failure);
+        for (CompletableFuture<RestClientResponseEntity<String>> result : List.of(first, second)) {
+            try {
+                result.get();
+                fail("Exception expected");
+            } catch (ExecutionException e) {
+                assertSame(failure, e.getCause());
+            }
+        }
+
+        assertEquals("body", client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get().getResponseBody());
+        verify(delegate, times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testRequestsWithDifferentKeyHeadersAreNotCoalesced() {
+        CompletableFuture<RestClientResponseEntity<String>> exchange = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(exchange);
+
+        client.doRequestAsync(URI_1, HttpMethod.GET, headers("Authorization", "Bearer a"), null, String.class);
+        client.doRequestAsync(URI_1, HttpMethod.GET, headers("authorization", "Bearer a", "X-Request-Id", "1"), null, String.class);
+        client.doRequestAsync(URI_1, HttpMethod.GET, headers("Authorization", "Bearer b"), null, String.class);
+
+        verify(delegate, times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(1, client.getCoalescedCount());
+    }
+
+    @Test
+    public void testNonIdempotentRequestsAreNotCoalesced() {
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.POST), anyMap(), any(), eq(String.class))).thenReturn(new CompletableFuture<>());
+
+        client.doRequestAsync(URI_1, HttpMethod.POST, new HashMap<>(), "body", String.class);
+        client.doRequestAsync(URI_1, HttpMethod.POST, new HashMap<>(), "body", String.class);
+
+        verify(delegate, times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.POST), anyMap(), any(), eq(String.class));
+        assertEquals(0, client.getInFlightCount());
+    }
+
+    private static Map<String, List<String>> headers(String... headers) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            result.put(headers[i], Collections.singletonList(headers[i + 1]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package org.qubership.cloud.restclient.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JacksonBodyCodecTest {
+
+    @Test
+    public void testJsonContentTypes() {
+        assertTrue(JacksonBodyCodec.isJson(null));
+        assertTrue(JacksonBodyCodec.isJson("application/json"));
+        assertTrue(JacksonBodyCodec.isJson("Application/JSON; charset=UTF-8"));
+        assertTrue(JacksonBodyCodec.isJson(" application/json "));
+        assertTrue(JacksonBodyCodec.isJson("application/problem+json"));
+        assertTrue(JacksonBodyCodec.isJson("application/vnd.api+json;charset=utf-8"));
+        assertFalse(JacksonBodyCodec.isJson("text/plain"));
+        assertFalse(JacksonBodyCodec.isJson("application/jsonx"));
+        assertFalse(JacksonBodyCodec.isJson("text/x+json"));
+        assertFalse(JacksonBodyCodec.isJson("application/+json"));
+        assertFalse(JacksonBodyCodec.isJson(""));
+    }
+
+    @Test
+    public void testSupportedTypes() {
+        JacksonBodyCodec codec = new JacksonBodyCodec();
+
+        assertTrue(codec.canRead(Item.class, "application/json"));
+        assertTrue(codec.canRead(Map.class, null));
+        assertTrue(codec.canWrite(List.class, "application/problem+json"));
+        assertFalse(codec.canRead(Item.class, "application/xml"));
+        assertFalse(codec.canRead(String.class, "application/json"));
+        assertFalse(codec.canRead(byte[].class, "application/json"));
+        assertFalse(codec.canRead(Void.class, "application/json"));
+        assertFalse(codec.canRead(InputStream.class, "application/json"));
+        assertFalse(codec.canWrite(StringBuilder.class, "application/json"));
+        assertFalse(codec.canWrite(Path.of("item.json").getClass(), "application/json"));
+        assertFalse(codec.canWrite(StreamingRequestBody.class, null));
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        JacksonBodyCodec codec = new JacksonBodyCodec();
+        Item item = new Item("a", 1);
+        ClosingTrackingOutputStream outputStream = new ClosingTrackingOutputStream();
+
+        codec.write(item, outputStream);
+        codec.write(item, outputStream);
+
+        assertFalse(outputStream.closed);
+        byte[] body = outputStream.toByteArray();
+        assertEquals("{\"name\":\"a\",\"count\":1}{\"name\":\"a\",\"count\":1}", new String(body, StandardCharsets.UTF_8));
+        Item read = codec.read(Item.class, new ByteArrayInputStream("{\"name\":\"b\",\"count\":2,\"unknown\":true}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("b", read.getName());
+        assertEquals(2, read.getCount());
+    }
+
+    @Test
+    public void testBlackbird() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JacksonBodyCodec codec = JacksonBodyCodec.withBlackbird(mapper);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        codec.write(new Item("c", 3), outputStream);
+        Item read = codec.read(Item.class, new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertNotSame(mapper, codec.getMapper());
+        assertTrue(mapper.getRegisteredModuleIds().isEmpty());
+        assertEquals(1, codec.getMapper().getRegisteredModuleIds().size());
+        assertEquals("c", read.getName());
+        assertEquals(3, read.getCount());
+    }
+
+    public static class Item {
+        private String name;
+        private int count;
+
+        public Item() {
+        }
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    private static class ClosingTrackingOutputStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
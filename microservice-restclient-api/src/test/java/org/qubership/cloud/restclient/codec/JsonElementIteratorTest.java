@@ -0,0 +1,88 @@
+package org.qubership.cloud.restclient.codec;
+
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JsonElementIteratorTest {
+
+    @Test
+    public void testArrayElements() {
+        AtomicInteger closed = new AtomicInteger();
+        JsonElementIterator<Integer> elements = JsonElementIterator.open(response("[1, 2, 3]", closed), Integer.class);
+
+        List<Integer> values = new ArrayList<>();
+        elements.forEachRemaining(values::add);
+
+        assertEquals(List.of(1, 2, 3), values);
+        assertEquals(1, closed.get());
+        assertFalse(elements.hasNext());
+        assertThrows(NoSuchElementException.class, elements::next);
+        elements.close();
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testNewlineDelimitedElements() {
+        AtomicInteger closed = new AtomicInteger();
+        List<JacksonBodyCodecTest.Item> items;
+        try (Stream<JacksonBodyCodecTest.Item> elements = JsonElementIterator.open(response(
+                "{\"name\":\"a\",\"count\":1}\n{\"name\":\"b\",\"count\":2}\n", closed), JacksonBodyCodecTest.Item.class).stream()) {
+            items = elements.collect(Collectors.toList());
+        }
+
+        assertEquals(2, items.size());
+        assertEquals("a", items.get(0).getName());
+        assertEquals(2, items.get(1).getCount());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testEmptyBody() {
+        AtomicInteger closed = new AtomicInteger();
+        JsonElementIterator<Integer> elements = JsonElementIterator.open(response("", closed), Integer.class);
+
+        assertFalse(elements.hasNext());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testCloseBeforeEnd() {
+        AtomicInteger closed = new AtomicInteger();
+        try (JsonElementIterator<Integer> elements = JsonElementIterator.open(response("[1, 2, 3]", closed), Integer.class)) {
+            assertEquals(Integer.valueOf(1), elements.next());
+        }
+
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testMalformedElementClosesResponse() {
+        AtomicInteger closed = new AtomicInteger();
+        JsonElementIterator<Integer> elements = JsonElementIterator.open(response("[1, {", closed), Integer.class);
+
+        assertEquals(Integer.valueOf(1), elements.next());
+        assertThrows(MicroserviceRestClientException.class, elements::next);
+        assertEquals(1, closed.get());
+        assertFalse(elements.hasNext());
+    }
+
+    private static RestClientStreamingResponse response(String body, AtomicInteger closed) {
+        Closeable onClose = closed::incrementAndGet;
+        return new RestClientStreamingResponse(200, Collections.emptyMap(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), onClose);
+    }
+}
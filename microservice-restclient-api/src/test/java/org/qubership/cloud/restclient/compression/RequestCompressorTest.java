@@ -0,0 +1,79 @@
+package org.qubership.cloud.restclient.compression;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+public class RequestCompressorTest {
+    private static final byte[] BODY = "{\"name\":\"value\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testShouldCompress() {
+        RequestCompressor compressor = new RequestCompressor(CompressionSettings.builder().minRequestSize(100).maxRequestSize(10_000).build());
+
+        assertTrue(compressor.shouldCompress("application/json", null, 100));
+        assertTrue(compressor.shouldCompress(null, "identity", -1));
+        assertTrue(compressor.shouldCompress("text/plain; charset=UTF-8", "", 1000));
+        assertFalse(compressor.shouldCompress("application/json", null, 99));
+        assertFalse(compressor.shouldCompress("application/json", "br", 1000));
+        assertFalse(compressor.shouldCompress("Image/PNG", null, 1000));
+        assertFalse(compressor.shouldCompress("application/zip", null, 1000));
+        assertFalse(compressor.shouldCompress("application/octet-stream", null, -1));
+        assertFalse(compressor.shouldCompress("application/json", null, 10_001));
+        assertEquals(6, compressor.getStats().getSkippedCount());
+        assertEquals(0, compressor.getStats().getCompressedCount());
+    }
+
+    @Test
+    public void testGzip() throws Exception {
+        RequestCompressor compressor = new RequestCompressor(CompressionSettings.builder().level(9).build());
+        TrackingOutputStream compressed = new TrackingOutputStream();
+
+        compressor.compress(new ByteArrayInputStream(BODY), compressed);
+
+        assertFalse(compressed.closed);
+        assertEquals("gzip", compressor.getContentEncoding());
+        assertArrayEquals(BODY, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))));
+        CompressionStats stats = compressor.getStats();
+        assertEquals(1, stats.getCompressedCount());
+        assertEquals(BODY.length, stats.getUncompressedBytes());
+        assertEquals(compressed.size(), stats.getCompressedBytes());
+        assertTrue(stats.getCompressionRatio() > 1);
+        assertTrue(stats.getCompressionNanos() > 0);
+    }
+
+    @Test
+    public void testDeflate() throws Exception {
+        RequestCompressor compressor = new RequestCompressor(CompressionSettings.builder()
+                .requestEncoding(CompressionSettings.ContentEncoding.DEFLATE)
+                .build());
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        compressor.compress(new ByteArrayInputStream(BODY), compressed);
+
+        assertEquals("deflate", compressor.getContentEncoding());
+        assertArrayEquals(BODY, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed.toByteArray()))));
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws Exception {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static class TrackingOutputStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.qubership.cloud.restclient.entity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class RequestHeadersTest {
+
+    @Test
+    public void testNamesAreMergedCaseInsensitively() {
+        RequestHeaders headers = RequestHeaders.builder()
+                .add("X-Trace", "1")
+                .add("x-trace", "2")
+                .add("Accept", "application/json")
+                .build();
+        assertEquals(2, headers.size());
+        assertEquals(List.of("1", "2"), headers.get("X-TRACE"));
+        assertEquals("application/json", headers.getFirst("accept"));
+        assertEquals(List.of("X-Trace", "Accept"), List.copyOf(headers.keySet()));
+    }
+
+    @Test
+    public void testTemplateIsImmutable() {
+        Map<String, List<String>> source = new HashMap<>();
+        source.put("Accept", new ArrayList<>(List.of("application/json")));
+        RequestHeaders headers = RequestHeaders.of(source);
+        source.get("Accept").add("text/plain");
+
+        assertEquals(List.of("application/json"), headers.get("Accept"));
+        assertThrows(UnsupportedOperationException.class, () -> headers.put("Accept", List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> headers.get("Accept").add("text/plain"));
+        assertSame(headers, RequestHeaders.of(headers));
+    }
+
+    @Test
+    public void testWithReplacesHeader() {
+        RequestHeaders headers = RequestHeaders.builder().add("Accept", "application/json").add("X-Trace", "1").build();
+        RequestHeaders replaced = headers.with("accept", "text/plain");
+
+        assertEquals(List.of("text/plain"), replaced.get("Accept"));
+        assertEquals(List.of("1"), replaced.get("X-Trace"));
+        assertEquals(List.of("application/json"), headers.get("Accept"));
+    }
+
+    @Test
+    public void testInvalidHeadersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RequestHeaders.builder().add("X Trace", "1"));
+        assertThrows(IllegalArgumentException.class, () -> RequestHeaders.builder().add("X-Trace:", "1"));
+        assertThrows(IllegalArgumentException.class, () -> RequestHeaders.builder().add("X-Trace", "1\r\nX-Injected: 2"));
+        assertThrows(IllegalArgumentException.class, () -> RequestHeaders.builder().add("X-Trace", null));
+    }
+
+    @Test
+    public void testTransportHeadersAreConvertedOnce() {
+        RequestHeaders headers = RequestHeaders.builder().add("Accept", "application/json").build();
+        int[] conversions = new int[1];
+        for (int i = 0; i < 3; i++) {
+            String converted = headers.getTransportHeaders(String.class, h -> {
+                conversions[0]++;
+                return h.getFirst("Accept");
+            });
+            assertEquals("application/json", converted);
+        }
+        assertEquals(1, conversions[0]);
+        assertEquals(RequestHeaders.builder().add("Accept", "application/json").build(), headers);
+    }
+}
@@ -0,0 +1,58 @@
+package org.qubership.cloud.restclient.entity;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ResponseHeadersTest {
+
+    @Test
+    public void testLookupIsCaseInsensitive() {
+        Map<String, List<String>> source = new HashMap<>();
+        source.put("content-length", List.of("42"));
+        source.put("X-Trace", List.of("1", "2"));
+        ResponseHeaders headers = ResponseHeaders.of(source);
+
+        assertEquals(List.of("1", "2"), headers.get("x-trace"));
+        assertEquals("42", headers.getFirst("Content-Length"));
+        assertEquals(42, headers.getContentLength());
+        assertTrue(headers.containsKey("X-TRACE"));
+        assertNull(headers.get("X-Missing"));
+        assertEquals(source, headers);
+        assertSame(headers, ResponseHeaders.of(headers));
+        assertSame(ResponseHeaders.EMPTY, ResponseHeaders.of(null));
+        assertThrows(UnsupportedOperationException.class, () -> headers.put("X-Trace", List.of()));
+    }
+
+    @Test
+    public void testHeadersAreNotCopied() {
+        Map<String, List<String>> source = new HashMap<>();
+        ResponseHeaders headers = ResponseHeaders.of(source);
+        source.put("X-Trace", List.of("1"));
+
+        assertEquals("1", headers.getFirst("x-trace"));
+    }
+
+    @Test
+    public void testContentType() {
+        ResponseHeaders headers = ResponseHeaders.of(Map.of("content-type", List.of("Application/JSON; charset=\"UTF-8\"")));
+        assertEquals("application/json", headers.getContentType());
+        assertEquals(StandardCharsets.UTF_8, headers.getCharset(StandardCharsets.ISO_8859_1));
+
+        ResponseHeaders charsetOnly = ResponseHeaders.of(Map.of("Content-Type", List.of("charset=UTF-16;xyz")));
+        assertNull(charsetOnly.getContentType());
+        assertEquals(StandardCharsets.UTF_16, charsetOnly.getCharset(StandardCharsets.ISO_8859_1));
+
+        ResponseHeaders unknownCharset = ResponseHeaders.of(Map.of("Content-Type", List.of("text/plain;charset=unknown-charset")));
+        assertEquals("text/plain", unknownCharset.getContentType());
+        assertEquals(StandardCharsets.ISO_8859_1, unknownCharset.getCharset(StandardCharsets.ISO_8859_1));
+
+        assertNull(ResponseHeaders.EMPTY.getContentType());
+        assertEquals(-1, ResponseHeaders.EMPTY.getContentLength());
+    }
+}
@@ -22,6 +22,17 @@ public class RestClientResponseEntityTest {
         assertEquals(restClientResponseEntity,restClientResponseEntity2);
     }
 
+    @Test
+    public void verifyEqualityIgnoresParsedHeaders() {
+        Map<String, List<String>> header = new HashMap<>();
+        header.put("Content-Type", List.of("application/json"));
+        RestClientResponseEntity<String> restClientResponseEntity = new RestClientResponseEntity<>("resp", 200, header);
+        RestClientResponseEntity<String> restClientResponseEntity2 = new RestClientResponseEntity<>("resp", 200, header);
+        restClientResponseEntity.getParsedHeaders();
+        assertEquals(restClientResponseEntity, restClientResponseEntity2);
+        assertEquals(restClientResponseEntity.hashCode(), restClientResponseEntity2.hashCode());
+    }
+
     @Test
     public void verifyNotEqualWhenBodyisDifferent() {
         List<String> list = new ArrayList<>();
@@ -0,0 +1,127 @@
+package org.qubership.cloud.restclient.error;
+
+import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
+import org.qubership.cloud.core.error.rest.tmf.DefaultTmfErrorResponseConverter;
+import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ErrorResponseProcessorTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final IllegalStateException CAUSE = new IllegalStateException("500 Internal Server Error");
+
+    private final AtomicInteger decoded = new AtomicInteger();
+    private final ErrorResponseDecoder tmfDecoder = countingDecoder(new TmfErrorResponseDecoder(MAPPER, new DefaultTmfErrorResponseConverter()));
+
+    @Test
+    public void testJsonErrorResponseIsDecoded() throws Exception {
+        ErrorResponseProcessor processor = new ErrorResponseProcessor(ErrorDecodingSettings.builder().build(), tmfDecoder);
+        byte[] body = tmfBody();
+
+        MicroserviceRestClientResponseException json = processor.process("failed", CAUSE, 500,
+                Map.of("Content-Type", List.of("application/json;charset=UTF-8")), body);
+        MicroserviceRestClientResponseException problemJson = processor.process("failed", CAUSE, 500,
+                Map.of("content-type", List.of("application/problem+json")), body);
+        MicroserviceRestClientResponseException noContentType = processor.process("failed", CAUSE, 500, Map.of(), body);
+
+        assertEquals(3, decoded.get());
+        for (MicroserviceRestClientResponseException e : List.of(json, problemJson, noContentType)) {
+            assertTrue(e.getCause() instanceof RemoteCodeException);
+            assertEquals("TEST", ((RemoteCodeException) e.getCause()).getErrorCode().getCode());
+            assertSame(body, e.getResponseBody());
+            assertEquals(500, e.getHttpStatus());
+        }
+    }
+
+    @Test
+    public void testNonJsonErrorResponseIsNotParsed() {
+        ErrorResponseProcessor processor = new ErrorResponseProcessor(ErrorDecodingSettings.builder().build(), tmfDecoder);
+        byte[] html = "<html><body>Bad gateway</body></html>".getBytes(StandardCharsets.UTF_8);
+
+        MicroserviceRestClientResponseException withContentType = processor.process("failed", CAUSE, 502,
+                Map.of("Content-Type", List.of("text/html")), html);
+        MicroserviceRestClientResponseException withoutContentType = processor.process("failed", CAUSE, 502, null, html);
+        MicroserviceRestClientResponseException emptyBody = processor.process("failed", CAUSE, 502,
+                Map.of("Content-Type", List.of("application/json")), null);
+
+        assertEquals(0, decoded.get());
+        assertSame(CAUSE, withContentType.getCause());
+        assertEquals("failed", withContentType.getDetail());
+        assertSame(CAUSE, withoutContentType.getCause());
+        assertEquals(0, emptyBody.getResponseBody().length);
+    }
+
+    @Test
+    public void testMalformedJsonFallsBack() {
+        ErrorResponseProcessor processor = new ErrorResponseProcessor(
+                ErrorDecodingSettings.builder().failureLogInterval(Duration.ofHours(1)).build(), tmfDecoder);
+        byte[] body = "{\"code\":".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 3; i++) {
+            MicroserviceRestClientResponseException e = processor.process("failed", CAUSE, 500,
+                    Map.of("Content-Type", List.of("application/json")), body);
+            assertSame(CAUSE, e.getCause());
+            assertEquals("{\"code\":", e.getResponseBodyAsString());
+        }
+        assertEquals(3, decoded.get());
+    }
+
+    @Test
+    public void testCapturedBodyIsTruncated() throws Exception {
+        ErrorResponseProcessor processor = new ErrorResponseProcessor(
+                ErrorDecodingSettings.builder().maxCapturedBodySize(10).build(), tmfDecoder);
+        byte[] body = tmfBody();
+
+        MicroserviceRestClientResponseException e = processor.process("failed", CAUSE, 500,
+                Map.of("Content-Type", List.of("application/json")), body);
+
+        assertTrue(e.getCause() instanceof RemoteCodeException);
+        assertEquals(10, e.getResponseBody().length);
+        assertEquals(new String(body, 0, 10, StandardCharsets.ISO_8859_1), e.getResponseBodyAsString());
+    }
+
+    @Test
+    public void testCustomDecoderByMediaType() throws Exception {
+        ErrorResponseDecoder xmlDecoder = (status, headers, body) -> {
+            throw new IOException("xml is not supported");
+        };
+        ErrorResponseProcessor processor = new ErrorResponseProcessor(ErrorDecodingSettings.builder()
+                .decoder("application/xml", countingDecoder(xmlDecoder))
+                .build(), tmfDecoder);
+
+        MicroserviceRestClientResponseException e = processor.process("failed", CAUSE, 500,
+                Map.of("Content-Type", List.of("application/xml")), "<error/>".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, decoded.get());
+        assertSame(CAUSE, e.getCause());
+    }
+
+    private ErrorResponseDecoder countingDecoder(ErrorResponseDecoder decoder) {
+        return (status, headers, body) -> {
+            decoded.incrementAndGet();
+            return decoder.decode(status, headers, body);
+        };
+    }
+
+    private static byte[] tmfBody() throws Exception {
+        return MAPPER.writeValueAsBytes(TmfErrorResponse.builder()
+                .id("1")
+                .code("TEST")
+                .reason("test reason")
+                .detail("test detail")
+                .status("500")
+                .type(TmfErrorResponse.TYPE_V1_0)
+                .build());
+    }
+}
@@ -2,12 +2,14 @@ package org.qubership.cloud.restclient.exception;
 
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 
 public class MicroserviceRestClientResponseExceptionTest {
@@ -40,4 +42,23 @@ public class MicroserviceRestClientResponseExceptionTest {
         String str = microserviceRestClientResponseException.toString();
         assertEquals(expected, str);
     }
+
+    @Test
+    public void getResponseBodyAsStringUsesResponseCharset() {
+        responseBody = "r\u00e9sum\u00e9".getBytes(StandardCharsets.UTF_8);
+        responseHeaders.put("content-type", List.of("text/plain; charset=utf-8"));
+        MicroserviceRestClientResponseException exception = new MicroserviceRestClientResponseException(msg, 500, responseBody, responseHeaders);
+
+        assertEquals("r\u00e9sum\u00e9", exception.getResponseBodyAsString());
+        assertSame(exception.getResponseBodyAsString(), exception.getResponseBodyAsString());
+        assertEquals("text/plain", exception.getParsedResponseHeaders().getContentType());
+    }
+
+    @Test
+    public void getResponseBodyAsStringDefaultsToIsoCharset() {
+        responseBody = new byte[]{(byte) 0xe9};
+        MicroserviceRestClientResponseException exception = new MicroserviceRestClientResponseException(msg, 500, responseBody, null);
+
+        assertEquals("\u00e9", exception.getResponseBodyAsString());
+    }
 }
@@ -0,0 +1,208 @@
+package org.qubership.cloud.restclient.hedge;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HedgingMicroserviceRestClientTest {
+    private static final URI URI_1 = URI.create("http://localhost/items/1");
+
+    private MicroserviceRestClient delegate;
+    private HedgingMicroserviceRestClient client;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+        client = new HedgingMicroserviceRestClient(delegate, HedgingPolicy.builder()
+                .hedgeDelay(Duration.ofMillis(50))
+                .build());
+    }
+
+    @Test
+    public void testFastResponseIsNotHedged() throws Exception {
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("body", 200);
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(response, client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class));
+        verify(delegate, after(200).times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(0, client.getHedgeCount());
+    }
+
+    @Test
+    public void testSlowResponseIsHedgedAndLoserCancelled() throws Exception {
+        CompletableFuture<RestClientResponseEntity<String>> slow = new CompletableFuture<>();
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("hedged", 200);
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(slow)
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(response, client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get(5, TimeUnit.SECONDS));
+        assertTrue(slow.isCancelled());
+        assertEquals(1, client.getHedgeCount());
+        assertEquals(1, client.getHedgeWinCount());
+    }
+
+    @Test
+    public void testHedgeIsSentFromGivenExecutor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        client = new HedgingMicroserviceRestClient(delegate, HedgingPolicy.builder().hedgeDelay(Duration.ofMillis(50)).build(),
+                task -> {
+                    executed.incrementAndGet();
+                    task.run();
+                });
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("hedged", 200);
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(response, client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get(5, TimeUnit.SECONDS));
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void testFailureOfOneAttemptWaitsForAnother() throws Exception {
+        CompletableFuture<RestClientResponseEntity<String>> first = new CompletableFuture<>();
+        CompletableFuture<RestClientResponseEntity<String>> second = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(first)
+                .thenReturn(second);
+
+        CompletableFuture<RestClientResponseEntity<String>> result = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        verify(delegate, timeout(5000).times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        first.completeExceptionally(new MicroserviceRestClientException("failed"));
+        RestClientResponseEntity<String> response = new RestClientResponseEntity<>("second", 200);
+        second.complete(response);
+        assertSame(response, result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDefinitiveFailureDoesNotWaitForAnotherAttempt() throws Exception {
+        CompletableFuture<RestClientResponseEntity<String>> first = new CompletableFuture<>();
+        CompletableFuture<RestClientResponseEntity<String>> second = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(first)
+                .thenReturn(second);
+
+        CompletableFuture<RestClientResponseEntity<String>> result = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        verify(delegate, timeout(5000).times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        MicroserviceRestClientResponseException notFound = new MicroserviceRestClientResponseException("not found", 404, new byte[0], Map.of());
+        first.completeExceptionally(notFound);
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertSame(notFound, e.getCause());
+        }
+        assertTrue(second.isCancelled());
+    }
+
+    @Test
+    public void testLatencyOfLosingAttemptIsRecorded() throws Exception {
+        client = new HedgingMicroserviceRestClient(delegate, HedgingPolicy.builder()
+                .minHedgeDelay(Duration.ofMillis(1))
+                .latencyWindowSize(64)
+                .maxHedgeRatio(1)
+                .build());
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenAnswer(invocation -> calls.getAndIncrement() % 2 == 0 ? new CompletableFuture<>()
+                        : CompletableFuture.supplyAsync(() -> new RestClientResponseEntity<>("hedged", 200),
+                        CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS)));
+
+        // 32 winners alone would not fill the first recompute interval of 64 latencies
+        for (int i = 0; i < 32; i++) {
+            client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(32, client.getHedgeWinCount());
+        assertTrue(client.getHedgeDelay().toMillis() >= 5);
+    }
+
+    @Test
+    public void testFailureBeforeHedgeIsNotHedged() throws Exception {
+        MicroserviceRestClientException failure = new MicroserviceRestClientException("failed");
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+
+        try {
+            client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+            fail("Exception expected");
+        } catch (MicroserviceRestClientException e) {
+            assertSame(failure, e);
+        }
+        verify(delegate, after(200).times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testHedgesAreCapped() throws Exception {
+        client = new HedgingMicroserviceRestClient(delegate, HedgingPolicy.builder()
+                .hedgeDelay(Duration.ofMillis(10))
+                .maxHedgeRatio(0)
+                .minHedges(1)
+                .build());
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+
+        CompletableFuture<RestClientResponseEntity<String>> first = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        CompletableFuture<RestClientResponseEntity<String>> second = client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+        verify(delegate, after(300).times(3)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(1, client.getHedgeCount());
+        first.cancel(true);
+        second.cancel(true);
+    }
+
+    @Test
+    public void testNonIdempotentRequestIsNotHedged() {
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.POST), anyMap(), any(), eq(String.class)))
+                .thenReturn(new RestClientResponseEntity<>("body", 200));
+
+        client.doRequest(URI_1, HttpMethod.POST, new HashMap<>(), "body", String.class);
+        verify(delegate, never()).doRequestAsync(any(URI.class), any(), anyMap(), any(), any());
+    }
+
+    @Test
+    public void testHedgeDelayFollowsObservedLatency() throws ExecutionException, InterruptedException {
+        client = new HedgingMicroserviceRestClient(delegate, HedgingPolicy.builder()
+                .minHedgeDelay(Duration.ofMillis(1))
+                .latencyWindowSize(64)
+                .build());
+        assertEquals(Duration.ofMillis(1), client.getHedgeDelay());
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> new RestClientResponseEntity<>("body", 200),
+                        CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS)));
+
+        for (int i = 0; i < 64; i++) {
+            client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class).get();
+        }
+        assertTrue(client.getHedgeDelay().toMillis() >= 5);
+    }
+}
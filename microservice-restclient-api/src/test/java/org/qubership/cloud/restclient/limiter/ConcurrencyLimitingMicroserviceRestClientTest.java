@@ -0,0 +1,219 @@
+package org.qubership.cloud.restclient.limiter;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.ConcurrencyLimitExceededException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitingMicroserviceRestClientTest {
+    private static final URI URI_1 = URI.create("http://service-a:8080/items/1");
+    private static final URI OTHER_URI = URI.create("http://service-b:8080/items/1");
+
+    private MicroserviceRestClient delegate;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+    }
+
+    @Test
+    public void testOverloadDecreasesLimit() {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(10).backoffRatio(0.5).build());
+        when(delegate.doRequest(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(new MicroserviceRestClientResponseException("unavailable", 503, new byte[0], Collections.emptyMap()))
+                .thenThrow(new MicroserviceRestClientResponseException("not found", 404, new byte[0], Collections.emptyMap()));
+
+        assertFails(client, MicroserviceRestClientResponseException.class);
+        assertEquals(5, client.getLimiter(URI_1).getLimit());
+        assertFails(client, MicroserviceRestClientResponseException.class);
+        assertEquals(5, client.getLimiter(URI_1).getLimit());
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+    }
+
+    @Test
+    public void testLimitIsNotDecreasedBelowMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+                ConcurrencyLimiterSettings.builder().initialLimit(2).minLimit(1).backoffRatio(0.1).build());
+        limiter.acquire().join().onError(new ConnectException());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitGrowsWhileUsed() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test",
+                ConcurrencyLimiterSettings.builder().initialLimit(2).maxLimit(3).latencyTolerance(Double.MAX_VALUE).build());
+        for (int i = 0; i < 10; i++) {
+            ConcurrencyLimiter.Permit first = limiter.acquire().join();
+            ConcurrencyLimiter.Permit second = limiter.acquire().join();
+            first.onSuccess();
+            second.onSuccess();
+        }
+        assertEquals(3, limiter.getLimit());
+
+        ConcurrencyLimiter idle = new ConcurrencyLimiter("test",
+                ConcurrencyLimiterSettings.builder().initialLimit(4).latencyTolerance(Double.MAX_VALUE).build());
+        for (int i = 0; i < 10; i++) {
+            idle.acquire().join().onSuccess();
+        }
+        assertEquals(4, idle.getLimit());
+    }
+
+    @Test
+    public void testExcessRequestIsRejectedWithoutQueue() throws Exception {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(1).maxQueueSize(0).build());
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(pending);
+        when(delegate.doRequest(eq(OTHER_URI), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new RestClientResponseEntity<>("other", 200));
+
+        CompletableFuture<RestClientResponseEntity<String>> first = requestAsync(client);
+        try {
+            requestAsync(client).get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConcurrencyLimitExceededException);
+            assertEquals("http://service-a:8080", ((ConcurrencyLimitExceededException) e.getCause()).getDestination());
+        }
+        assertEquals("other", client.doRequest(OTHER_URI, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody());
+
+        pending.complete(new RestClientResponseEntity<>("body", 200));
+        assertEquals("body", first.get().getResponseBody());
+        assertEquals(1, client.getRejectedCount());
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+        verify(delegate, times(1)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testQueuedRequestProceedsWhenSlotIsFree() throws Exception {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(1).maxQueueSize(1).maxQueueTime(Duration.ofSeconds(10)).build());
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(pending, CompletableFuture.completedFuture(new RestClientResponseEntity<>("second", 200)));
+
+        CompletableFuture<RestClientResponseEntity<String>> first = requestAsync(client);
+        CompletableFuture<RestClientResponseEntity<String>> second = requestAsync(client);
+        assertFalse(second.isDone());
+        assertEquals(1, client.getLimiter(URI_1).getQueueSize());
+        try {
+            requestAsync(client).get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConcurrencyLimitExceededException);
+        }
+
+        pending.complete(new RestClientResponseEntity<>("first", 200));
+        assertEquals("first", first.get().getResponseBody());
+        assertEquals("second", second.get(5, TimeUnit.SECONDS).getResponseBody());
+        assertEquals(0, client.getLimiter(URI_1).getQueueSize());
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+    }
+
+    @Test
+    public void testQueuedRequestIsRejectedAfterMaxQueueTime() throws Exception {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(1).maxQueueTime(Duration.ofMillis(50)).build());
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        requestAsync(client);
+        long start = System.nanoTime();
+        try {
+            client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+            fail("Exception expected");
+        } catch (ConcurrencyLimitExceededException e) {
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        assertEquals(0, client.getLimiter(URI_1).getQueueSize());
+        assertEquals(1, client.getRejectedCount());
+    }
+
+    @Test
+    public void testCancelledRequestReleasesSlot() {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(4).backoffRatio(0.5).build());
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(pending);
+
+        requestAsync(client);
+        assertEquals(1, client.getLimiter(URI_1).getInFlight());
+        pending.cancel(true);
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+        assertEquals(4, client.getLimiter(URI_1).getLimit());
+    }
+
+    @Test
+    public void testCancelledQueuedRequestDoesNotHoldSlot() throws Exception {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(1).maxQueueSize(2).maxQueueTime(Duration.ofSeconds(10)).build());
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenReturn(pending, CompletableFuture.completedFuture(new RestClientResponseEntity<>("third", 200)));
+
+        CompletableFuture<RestClientResponseEntity<String>> first = requestAsync(client);
+        CompletableFuture<RestClientResponseEntity<String>> cancelled = requestAsync(client);
+        CompletableFuture<RestClientResponseEntity<String>> third = requestAsync(client);
+        cancelled.cancel(false);
+        assertEquals(1, client.getLimiter(URI_1).getQueueSize());
+
+        pending.complete(new RestClientResponseEntity<>("first", 200));
+        assertEquals("first", first.get().getResponseBody());
+        assertEquals("third", third.get(5, TimeUnit.SECONDS).getResponseBody());
+        verify(delegate, times(2)).doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class));
+        assertEquals(0, client.getLimiter(URI_1).getQueueSize());
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+    }
+
+    @Test
+    public void testCancelledResultCancelsExchange() {
+        ConcurrencyLimitingMicroserviceRestClient client = new ConcurrencyLimitingMicroserviceRestClient(delegate,
+                ConcurrencyLimiterSettings.builder().initialLimit(4).build());
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(eq(URI_1), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(pending);
+
+        requestAsync(client).cancel(false);
+
+        assertTrue(pending.isCancelled());
+        assertEquals(0, client.getLimiter(URI_1).getInFlight());
+        assertEquals(4, client.getLimiter(URI_1).getLimit());
+    }
+
+    private CompletableFuture<RestClientResponseEntity<String>> requestAsync(ConcurrencyLimitingMicroserviceRestClient client) {
+        return client.doRequestAsync(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+    }
+
+    private void assertFails(ConcurrencyLimitingMicroserviceRestClient client, Class<? extends Exception> exceptionClass) {
+        try {
+            client.doRequest(URI_1, HttpMethod.GET, new HashMap<>(), null, String.class);
+            fail("Exception expected");
+        } catch (RuntimeException e) {
+            assertEquals(exceptionClass, e.getClass());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.qubership.cloud.restclient.loadbalancer;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LoadBalancingMicroserviceRestClientTest {
+    private static final URI ENDPOINT_1 = URI.create("http://10.0.0.1:8080");
+    private static final URI ENDPOINT_2 = URI.create("http://10.0.0.2:8080/context/");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MicroserviceRestClient delegate;
+    private MutableClock clock;
+    private List<URI> requested;
+
+    @Before
+    public void setUp() {
+        delegate = mock(MicroserviceRestClient.class);
+        clock = new MutableClock();
+        requested = new CopyOnWriteArrayList<>();
+        when(delegate.doRequest(any(URI.class), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            requested.add(uri);
+            return new RestClientResponseEntity<>(uri.toString(), 200);
+        });
+    }
+
+    private LoadBalancingMicroserviceRestClient client(EndpointSource endpointSource) {
+        return new LoadBalancingMicroserviceRestClient(delegate, "my-service", endpointSource,
+                LoadBalancerSettings.builder().consecutiveFailures(2).ejectionDuration(Duration.ofSeconds(30)).clock(clock).build());
+    }
+
+    @Test
+    public void testRequestIsRewrittenToEndpoint() {
+        LoadBalancingMicroserviceRestClient client = client(EndpointSource.of(ENDPOINT_2));
+
+        assertEquals("http://10.0.0.2:8080/context/api/items?name=a%20b#top",
+                request(client, URI.create("http://my-service/api/items?name=a%20b#top")));
+        assertEquals("http://other-service/api/items", request(client, URI.create("http://other-service/api/items")));
+
+        Map<String, Object> params = Collections.singletonMap("id", 1);
+        client.doRequest("http://my-service/api/items/{id}", HttpMethod.GET, new HashMap<>(), null, String.class, params);
+        verify(delegate).doRequest(eq("http://10.0.0.2:8080/context/api/items/{id}"), eq(HttpMethod.GET), anyMap(), isNull(),
+                eq(String.class), eq(params));
+        client.doRequest("http://my-service-2/api", HttpMethod.GET, new HashMap<>(), null, String.class, params);
+        verify(delegate).doRequest(eq("http://my-service-2/api"), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class), eq(params));
+    }
+
+    @Test
+    public void testLessLoadedEndpointIsChosen() {
+        LoadBalancingMicroserviceRestClient client = client(EndpointSource.of(ENDPOINT_1, ENDPOINT_2));
+        CompletableFuture<RestClientResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.doRequestAsync(any(URI.class), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenReturn(pending);
+
+        client.doRequestAsync(URI.create("http://my-service/api"), HttpMethod.GET, new HashMap<>(), null, String.class);
+        Endpoint busy = client.getEndpoints().stream().filter(endpoint -> endpoint.getOutstanding() == 1).findFirst().orElseThrow();
+        for (int i = 0; i < 10; i++) {
+            request(client, URI.create("http://my-service/api"));
+        }
+        assertTrue(requested.stream().noneMatch(uri -> uri.toString().startsWith(busy.getUri().toString())));
+
+        pending.complete(new RestClientResponseEntity<>("body", 200));
+        assertEquals(0, busy.getOutstanding());
+        assertTrue(busy.getLatencyNanos() > 0);
+    }
+
+    @Test
+    public void testSynchronousAsyncFailureIsReturnedAsFuture() {
+        LoadBalancingMicroserviceRestClient client = client(EndpointSource.of(ENDPOINT_1));
+        MicroserviceRestClientException failure = new MicroserviceRestClientException("failed");
+        when(delegate.doRequestAsync(any(URI.class), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class))).thenThrow(failure);
+
+        CompletableFuture<RestClientResponseEntity<String>> response =
+                client.doRequestAsync(URI.create("http://my-service/api"), HttpMethod.GET, new HashMap<>(), null, String.class);
+        assertSame(failure, assertThrows(CompletionException.class, response::join).getCause());
+        assertEquals(0, client.getEndpoints().get(0).getOutstanding());
+
+        CompletableFuture<RestClientResponseEntity<String>> noEndpoints = client(EndpointSource.of())
+                .doRequestAsync(URI.create("http://my-service/api"), HttpMethod.GET, new HashMap<>(), null, String.class);
+        assertTrue(assertThrows(CompletionException.class, noEndpoints::join).getCause() instanceof MicroserviceRestClientException);
+    }
+
+    @Test
+    public void testFailingEndpointIsEjected() {
+        LoadBalancingMicroserviceRestClient client = client(EndpointSource.of(ENDPOINT_1, ENDPOINT_2));
+        URI failing = URI.create("http://10.0.0.1:8080/api");
+        when(delegate.doRequest(eq(failing), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(new MicroserviceRestClientResponseException("unavailable", 503, new byte[0], Collections.emptyMap()));
+
+        int failures = 0;
+        for (int i = 0; i < 50; i++) {
+            try {
+                request(client, URI.create("http://my-service/api"));
+            } catch (MicroserviceRestClientResponseException e) {
+                failures++;
+            }
+        }
+        assertEquals(2, failures);
+        Endpoint ejected = client.getEndpoints().get(0);
+        assertTrue(ejected.isEjected(clock.millis()));
+        assertFalse(client.getEndpoints().get(1).isEjected(clock.millis()));
+
+        clock.advance(30_000);
+        assertFalse(ejected.isEjected(clock.millis()));
+    }
+
+    @Test
+    public void testLastEndpointIsNotEjected() {
+        LoadBalancingMicroserviceRestClient client = client(EndpointSource.of(ENDPOINT_1));
+        when(delegate.doRequest(any(URI.class), eq(HttpMethod.GET), anyMap(), isNull(), eq(String.class)))
+                .thenThrow(new MicroserviceRestClientResponseException("unavailable", 503, new byte[0], Collections.emptyMap()));
+
+        for (int i = 0; i < 5; i++) {
+            try {
+                request(client, URI.create("http://my-service/api"));
+                fail("Exception expected");
+            } catch (MicroserviceRestClientResponseException e) {
+                // expected
+            }
+        }
+        assertFalse(client.getEndpoints().get(0).isEjected(clock.millis()));
+    }
+
+    @Test
+    public void testEndpointChangesKeepStatistics() {
+        List<URI> endpoints = new CopyOnWriteArrayList<>(List.of(ENDPOINT_1));
+        LoadBalancingMicroserviceRestClient client = client(() -> endpoints);
+        request(client, URI.create("http://my-service/api"));
+        Endpoint first = client.getEndpoints().get(0);
+
+        endpoints.add(ENDPOINT_2);
+        assertEquals(2, client.getEndpoints().size());
+        assertSame(first, client.getEndpoints().get(0));
+
+        endpoints.clear();
+        try {
+            request(client, URI.create("http://my-service/api"));
+            fail("Exception expected");
+        } catch (MicroserviceRestClientException e) {
+            assertEquals("No endpoints of service my-service", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFileEndpointSource() throws Exception {
+        Path file = temporaryFolder.newFile("endpoints").toPath();
+        Files.write(file, List.of("# my-service", "http://10.0.0.1:8080", "", " http://10.0.0.2:8080 "));
+        FileEndpointSource source = new FileEndpointSource(file, Duration.ZERO);
+        assertEquals(List.of(ENDPOINT_1, URI.create("http://10.0.0.2:8080")), source.getEndpoints());
+
+        Files.write(file, List.of("http://10.0.0.3:8080"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        assertEquals(List.of(URI.create("http://10.0.0.3:8080")), source.getEndpoints());
+
+        Files.delete(file);
+        assertEquals(List.of(URI.create("http://10.0.0.3:8080")), source.getEndpoints());
+    }
+
+    private String request(LoadBalancingMicroserviceRestClient client, URI uri) {
+        return client.doRequest(uri, HttpMethod.GET, new HashMap<>(), null, String.class).getResponseBody();
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.qubership.cloud.restclient.metrics;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RequestTimings;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestMetricsTest {
+    private static final URI TEST_URI = URI.create("http://service-a:8080/items");
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 0.001);
+        assertWithin(5_000_000, histogram.getValueAtPercentile(50));
+        assertWithin(9_900_000, histogram.getValueAtPercentile(99));
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(10_002, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testLatencyHistogramSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 64; value++) {
+            histogram.record(value);
+        }
+        assertEquals(31, histogram.getValueAtPercentile(50));
+        assertEquals(63, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testInMemoryRequestMetrics() {
+        InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        RequestSample success = RequestSample.start(metrics, TEST_URI, HttpMethod.POST);
+        RequestSample notFound = RequestSample.start(metrics, TEST_URI, HttpMethod.POST);
+        RequestSample failure = RequestSample.start(metrics, URI.create("http://service-b/items"), HttpMethod.GET);
+        assertEquals(2, metrics.getInFlight("service-a:8080", HttpMethod.POST));
+
+        Map<String, List<String>> headers = Collections.singletonMap("content-length", List.of("12"));
+        success.stop(new RestClientResponseEntity<>("response", 200, headers), RequestSample.requestSize(new byte[5]));
+        success.stop(new RestClientResponseEntity<>("response", 200, headers), 5);
+        notFound.stop(new MicroserviceRestClientResponseException("not found", 404, new byte[3], Collections.emptyMap()),
+                RequestSample.requestSize("not known"));
+        failure.stop(new MicroserviceRestClientException("failed", new ConnectException()), 0);
+
+        assertEquals(0, metrics.getInFlight("service-a:8080", HttpMethod.POST));
+        assertEquals(0, metrics.getInFlight("service-b", HttpMethod.GET));
+        InMemoryRequestMetrics.RequestStats successStats = metrics.getStats("service-a:8080", HttpMethod.POST, "2xx", "none");
+        assertEquals(1, successStats.getCount());
+        assertEquals(5, successStats.getRequestBytes());
+        assertEquals(12, successStats.getResponseBytes());
+        InMemoryRequestMetrics.RequestStats notFoundStats = metrics.getStats("service-a:8080", HttpMethod.POST, "4xx", "none");
+        assertEquals(0, notFoundStats.getRequestBytes());
+        assertEquals(3, notFoundStats.getResponseBytes());
+        assertNotNull(metrics.getStats("service-b", HttpMethod.GET, "NONE", "ConnectException"));
+        assertEquals(3, metrics.getStats().size());
+    }
+
+    @Test
+    public void testRequestSize() {
+        assertEquals(0, RequestSample.requestSize(null));
+        assertEquals(4, RequestSample.requestSize(StreamingRequestBody.ofInputStream(() -> new ByteArrayInputStream(new byte[4]), 4)));
+        assertEquals(-1, RequestSample.requestSize(StreamingRequestBody.ofInputStream(() -> new ByteArrayInputStream(new byte[4]))));
+    }
+
+    @Test
+    public void testFailingListenerDoesNotFailRequest() {
+        RequestMetricsListener listener = new RequestMetricsListener() {
+            @Override
+            public void onRequestStart(String host, HttpMethod httpMethod) {
+                throw new IllegalStateException("start");
+            }
+
+            @Override
+            public void onRequestEnd(RequestEvent event) {
+                throw new IllegalStateException("end");
+            }
+        };
+        RequestSample.start(listener, TEST_URI, HttpMethod.GET).stop(200, 0, 0, null);
+    }
+
+    @Test
+    public void testMicrometerRequestMetricsListener() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerRequestMetricsListener listener = new MicrometerRequestMetricsListener(registry);
+        RequestSample sample = RequestSample.start(listener, TEST_URI, HttpMethod.GET);
+        assertEquals(1, registry.get("http.client.requests.active").tag("host", "service-a:8080").gauge().value(), 0);
+
+        sample.stop(503, 0, 10, null);
+        assertEquals(0, registry.get("http.client.requests.active").tag("host", "service-a:8080").gauge().value(), 0);
+        Timer timer = registry.get("http.client.requests")
+                .tags("host", "service-a:8080", "method", "GET", "status", "5xx", "exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(10, registry.get("http.client.requests.response.size").summary().totalAmount(), 0);
+        assertEquals(0, registry.get("http.client.requests.request.size").summary().totalAmount(), 0);
+    }
+
+    @Test
+    public void testRequestTimings() {
+        RequestTimingsRecorder recorder = new RequestTimingsRecorder();
+        recorder.headersReceived();
+        assertEquals(RequestTimings.UNKNOWN, recorder.toTimings());
+
+        recorder.connectStarted();
+        recorder.addDnsTime(0);
+        recorder.requestStarted();
+        recorder.headersReceived();
+        RequestTimings timings = recorder.toTimings();
+        assertTrue(timings.isNewConnection());
+        assertEquals(0, timings.getDnsNanos());
+        assertTrue(timings.getConnectNanos() >= 0);
+        assertEquals(-1, timings.getTlsNanos());
+        assertTrue(timings.getTimeToFirstByteNanos() >= 0);
+        assertEquals(-1, timings.getBodyNanos());
+
+        RequestTimingsRecorder reused = new RequestTimingsRecorder();
+        reused.connectStarted();
+        reused.requestStarted();
+        assertEquals(-1, reused.toTimings().getConnectNanos());
+        assertFalse(reused.toTimings().isNewConnection());
+    }
+
+    @Test
+    public void testMicrometerPhaseTimers() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        RequestTimingsRecorder recorder = new RequestTimingsRecorder();
+        recorder.connectionEstablished(-1, 2_000, -1);
+        RequestSample.start(new MicrometerRequestMetricsListener(registry), TEST_URI, HttpMethod.GET, recorder)
+                .stop(200, 0, 0, null);
+
+        Timer connect = registry.get("http.client.requests.phases").tags("host", "service-a:8080", "phase", "connect").timer();
+        assertEquals(1, connect.count());
+        assertEquals(2_000, connect.totalTime(TimeUnit.NANOSECONDS), 0);
+        assertEquals(1, registry.find("http.client.requests.phases").timers().size());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("Expected about " + expected + " but was " + actual, Math.abs(actual - expected) <= expected * 0.04);
+    }
+}
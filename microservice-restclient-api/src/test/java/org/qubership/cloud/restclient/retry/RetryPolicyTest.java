@@ -0,0 +1,88 @@
+package org.qubership.cloud.restclient.retry;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    private final RetryPolicy policy = RetryPolicy.builder()
+            .initialBackoff(Duration.ofMillis(100))
+            .maxBackoff(Duration.ofMillis(300))
+            .jitter(0.5)
+            .build();
+
+    @Test
+    public void testRetryableRequests() {
+        assertTrue(policy.canRetry(HttpMethod.GET, null));
+        assertTrue(policy.canRetry(HttpMethod.PUT, "body"));
+        assertTrue(policy.canRetry(HttpMethod.GET, StreamingRequestBody.ofInputStream(() -> new ByteArrayInputStream(new byte[1]))));
+        assertFalse(policy.canRetry(HttpMethod.POST, null));
+        assertFalse(policy.canRetry(HttpMethod.PATCH, null));
+        assertFalse(policy.canRetry(HttpMethod.PUT, StreamingRequestBody.ofPublisher(new SubmissionPublisher<>())));
+    }
+
+    @Test
+    public void testRetryableFailures() {
+        assertTrue(policy.isRetryableFailure(responseException(503, Collections.emptyMap())));
+        assertFalse(policy.isRetryableFailure(responseException(500, Collections.emptyMap())));
+        assertFalse(policy.isRetryableFailure(responseException(404, Collections.emptyMap())));
+        assertTrue(policy.isRetryableFailure(new MicroserviceRestClientException("I/O error", new ConnectException("refused"))));
+        assertFalse(policy.isRetryableFailure(new MicroserviceRestClientException("Failed to decode")));
+    }
+
+    @Test
+    public void testExponentialBackoffWithJitter() {
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, policy.delayBeforeRetry(1, responseException(503, Collections.emptyMap())).toMillis());
+            assertBetween(100, 200, policy.delayBeforeRetry(2, responseException(503, Collections.emptyMap())).toMillis());
+            assertBetween(150, 300, policy.delayBeforeRetry(5, responseException(503, Collections.emptyMap())).toMillis());
+        }
+    }
+
+    @Test
+    public void testRetryAfter() {
+        assertEquals(Duration.ofSeconds(3), policy.delayBeforeRetry(1,
+                responseException(503, Map.of("retry-after", List.of("3")))));
+        assertNull(policy.delayBeforeRetry(1, responseException(503, Map.of("Retry-After", List.of("60")))));
+    }
+
+    @Test
+    public void testRetryBudget() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+        assertEquals(2, budget.getAvailableRetries(), 0.0001);
+    }
+
+    private static MicroserviceRestClientResponseException responseException(int status, Map<String, List<String>> headers) {
+        return new MicroserviceRestClientResponseException("error", status, new byte[0], headers);
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual + " is not in [" + min + ", " + max + "]", actual >= min && actual <= max);
+    }
+}
@@ -0,0 +1,141 @@
+package org.qubership.cloud.restclient.benchmarks;
+
+import org.qubership.cloud.restclient.CompiledUriTemplate;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.codec.BodyCodec;
+import org.qubership.cloud.restclient.codec.JacksonBodyCodec;
+import org.qubership.cloud.restclient.entity.RequestHeaders;
+import org.qubership.cloud.restclient.resttemplate.MicroserviceRestTemplate;
+import org.qubership.cloud.restclient.webclient.MicroserviceWebClient;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared benchmark state: local server, client under test and prepared request data.
+ */
+@State(Scope.Benchmark)
+public class ClientState {
+    public static final String REST_TEMPLATE = "resttemplate";
+    public static final String WEB_CLIENT = "webclient";
+    public static final String CONVERTERS = "converters";
+    public static final String JACKSON = "jackson";
+    public static final String BLACKBIRD = "blackbird";
+
+    private static final int CODEC_MAX_IN_MEMORY_SIZE = 64 * 1024 * 1024;
+
+    @Param({REST_TEMPLATE, WEB_CLIENT})
+    public String client;
+
+    /**
+     * Body conversion, compare with {@code -p codec=converters,jackson,blackbird}.
+     */
+    @Param({CONVERTERS})
+    public String codec;
+
+    @Param({"1000"})
+    public int largeItemsCount;
+
+    @Param({"30"})
+    public int headersCount;
+
+    LocalHttpServer server;
+    MicroserviceRestClient restClient;
+
+    URI smallUri;
+    URI largeUri;
+    URI echoUri;
+    URI tmfErrorUri;
+    String itemUriTemplate;
+    CompiledUriTemplate compiledItemUriTemplate;
+    Map<String, Object> itemUriParams;
+    Item smallRequestBody;
+    List<Item> largeRequestBody;
+    Map<String, List<String>> heavyHeaders;
+    RequestHeaders heavyHeadersTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalHttpServer(largeItemsCount);
+        restClient = createClient(client, createCodec(codec));
+
+        String baseUrl = server.baseUrl();
+        smallUri = URI.create(baseUrl + LocalHttpServer.SMALL_PATH);
+        largeUri = URI.create(baseUrl + LocalHttpServer.LARGE_PATH);
+        echoUri = URI.create(baseUrl + LocalHttpServer.ECHO_PATH);
+        tmfErrorUri = URI.create(baseUrl + LocalHttpServer.TMF_ERROR_PATH);
+        itemUriTemplate = baseUrl + LocalHttpServer.ITEMS_PATH + "{id}?view={view}&name={name}";
+        compiledItemUriTemplate = CompiledUriTemplate.compile(itemUriTemplate);
+        itemUriParams = new HashMap<>();
+        itemUriParams.put("id", 42);
+        itemUriParams.put("view", "full");
+        itemUriParams.put("name", "item with spaces & symbols");
+
+        smallRequestBody = Item.create(1);
+        largeRequestBody = new ArrayList<>(largeItemsCount);
+        for (int i = 0; i < largeItemsCount; i++) {
+            largeRequestBody.add(Item.create(i));
+        }
+
+        heavyHeaders = new HashMap<>();
+        for (int i = 0; i < headersCount; i++) {
+            heavyHeaders.put("X-Benchmark-Header-" + i, Collections.singletonList("value-of-benchmark-header-" + i));
+        }
+        heavyHeaders.put("Content-Type", Collections.singletonList("application/json"));
+        heavyHeadersTemplate = RequestHeaders.of(heavyHeaders);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (restClient instanceof Closeable) {
+            try {
+                ((Closeable) restClient).close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        server.close();
+    }
+
+    static MicroserviceRestClient createClient(String client, BodyCodec codec) {
+        switch (client) {
+            case REST_TEMPLATE:
+                return new MicroserviceRestTemplate().withCodec(codec);
+            case WEB_CLIENT:
+                return new MicroserviceWebClient(WebClient.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(CODEC_MAX_IN_MEMORY_SIZE))
+                        .build())
+                        .withCodec(codec);
+            default:
+                throw new IllegalArgumentException("Unknown client: " + client);
+        }
+    }
+
+    static BodyCodec createCodec(String codec) {
+        switch (codec) {
+            case CONVERTERS:
+                return null;
+            case JACKSON:
+                return new JacksonBodyCodec();
+            case BLACKBIRD:
+                return JacksonBodyCodec.withBlackbird(new ObjectMapper());
+            default:
+                throw new IllegalArgumentException("Unknown codec: " + codec);
+        }
+    }
+}
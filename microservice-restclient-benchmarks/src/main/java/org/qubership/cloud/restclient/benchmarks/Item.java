@@ -0,0 +1,26 @@
+package org.qubership.cloud.restclient.benchmarks;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class Item {
+    private long id;
+    private String name;
+    private String description;
+    private List<String> tags = new ArrayList<>();
+
+    public static Item create(long id) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item-" + id);
+        item.setDescription("Description of benchmark item number " + id);
+        item.getTags().add("tag-a");
+        item.getTags().add("tag-b");
+        return item;
+    }
+}
@@ -0,0 +1,85 @@
+package org.qubership.cloud.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server with canned responses, so that benchmarks measure the client side only. Benchmarks should run
+ * it with {@code -Dsun.net.httpserver.nodelay=true}, see {@link MicroserviceRestClientBenchmark}.
+ */
+public class LocalHttpServer implements AutoCloseable {
+    static final String SMALL_PATH = "/small";
+    static final String LARGE_PATH = "/large";
+    static final String ECHO_PATH = "/echo";
+    static final String ITEMS_PATH = "/items/";
+    static final String TMF_ERROR_PATH = "/tmf-error";
+
+    private static final String APPLICATION_JSON = "application/json";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] smallBody;
+    private final byte[] largeBody;
+    private final byte[] tmfErrorBody;
+
+    public LocalHttpServer(int largeItemsCount) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        this.smallBody = mapper.writeValueAsBytes(Item.create(1));
+        List<Item> items = new ArrayList<>(largeItemsCount);
+        for (int i = 0; i < largeItemsCount; i++) {
+            items.add(Item.create(i));
+        }
+        this.largeBody = mapper.writeValueAsBytes(items);
+        this.tmfErrorBody = ("{\"id\":\"2f1c5c3e-0a4c-4a3b-9d6e-0c3f4b9a1e11\",\"code\":\"BENCH-0001\"," +
+                "\"reason\":\"Benchmark error\",\"detail\":\"Error returned by benchmark server\"," +
+                "\"status\":\"500\",\"@type\":\"NC.TMFErrorResponse.v1.0\"}").getBytes(StandardCharsets.UTF_8);
+
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext(SMALL_PATH, exchange -> respond(exchange, 200, smallBody));
+        this.server.createContext(LARGE_PATH, exchange -> respond(exchange, 200, largeBody));
+        this.server.createContext(ITEMS_PATH, exchange -> respond(exchange, 200, smallBody));
+        this.server.createContext(TMF_ERROR_PATH, exchange -> respond(exchange, 500, tmfErrorBody));
+        this.server.createContext(ECHO_PATH, exchange -> respond(exchange, 200, null));
+        this.server.start();
+    }
+
+    /**
+     * Sends given body, or the request body back if it is {@code null}.
+     */
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            byte[] requestBody = inputStream.readAllBytes();
+            if (body == null) {
+                body = requestBody;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", APPLICATION_JSON);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,95 @@
+package org.qubership.cloud.restclient.benchmarks;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.codec.JsonElementIterator;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link org.qubership.cloud.restclient.MicroserviceRestClient} implementations against a local server.
+ * Run with {@code -prof gc} (default of {@link BenchmarkRunner}) to get allocation rates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// otherwise Nagle's algorithm combined with delayed ACKs adds ~40ms to every exchange with LocalHttpServer
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class MicroserviceRestClientBenchmark {
+
+    @Benchmark
+    public RestClientResponseEntity<Item> smallJsonGet(ClientState state) {
+        return state.restClient.doRequest(state.smallUri, HttpMethod.GET, null, null, Item.class);
+    }
+
+    @Benchmark
+    public RestClientResponseEntity<Item[]> largeJsonGet(ClientState state) {
+        return state.restClient.doRequest(state.largeUri, HttpMethod.GET, null, null, Item[].class);
+    }
+
+    /**
+     * Same response as {@link #largeJsonGet(ClientState)} parsed element by element.
+     */
+    @Benchmark
+    public void largeJsonGetElements(ClientState state, Blackhole blackhole) {
+        try (JsonElementIterator<Item> elements = state.restClient.doRequestForElements(state.largeUri, HttpMethod.GET, null, null, Item.class)) {
+            elements.forEachRemaining(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public RestClientResponseEntity<Item> smallJsonPost(ClientState state) {
+        return state.restClient.doRequest(state.echoUri, HttpMethod.POST, null, state.smallRequestBody, Item.class);
+    }
+
+    @Benchmark
+    public RestClientResponseEntity<Item[]> largeJsonPost(ClientState state) {
+        return state.restClient.doRequest(state.echoUri, HttpMethod.POST, null, state.largeRequestBody, Item[].class);
+    }
+
+    @Benchmark
+    public RestClientResponseEntity<Item> uriTemplateExpansion(ClientState state) {
+        return state.restClient.doRequest(state.itemUriTemplate, HttpMethod.GET, null, null, Item.class, state.itemUriParams);
+    }
+
+    /**
+     * Same request as {@link #uriTemplateExpansion(ClientState)} with the template compiled in advance.
+     */
+    @Benchmark
+    public RestClientResponseEntity<Item> compiledUriTemplateExpansion(ClientState state) {
+        return state.restClient.doRequest(state.compiledItemUriTemplate, HttpMethod.GET, null, null, Item.class, state.itemUriParams);
+    }
+
+    @Benchmark
+    public RestClientResponseEntity<Item> headerHeavyGet(ClientState state) {
+        return state.restClient.doRequest(state.smallUri, HttpMethod.GET, state.heavyHeaders, null, Item.class);
+    }
+
+    /**
+     * Same headers as {@link #headerHeavyGet(ClientState)} passed as a pre-built template.
+     */
+    @Benchmark
+    public RestClientResponseEntity<Item> headerHeavyGetTemplate(ClientState state) {
+        return state.restClient.doRequest(state.smallUri, HttpMethod.GET, state.heavyHeadersTemplate, null, Item.class);
+    }
+
+    @Benchmark
+    public MicroserviceRestClientResponseException tmfErrorResponse(ClientState state) {
+        try {
+            state.restClient.doRequest(state.tmfErrorUri, HttpMethod.GET, null, null, Item.class);
+        } catch (MicroserviceRestClientResponseException e) {
+            return e;
+        }
+        throw new IllegalStateException("Error response is expected");
+    }
+}
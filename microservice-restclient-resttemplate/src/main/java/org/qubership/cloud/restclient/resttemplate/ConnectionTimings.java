@@ -0,0 +1,97 @@
+package org.qubership.cloud.restclient.resttemplate;
+
+import org.qubership.cloud.restclient.metrics.RequestTimingsRecorder;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Reports connection phases of HttpClient5 exchanges to the {@link RequestTimingsRecorder} bound to the calling
+ * thread. Classic HttpClient5 performs DNS resolution, connect, TLS handshake and the exchange on the thread which
+ * executes the request, so a thread local is enough to correlate them with the request.
+ */
+final class ConnectionTimings {
+    private static final ThreadLocal<RequestTimingsRecorder> CURRENT = new ThreadLocal<>();
+
+    private ConnectionTimings() {
+    }
+
+    static void bind(RequestTimingsRecorder recorder) {
+        CURRENT.set(recorder);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static DnsResolver dnsResolver(DnsResolver delegate) {
+        return new DnsResolver() {
+            @Override
+            public InetAddress[] resolve(String host) throws UnknownHostException {
+                long start = System.nanoTime();
+                try {
+                    return delegate.resolve(host);
+                } finally {
+                    RequestTimingsRecorder recorder = CURRENT.get();
+                    if (recorder != null) {
+                        recorder.addDnsTime(System.nanoTime() - start);
+                    }
+                }
+            }
+
+            @Override
+            public String resolveCanonicalHostname(String host) throws UnknownHostException {
+                return delegate.resolveCanonicalHostname(host);
+            }
+        };
+    }
+
+    static DnsResolver dnsResolver() {
+        return dnsResolver(SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    static TlsSocketStrategy tlsSocketStrategy(TlsSocketStrategy delegate) {
+        return (socket, target, port, attachment, context) -> {
+            long start = System.nanoTime();
+            try {
+                return delegate.upgrade(socket, target, port, attachment, context);
+            } finally {
+                RequestTimingsRecorder recorder = CURRENT.get();
+                if (recorder != null) {
+                    recorder.addTlsTime(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Marks the start of connection establishment before {@link ChainElement#CONNECT} and the start of the exchange
+     * before {@link ChainElement#MAIN_TRANSPORT}, which returns once response headers are received.
+     */
+    static HttpClientBuilder instrument(HttpClientBuilder httpClientBuilder) {
+        return httpClientBuilder
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "connect-timings", (request, scope, chain) -> {
+                    RequestTimingsRecorder recorder = CURRENT.get();
+                    if (recorder != null) {
+                        recorder.connectStarted();
+                    }
+                    return chain.proceed(request, scope);
+                })
+                .addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "transport-timings", (request, scope, chain) -> {
+                    RequestTimingsRecorder recorder = CURRENT.get();
+                    if (recorder == null) {
+                        return chain.proceed(request, scope);
+                    }
+                    recorder.requestStarted();
+                    ClassicHttpResponse response = chain.proceed(request, scope);
+                    recorder.headersReceived();
+                    return response;
+                });
+    }
+}
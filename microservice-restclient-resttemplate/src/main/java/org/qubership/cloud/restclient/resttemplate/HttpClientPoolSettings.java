@@ -0,0 +1,86 @@
+package org.qubership.cloud.restclient.resttemplate;
+
+import org.qubership.cloud.restclient.compression.CompressionSettings;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled HttpClient5 connection manager which {@link MicroserviceRestTemplate} uses by default.
+ * <p>
+ * {@code null} durations mean that the corresponding limit is not applied.
+ */
+@Getter
+@Builder
+@ToString
+public class HttpClientPoolSettings {
+    /**
+     * Max number of connections in the pool across all routes.
+     */
+    @Builder.Default
+    private final int maxConnTotal = 200;
+    /**
+     * Max number of connections to a single route (scheme, host and port).
+     */
+    @Builder.Default
+    private final int maxConnPerRoute = 50;
+    /**
+     * Total time a connection may be reused for. Expired connections are closed instead of being leased.
+     */
+    @Builder.Default
+    private final Duration connectionTimeToLive = Duration.ofMinutes(10);
+    /**
+     * Pooled connections idle for longer than this are closed by a background evictor.
+     */
+    @Builder.Default
+    private final Duration evictIdleConnectionsAfter = Duration.ofMinutes(1);
+    /**
+     * Whether a background evictor closes connections whose time to live is over.
+     */
+    @Builder.Default
+    private final boolean evictExpiredConnections = true;
+    /**
+     * Connections idle for longer than this are checked for staleness before they are leased.
+     */
+    @Builder.Default
+    private final Duration validateAfterInactivity = Duration.ofSeconds(2);
+    @Builder.Default
+    private final Duration connectTimeout = Duration.ofSeconds(10);
+    /**
+     * Max time to wait for a connection from the pool.
+     */
+    @Builder.Default
+    private final Duration connectionRequestTimeout = Duration.ofSeconds(30);
+    /**
+     * Max time to wait for the response after the request is sent. Not limited by default.
+     */
+    @Builder.Default
+    private final Duration responseTimeout = null;
+    /**
+     * {@link PoolConcurrencyPolicy#LAX} locks the pool per route only, which removes contention of many
+     * concurrent callers at the cost of {@link #maxConnTotal} not being enforced.
+     */
+    @Builder.Default
+    private final PoolConcurrencyPolicy poolConcurrencyPolicy = PoolConcurrencyPolicy.STRICT;
+    /**
+     * Compression of request bodies, {@code null} disables it. Responses are decompressed regardless unless
+     * {@link CompressionSettings#isDecompressResponses()} is turned off.
+     */
+    @Builder.Default
+    private final CompressionSettings compression = null;
+
+    /**
+     * Defaults for {@link MicroserviceRestTemplate#withVirtualThreads()}: a larger pool with
+     * {@link PoolConcurrencyPolicy#LAX} policy, since callers are cheap and their number is not bounded
+     * by a thread pool.
+     */
+    public static HttpClientPoolSettingsBuilder virtualThreadsBuilder() {
+        return builder()
+                .maxConnTotal(1000)
+                .maxConnPerRoute(200)
+                .poolConcurrencyPolicy(PoolConcurrencyPolicy.LAX);
+    }
+}
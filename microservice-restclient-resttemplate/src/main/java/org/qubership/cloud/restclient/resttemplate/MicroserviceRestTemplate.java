@@ -3,53 +3,146 @@ package org.qubership.cloud.restclient.resttemplate;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
 import org.qubership.cloud.core.error.rest.tmf.DefaultTmfErrorResponseConverter;
-import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
 import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponseConverter;
 import org.qubership.cloud.restclient.AbstractMicroserviceRestClient;
 import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.codec.BodyCodec;
+import org.qubership.cloud.restclient.compression.RequestCompressor;
+import org.qubership.cloud.restclient.codec.JacksonBodyCodec;
+import org.qubership.cloud.restclient.codec.JsonElementIterator;
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestSpec;
+import org.qubership.cloud.restclient.entity.RequestHeaders;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.error.ErrorDecodingSettings;
+import org.qubership.cloud.restclient.error.ErrorResponseProcessor;
+import org.qubership.cloud.restclient.error.TmfErrorResponseDecoder;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.metrics.RequestSample;
+import org.qubership.cloud.restclient.retry.Retrier;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @Slf4j
-public class MicroserviceRestTemplate extends AbstractMicroserviceRestClient {
+public class MicroserviceRestTemplate extends AbstractMicroserviceRestClient implements Closeable {
+    /**
+     * Size of the platform thread pool of async exchanges when virtual threads are not supported and the client is
+     * not created with {@link HttpClientPoolSettings}, matches the default {@code maxConnTotal}.
+     */
+    private static final int DEFAULT_ASYNC_POOL_SIZE = 200;
+
     private final RestTemplate restTemplate;
     @Getter
-    @Setter
     private ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     @Getter
-    @Setter
     private TmfErrorResponseConverter converter = new DefaultTmfErrorResponseConverter();
+    private ErrorDecodingSettings errorDecodingSettings = ErrorDecodingSettings.builder().build();
+    private volatile ErrorResponseProcessor errorProcessor;
+    /**
+     * Executor which runs blocking exchanges of {@code doRequestAsync} and {@code doRequests} calls. Defaults to an
+     * executor of this client created by {@link VirtualThreads#newExecutor(int)}, i.e. virtual threads where the
+     * runtime supports them and a pool of {@code maxConnTotal} platform threads otherwise.
+     */
+    @Getter
+    @Setter
+    private Executor asyncExecutor;
+    private Retrier retrier;
+    @Getter
+    private volatile BodyCodec codec;
+    @Getter
+    private volatile RequestMetricsListener metricsListener = RequestMetricsListener.NONE;
+    /**
+     * Compressor of request bodies configured by {@link HttpClientPoolSettings#getCompression()}, {@code null} if
+     * compression is disabled or the client is created with a custom {@link RestTemplate}.
+     */
+    @Getter
+    private RequestCompressor requestCompressor;
+    /**
+     * HttpClient created by this client, {@code null} if the client is created with a custom {@link RestTemplate}.
+     */
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService ownAsyncExecutor;
+
+    /**
+     * Creates client on top of a pooled HttpClient5 with default {@link HttpClientPoolSettings}.
+     */
+    public MicroserviceRestTemplate() {
+        this(HttpClientPoolSettings.builder().build());
+    }
+
+    public MicroserviceRestTemplate(HttpClientPoolSettings poolSettings) {
+        this(poolSettings, poolSettings.getCompression() == null ? null : new RequestCompressor(poolSettings.getCompression()));
+    }
+
+    private MicroserviceRestTemplate(HttpClientPoolSettings poolSettings, RequestCompressor requestCompressor) {
+        this(createHttpClient(poolSettings, requestCompressor), poolSettings.getMaxConnTotal());
+        this.requestCompressor = requestCompressor;
+    }
 
-    public MicroserviceRestTemplate() {        this(new RestTemplate());
+    private MicroserviceRestTemplate(CloseableHttpClient httpClient, int asyncPoolSize) {
+        this(new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)), asyncPoolSize, httpClient);
     }
 
+    /**
+     * Creates client on top of given {@link RestTemplate}, which is not closed by {@link #close()}.
+     */
     public MicroserviceRestTemplate(RestTemplate restTemplate) {
+        this(restTemplate, DEFAULT_ASYNC_POOL_SIZE, null);
+    }
+
+    private MicroserviceRestTemplate(RestTemplate restTemplate, int asyncPoolSize, CloseableHttpClient httpClient) {
         this.restTemplate = restTemplate;
+        this.httpClient = httpClient;
+        this.ownAsyncExecutor = VirtualThreads.newExecutor(asyncPoolSize);
+        this.asyncExecutor = ownAsyncExecutor;
         this.restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
             @Override
             protected boolean hasError(HttpStatusCode unknownStatusCode) {
@@ -60,13 +153,157 @@ public class MicroserviceRestTemplate extends AbstractMicroserviceRestClient {
         });
     }
 
+    /**
+     * Enables retries of failed requests according to given policy, {@code null} disables them. The retry budget
+     * is tracked per client. Retries of async requests wait on {@link #asyncExecutor} thread.
+     */
+    public MicroserviceRestTemplate withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retrier = retryPolicy == null ? null : new Retrier(retryPolicy);
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retrier == null ? null : retrier.getPolicy();
+    }
+
+    public void setMapper(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.errorProcessor = null;
+    }
+
+    public void setConverter(TmfErrorResponseConverter converter) {
+        this.converter = converter;
+        this.errorProcessor = null;
+    }
+
+    /**
+     * Configures how error responses are converted to {@link MicroserviceRestClientResponseException}.
+     */
+    public MicroserviceRestTemplate withErrorDecoding(ErrorDecodingSettings errorDecodingSettings) {
+        this.errorDecodingSettings = errorDecodingSettings;
+        this.errorProcessor = null;
+        return this;
+    }
+
+    public ErrorDecodingSettings getErrorDecodingSettings() {
+        return errorDecodingSettings;
+    }
+
+    private ErrorResponseProcessor errorProcessor() {
+        ErrorResponseProcessor processor = errorProcessor;
+        if (processor == null) {
+            processor = new ErrorResponseProcessor(errorDecodingSettings, new TmfErrorResponseDecoder(mapper, converter));
+            errorProcessor = processor;
+        }
+        return processor;
+    }
+
+    /**
+     * Makes given codec read and write bodies it supports instead of message converters of the {@link RestTemplate},
+     * {@code null} restores message converters. Request bodies are written straight to the connection and response
+     * bodies are read from it. Streaming requests and bodies of error responses are not affected.
+     */
+    public MicroserviceRestTemplate withCodec(BodyCodec codec) {
+        this.codec = codec;
+        return this;
+    }
+
+    /**
+     * Reports every exchange, including retried attempts, to given listener, {@code null} disables reporting.
+     * Streaming exchanges are reported once response headers are received. Phase timings are measured for clients
+     * created with {@link HttpClientPoolSettings} only.
+     */
+    public MicroserviceRestTemplate withMetrics(RequestMetricsListener metricsListener) {
+        this.metricsListener = metricsListener == null ? RequestMetricsListener.NONE : metricsListener;
+        return this;
+    }
+
+    /**
+     * Creates client with pool settings of {@link HttpClientPoolSettings#virtualThreadsBuilder()}, which suit many
+     * concurrent exchanges on virtual threads, see {@link VirtualThreads}.
+     */
+    public static MicroserviceRestTemplate withVirtualThreads() {
+        return new MicroserviceRestTemplate(HttpClientPoolSettings.virtualThreadsBuilder().build());
+    }
+
+    /**
+     * Creates request factory backed by HttpClient5 with keep-alive connection pool configured by given settings.
+     */
+    public static HttpComponentsClientHttpRequestFactory createRequestFactory(HttpClientPoolSettings poolSettings) {
+        RequestCompressor requestCompressor = poolSettings.getCompression() == null ? null : new RequestCompressor(poolSettings.getCompression());
+        return new HttpComponentsClientHttpRequestFactory(createHttpClient(poolSettings, requestCompressor));
+    }
+
+    /**
+     * Closes the connection pool of the HttpClient created by this client, which stops its idle connection evictor,
+     * and shuts the default async executor down. Exchanges in progress are allowed to complete.
+     */
+    @Override
+    public void close() {
+        ownAsyncExecutor.shutdown();
+        if (httpClient != null) {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    private static CloseableHttpClient createHttpClient(HttpClientPoolSettings poolSettings, RequestCompressor requestCompressor) {
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+        if (poolSettings.getConnectTimeout() != null) {
+            connectionConfig.setConnectTimeout(Timeout.of(poolSettings.getConnectTimeout()));
+        }
+        if (poolSettings.getConnectionTimeToLive() != null) {
+            connectionConfig.setTimeToLive(TimeValue.of(poolSettings.getConnectionTimeToLive()));
+        }
+        if (poolSettings.getValidateAfterInactivity() != null) {
+            connectionConfig.setValidateAfterInactivity(TimeValue.of(poolSettings.getValidateAfterInactivity()));
+        }
+        HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(poolSettings.getMaxConnTotal())
+                .setMaxConnPerRoute(poolSettings.getMaxConnPerRoute())
+                .setPoolConcurrencyPolicy(poolSettings.getPoolConcurrencyPolicy())
+                .setDefaultConnectionConfig(connectionConfig.build())
+                .setDnsResolver(ConnectionTimings.dnsResolver())
+                .setTlsSocketStrategy(ConnectionTimings.tlsSocketStrategy(DefaultClientTlsStrategy.createDefault()))
+                .build();
+
+        RequestConfig.Builder requestConfig = RequestConfig.custom();
+        if (poolSettings.getConnectionRequestTimeout() != null) {
+            requestConfig.setConnectionRequestTimeout(Timeout.of(poolSettings.getConnectionRequestTimeout()));
+        }
+        if (poolSettings.getResponseTimeout() != null) {
+            requestConfig.setResponseTimeout(Timeout.of(poolSettings.getResponseTimeout()));
+        }
+        HttpClientBuilder httpClientBuilder = ConnectionTimings.instrument(HttpClients.custom())
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig.build());
+        if (poolSettings.isEvictExpiredConnections()) {
+            httpClientBuilder.evictExpiredConnections();
+        }
+        if (poolSettings.getEvictIdleConnectionsAfter() != null) {
+            httpClientBuilder.evictIdleConnections(TimeValue.of(poolSettings.getEvictIdleConnectionsAfter()));
+        }
+        if (requestCompressor != null) {
+            RequestCompression.instrument(httpClientBuilder, requestCompressor);
+        }
+        return httpClientBuilder.build();
+    }
 
-    private static HttpHeaders setHttpHeaders(Map<String, List<String>> headers) {
+    private static HttpHeaders setHttpHeaders(Map<String, List<String>> headers, Object requestBody) {
+        if (headers instanceof RequestHeaders && !(requestBody instanceof StreamingRequestBody)) {
+            return ((RequestHeaders) headers).getTransportHeaders(HttpHeaders.class, MicroserviceRestTemplate::toHttpHeaders);
+        }
         HttpHeaders httpHeaders = new HttpHeaders();
         if (headers != null) {
-            httpHeaders.addAll(new HttpHeaders(new LinkedMultiValueMap<>(headers)));
-        } else {
-            httpHeaders.addAll(new HttpHeaders(new LinkedMultiValueMap<>()));
+            headers.forEach(httpHeaders::addAll);
+        }
+        if (requestBody instanceof StreamingRequestBody) {
+            StreamingRequestBody streamingRequestBody = (StreamingRequestBody) requestBody;
+            if (null == httpHeaders.getContentType()) {
+                httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            }
+            if (streamingRequestBody.isContentLengthKnown()) {
+                httpHeaders.setContentLength(streamingRequestBody.getContentLength());
+            }
         }
         if (null == httpHeaders.getContentType()) {
             httpHeaders.setContentType(MediaType.APPLICATION_JSON);
@@ -74,6 +311,113 @@ public class MicroserviceRestTemplate extends AbstractMicroserviceRestClient {
         return httpHeaders;
     }
 
+    /**
+     * Read-only headers of the template, they are copied to the request by {@link RestTemplate}.
+     */
+    private static HttpHeaders toHttpHeaders(RequestHeaders headers) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        headers.forEach(httpHeaders::addAll);
+        if (null == httpHeaders.getContentType()) {
+            httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return HttpHeaders.readOnlyHttpHeaders(httpHeaders);
+    }
+
+    /**
+     * Callback which writes {@link StreamingRequestBody} directly to the connection when request factory
+     * supports it. Interceptors of the RestTemplate make the request buffered.
+     */
+    private RequestCallback streamingRequestCallback(StreamingRequestBody requestBody,
+                                                     HttpHeaders httpHeaders,
+                                                     Class<?> responseClass) {
+        return request -> {
+            if (responseClass != null) {
+                restTemplate.acceptHeaderRequestCallback(responseClass).doWithRequest(request);
+            }
+            request.getHeaders().putAll(httpHeaders);
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(requestBody::writeTo);
+            } else {
+                requestBody.writeTo(request.getBody());
+            }
+        };
+    }
+
+    /**
+     * Callback which writes body with the codec if it supports the body, otherwise with message converters.
+     */
+    private RequestCallback codecRequestCallback(BodyCodec codec,
+                                                 Object requestBody,
+                                                 HttpHeaders httpHeaders,
+                                                 Class<?> responseClass) {
+        if (requestBody != null && !codec.canWrite(requestBody.getClass(), httpHeaders.getFirst(HttpHeaders.CONTENT_TYPE))) {
+            return restTemplate.httpEntityCallback(new HttpEntity<>(requestBody, httpHeaders), responseClass);
+        }
+        return request -> {
+            if (codec.canRead(responseClass, null)) {
+                request.getHeaders().set(HttpHeaders.ACCEPT, codec.getAccept());
+            } else {
+                restTemplate.acceptHeaderRequestCallback(responseClass).doWithRequest(request);
+            }
+            request.getHeaders().putAll(httpHeaders);
+            if (requestBody == null) {
+                return;
+            }
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(new StreamingHttpOutputMessage.Body() {
+                    @Override
+                    public void writeTo(OutputStream outputStream) throws IOException {
+                        codec.write(requestBody, outputStream);
+                    }
+
+                    @Override
+                    public boolean repeatable() {
+                        // lets request compression buffer the body as it does for bodies of message converters
+                        return true;
+                    }
+                });
+            } else {
+                codec.write(requestBody, request.getBody());
+            }
+        };
+    }
+
+    /**
+     * Extractor which reads body with the codec if it supports content type of the response, otherwise with message
+     * converters.
+     */
+    private <T> ResponseExtractor<ResponseEntity<T>> codecResponseExtractor(BodyCodec codec, Class<T> responseClass) {
+        return response -> {
+            HttpHeaders headers = response.getHeaders();
+            if (!codec.canRead(responseClass, headers.getFirst(HttpHeaders.CONTENT_TYPE))) {
+                return restTemplate.<T>responseEntityExtractor(responseClass).extractData(response);
+            }
+            return new ResponseEntity<>(readBody(codec, responseClass, response), headers, response.getStatusCode());
+        };
+    }
+
+    private static <T> T readBody(BodyCodec codec, Class<T> responseClass, ClientHttpResponse response) throws IOException {
+        HttpStatusCode status = response.getStatusCode();
+        if (status.is1xxInformational() || status.value() == HttpStatus.NO_CONTENT.value()
+                || status.value() == HttpStatus.NOT_MODIFIED.value() || response.getHeaders().getContentLength() == 0) {
+            return null;
+        }
+        PushbackInputStream body = new PushbackInputStream(response.getBody(), 1);
+        int first = body.read();
+        if (first == -1) {
+            return null;
+        }
+        body.unread(first);
+        return codec.read(responseClass, body);
+    }
+
+    private RequestCallback requestCallback(Object requestBody, HttpHeaders httpHeaders) {
+        if (requestBody instanceof StreamingRequestBody) {
+            return streamingRequestCallback((StreamingRequestBody) requestBody, httpHeaders, null);
+        }
+        return restTemplate.httpEntityCallback(new HttpEntity<>(requestBody, httpHeaders));
+    }
+
     @Override
     public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
                                                      HttpMethod httpMethod,
@@ -93,35 +437,261 @@ public class MicroserviceRestTemplate extends AbstractMicroserviceRestClient {
                                                      Map<String, List<String>> headers,
                                                      Object requestBody,
                                                      Class<T> responseClass) {
+        Retrier currentRetrier = retrier;
+        if (currentRetrier == null) {
+            return exchange(uri, httpMethod, headers, requestBody, responseClass);
+        }
+        return currentRetrier.execute(httpMethod, requestBody, () -> exchange(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    private <T> RestClientResponseEntity<T> exchange(URI uri,
+                                                     HttpMethod httpMethod,
+                                                     Map<String, List<String>> headers,
+                                                     Object requestBody,
+                                                     Class<T> responseClass) {
+        RequestSample sample = RequestSample.start(metricsListener, uri, httpMethod);
+        long requestBytes = RequestSample.requestSize(requestBody);
+        ConnectionTimings.bind(sample.getTimings());
         try {
-            HttpHeaders httpHeaders = setHttpHeaders(headers);
-            HttpEntity<Object> requestEntity = new HttpEntity<>(requestBody, httpHeaders);
-            ResponseEntity<T> responseEntity = restTemplate.exchange(uri,
-                    convertHttpMethod(httpMethod),
-                    requestEntity,
-                    responseClass);
+            RestClientResponseEntity<T> response = doExchange(uri, httpMethod, headers, requestBody, responseClass);
+            sample.getTimings().bodyReceived();
+            response.setTimings(sample.getTimings().toTimings());
+            sample.stop(response, requestBytes);
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(e, requestBytes);
+            throw e;
+        } finally {
+            ConnectionTimings.unbind();
+        }
+    }
+
+    private <T> RestClientResponseEntity<T> doExchange(URI uri,
+                                                       HttpMethod httpMethod,
+                                                       Map<String, List<String>> headers,
+                                                       Object requestBody,
+                                                       Class<T> responseClass) {
+        try {
+            HttpHeaders httpHeaders = setHttpHeaders(headers, requestBody);
+            BodyCodec currentCodec = codec;
+            ResponseEntity<T> responseEntity;
+            if (requestBody instanceof StreamingRequestBody) {
+                responseEntity = restTemplate.execute(uri,
+                        convertHttpMethod(httpMethod),
+                        streamingRequestCallback((StreamingRequestBody) requestBody, httpHeaders, responseClass),
+                        restTemplate.responseEntityExtractor(responseClass));
+            } else if (currentCodec != null && responseClass != null) {
+                responseEntity = restTemplate.execute(uri,
+                        convertHttpMethod(httpMethod),
+                        codecRequestCallback(currentCodec, requestBody, httpHeaders, responseClass),
+                        codecResponseExtractor(currentCodec, responseClass));
+            } else {
+                HttpEntity<Object> requestEntity = new HttpEntity<>(requestBody, httpHeaders);
+                responseEntity = restTemplate.exchange(uri,
+                        convertHttpMethod(httpMethod),
+                        requestEntity,
+                        responseClass);
+            }
+            if (responseEntity == null) {
+                throw new MicroserviceRestClientException("Null HTTP response");
+            }
             return new RestClientResponseEntity<>(responseEntity.getBody(),
                     responseEntity.getStatusCodeValue(),
                     responseEntity.getHeaders());
 
         } catch (RestClientResponseException e) {
-            // try to convert to TMF response
-            MicroserviceRestClientResponseException mce;
-            try {
-                TmfErrorResponse tmfErrorResponse = mapper.readValue(e.getResponseBodyAsByteArray(), TmfErrorResponse.class);
-                final RemoteCodeException remoteCodeException = converter.buildErrorCodeException(tmfErrorResponse);
-                mce = new MicroserviceRestClientResponseException(remoteCodeException.getMessage(), remoteCodeException, e.getRawStatusCode(), e.getResponseBodyAsByteArray(), e.getResponseHeaders());
-            } catch (Exception ce) {
-                // failed to parse as TMF format, fallback to non-TMF response
-                log.warn("Failed to parse response as TMF error response, cause: {}", ce.getMessage());
-                mce = new MicroserviceRestClientResponseException(e.getMessage(), e, e.getRawStatusCode(), e.getResponseBodyAsByteArray(), e.getResponseHeaders());
-            }
-            throw mce;
+            throw processRestClientResponseException(e);
         } catch (RestClientException e) {
             throw new MicroserviceRestClientException(e.getMessage(), e);
         }
     }
 
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        Retrier currentRetrier = retrier;
+        if (currentRetrier == null) {
+            return exchangeForStream(uri, httpMethod, headers, requestBody);
+        }
+        return currentRetrier.execute(httpMethod, requestBody, () -> exchangeForStream(uri, httpMethod, headers, requestBody));
+    }
+
+    private RestClientStreamingResponse exchangeForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        RequestSample sample = RequestSample.start(metricsListener, uri, httpMethod);
+        long requestBytes = RequestSample.requestSize(requestBody);
+        ConnectionTimings.bind(sample.getTimings());
+        try {
+            RestClientStreamingResponse response = doExchangeForStream(uri, httpMethod, headers, requestBody);
+            sample.stop(response.getHttpStatus(), requestBytes, RequestSample.responseSize(response.getHeaders(), null), null);
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(e, requestBytes);
+            throw e;
+        } finally {
+            ConnectionTimings.unbind();
+        }
+    }
+
+    private RestClientStreamingResponse doExchangeForStream(URI uri,
+                                                            HttpMethod httpMethod,
+                                                            Map<String, List<String>> headers,
+                                                            Object requestBody) {
+        org.springframework.http.HttpMethod method = convertHttpMethod(httpMethod);
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, method);
+            requestCallback(requestBody, setHttpHeaders(headers, requestBody)).doWithRequest(request);
+            response = request.execute();
+            ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+            if (errorHandler.hasError(response)) {
+                try {
+                    errorHandler.handleError(uri, method, response);
+                } catch (IOException | RuntimeException e) {
+                    response.close();
+                    throw e;
+                }
+                // a lenient error handler lets the error response through, as in doRequest
+            }
+            return new RestClientStreamingResponse(response.getStatusCode().value(),
+                    response.getHeaders(),
+                    response.getBody(),
+                    response);
+        } catch (RestClientResponseException e) {
+            throw processRestClientResponseException(e);
+        } catch (IOException | RestClientException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new MicroserviceRestClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses elements with the mapper of the codec set with {@link #withCodec(BodyCodec)} if it is a
+     * {@link JacksonBodyCodec}.
+     */
+    @Override
+    public <T> JsonElementIterator<T> doRequestForElements(URI uri,
+                                                           HttpMethod httpMethod,
+                                                           Map<String, List<String>> headers,
+                                                           Object requestBody,
+                                                           Class<T> elementClass) {
+        RestClientStreamingResponse response = doRequestForStream(uri, httpMethod, headers, requestBody);
+        BodyCodec currentCodec = codec;
+        return currentCodec instanceof JacksonBodyCodec
+                ? JsonElementIterator.open(response, (JacksonBodyCodec) currentCodec, elementClass)
+                : JsonElementIterator.open(response, elementClass);
+    }
+
+    private MicroserviceRestClientResponseException processRestClientResponseException(RestClientResponseException e) {
+        return errorProcessor().process(e.getMessage(), withoutBody(e), e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+    }
+
+    /**
+     * @return copy of the exception without the response body, so that the body is held by the resulting exception
+     * only, up to {@link ErrorDecodingSettings#getMaxCapturedBodySize()}
+     */
+    private static RestClientResponseException withoutBody(RestClientResponseException e) {
+        RestClientResponseException copy;
+        if (e instanceof HttpClientErrorException) {
+            copy = HttpClientErrorException.create(e.getMessage(), e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(), null, null);
+        } else if (e instanceof HttpServerErrorException) {
+            copy = HttpServerErrorException.create(e.getMessage(), e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(), null, null);
+        } else {
+            copy = new RestClientResponseException(e.getMessage(), e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(), null, null);
+        }
+        copy.setStackTrace(e.getStackTrace());
+        return copy;
+    }
+
+    /**
+     * Runs the blocking exchange on {@link #asyncExecutor}, never on the calling thread. If the executor rejects it,
+     * e.g. the platform thread pool is saturated or the client is closed, the returned future fails with
+     * {@link RejectedExecutionException}.
+     */
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        return supplyAsync(() -> doRequest(uriTemplate, httpMethod, headers, requestBody, responseClass, params));
+    }
+
+    /**
+     * Runs the blocking exchange on {@link #asyncExecutor}, never on the calling thread. If the executor rejects it,
+     * e.g. the platform thread pool is saturated or the client is closed, the returned future fails with
+     * {@link RejectedExecutionException}.
+     */
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return supplyAsync(() -> doRequest(uri, httpMethod, headers, requestBody, responseClass));
+    }
+
+    private <R> CompletableFuture<R> supplyAsync(Supplier<R> exchange) {
+        try {
+            return CompletableFuture.supplyAsync(exchange, asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs {@code parallelism - 1} workers on {@link #asyncExecutor} and one on the calling thread, each of them
+     * performs blocking requests one by one. Only requests taken by a worker are waited for, so the call completes
+     * even if it is made from a task of a saturated {@link #asyncExecutor}, in the worst case on the calling thread
+     * alone.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<RequestResult<T>> doRequests(List<RequestSpec<T>> requests, int parallelism) {
+        checkParallelism(parallelism);
+        RequestResult<T>[] results = new RequestResult[requests.size()];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(results.length);
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < results.length) {
+                RequestSpec<T> request = requests.get(i);
+                try {
+                    results[i] = RequestResult.success(doRequest(request.getUri(), request.getHttpMethod(),
+                            request.getHeaders(), request.getRequestBody(), request.getResponseClass()));
+                } catch (RuntimeException e) {
+                    results[i] = RequestResult.failure(e);
+                } finally {
+                    completed.countDown();
+                }
+            }
+        };
+        int workers = Math.min(parallelism, results.length);
+        for (int i = 1; i < workers; i++) {
+            try {
+                asyncExecutor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // the remaining requests are performed by the workers started so far
+                break;
+            }
+        }
+        worker.run();
+        try {
+            completed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MicroserviceRestClientException("Interrupted while sending bulk requests", e);
+        }
+        return Arrays.asList(results);
+    }
+
     private org.springframework.http.HttpMethod convertHttpMethod(HttpMethod httpMethod) {
         return org.springframework.http.HttpMethod.valueOf(httpMethod.name());
     }
@@ -0,0 +1,116 @@
+package org.qubership.cloud.restclient.resttemplate;
+
+import org.qubership.cloud.restclient.compression.RequestCompressor;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Compresses request entities of HttpClient5 exchanges with a {@link RequestCompressor}. Only repeatable entities
+ * are compressed, which is how Spring writes bodies produced by message converters and codecs, while streamed bodies
+ * are sent as is, so that they are not held in memory. Spring writes such bodies without {@code Content-Length}, so
+ * entities of unknown length are buffered up to the max request size to decide on their actual size. Responses are
+ * decompressed by the content compression stage of HttpClient5 itself.
+ */
+final class RequestCompression {
+
+    private RequestCompression() {
+    }
+
+    /**
+     * Compresses entities before the redirect stage, so that redirected and retried requests reuse the compressed
+     * entity.
+     */
+    static HttpClientBuilder instrument(HttpClientBuilder httpClientBuilder, RequestCompressor compressor) {
+        if (!compressor.getSettings().isDecompressResponses()) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return httpClientBuilder.addExecInterceptorFirst("request-compression", (request, scope, chain) -> {
+            HttpEntity entity = request.getEntity();
+            if (entity != null) {
+                request.setEntity(encode(request, entity, compressor));
+            }
+            return chain.proceed(request, scope);
+        });
+    }
+
+    private static HttpEntity encode(ClassicHttpRequest request, HttpEntity entity, RequestCompressor compressor) throws IOException {
+        if (!entity.isRepeatable() || entity.isStreaming()) {
+            return entity;
+        }
+        String contentType = entity.getContentType() != null ? entity.getContentType() : header(request, HttpHeaders.CONTENT_TYPE);
+        String contentEncoding = entity.getContentEncoding() != null ? entity.getContentEncoding() : header(request, HttpHeaders.CONTENT_ENCODING);
+        long contentLength = entity.getContentLength();
+        if (contentLength == 0 || !compressor.shouldCompress(contentType, contentEncoding, contentLength)) {
+            return entity;
+        }
+        int maxSize = compressor.getSettings().getMaxRequestSize();
+        Buffer body = new Buffer(contentLength > 0 ? (int) contentLength : 1024, maxSize);
+        try {
+            entity.writeTo(body);
+        } catch (IOException | RuntimeException e) {
+            if (body.overflown) {
+                // the entity is repeatable, so it is written once more as is
+                return entity;
+            }
+            throw e;
+        }
+        ContentType type = contentType == null ? null : ContentType.parseLenient(contentType);
+        if (contentLength < 0 && (body.size() == 0 || !compressor.shouldCompress(contentType, contentEncoding, body.size()))) {
+            return new ByteArrayEntity(body.array(), 0, body.size(), type, contentEncoding);
+        }
+        Buffer compressed = new Buffer(body.size() / 2 + 64, Integer.MAX_VALUE);
+        compressor.compress(new ByteArrayInputStream(body.array(), 0, body.size()), compressed);
+        request.setHeader(HttpHeaders.CONTENT_ENCODING, compressor.getContentEncoding());
+        return new ByteArrayEntity(compressed.array(), 0, compressed.size(), type, compressor.getContentEncoding());
+    }
+
+    private static String header(ClassicHttpRequest request, String name) {
+        Header header = request.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * Buffer whose content is used without copying, writes beyond the max size fail.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+        private final int maxSize;
+        private boolean overflown;
+
+        Buffer(int initialSize, int maxSize) {
+            super(initialSize);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            super.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            super.write(b, off, len);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        private void ensureCapacity(int len) {
+            if (len > maxSize - count) {
+                overflown = true;
+                throw new IllegalStateException("Request body is longer than " + maxSize + " bytes");
+            }
+        }
+    }
+}
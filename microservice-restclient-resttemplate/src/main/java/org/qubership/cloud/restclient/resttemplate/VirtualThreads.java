@@ -0,0 +1,75 @@
+package org.qubership.cloud.restclient.resttemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for blocking exchanges which use virtual threads on JDK 21+ and fall back to a bounded pool of
+ * platform threads on older runtimes. Virtual threads are looked up reflectively to keep Java 17 baseline.
+ */
+@Slf4j
+public final class VirtualThreads {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findNewVirtualThreadPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @param fallbackPoolSize number of platform threads used when virtual threads are not supported
+     * @return executor which starts a new virtual thread per task if supported, otherwise a pool of
+     * {@code fallbackPoolSize} daemon platform threads with a queue of the same size. Tasks which do not fit into
+     * the queue are rejected with {@link RejectedExecutionException} instead of queueing without bound or running
+     * on the submitting thread, which may be an event loop. Tasks submitted after shutdown are rejected by both
+     * executors.
+     */
+    public static ExecutorService newExecutor(int fallbackPoolSize) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Failed to create virtual thread executor, platform threads are used instead", e);
+            }
+        }
+        return newPlatformExecutor(fallbackPoolSize);
+    }
+
+    static ExecutorService newPlatformExecutor(int poolSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(poolSize), new DaemonThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Method findNewVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "microservice-rest-template-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
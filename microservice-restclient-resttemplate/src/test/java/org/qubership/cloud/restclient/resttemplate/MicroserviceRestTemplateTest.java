@@ -5,9 +5,14 @@ import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
 import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
 import org.qubership.cloud.restclient.BaseMicroserviceRestClientTest;
 import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.codec.BodyCodec;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.Before;
@@ -17,13 +22,17 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +44,21 @@ public class MicroserviceRestTemplateTest extends BaseMicroserviceRestClientTest
         restClient = new MicroserviceRestTemplate(restTemplate);
     }
 
+    @Override
+    protected MicroserviceRestClient withRetryPolicy(RetryPolicy retryPolicy) {
+        return ((MicroserviceRestTemplate) restClient).withRetryPolicy(retryPolicy);
+    }
+
+    @Override
+    protected MicroserviceRestClient withMetrics(RequestMetricsListener metricsListener) {
+        return ((MicroserviceRestTemplate) restClient).withMetrics(metricsListener);
+    }
+
+    @Override
+    protected MicroserviceRestClient withCodec(BodyCodec codec) {
+        return ((MicroserviceRestTemplate) restClient).withCodec(codec);
+    }
+
     @Test
     public void testDefaultRequestHeaders() throws InterruptedException {
         mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody("Test response body"));
@@ -94,6 +118,9 @@ public class MicroserviceRestTemplateTest extends BaseMicroserviceRestClientTest
             assertEquals(HttpStatus.BAD_REQUEST.value(), e.getHttpStatus());
             assertEquals(httpHeaders, e.getResponseHeaders());
             assertEquals(errorMessage, e.getResponseBodyAsString());
+            assertTrue(e.getCause() instanceof RestClientResponseException);
+            assertEquals(HttpStatus.BAD_REQUEST.value(), ((RestClientResponseException) e.getCause()).getStatusCode().value());
+            assertEquals(0, ((RestClientResponseException) e.getCause()).getResponseBodyAsByteArray().length);
             gotExpectedException = true;
         }
         assertTrue(gotExpectedException);
@@ -164,4 +191,42 @@ public class MicroserviceRestTemplateTest extends BaseMicroserviceRestClientTest
             assertTrue(gotExpectedException);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAsyncRequestUsesProvidedExecutor() throws Exception {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody("Test response body"));
+        AtomicInteger executions = new AtomicInteger();
+        MicroserviceRestTemplate microserviceRestTemplate = new MicroserviceRestTemplate(new RestTemplate());
+        microserviceRestTemplate.setAsyncExecutor(command -> {
+            executions.incrementAndGet();
+            new Thread(command).start();
+        });
+        restClient = microserviceRestTemplate;
+
+        RestClientResponseEntity<Void> response = restClient.doRequestAsync(testUrl, HttpMethod.GET, null, null, Void.class)
+                .get(60, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK.value(), response.getHttpStatus());
+        assertEquals(1, executions.get());
+        assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStreamingResponseWithLenientErrorHandler() throws Exception {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(500).setBody("Error body"));
+        RestTemplate restTemplate = new RestTemplate();
+        restClient = new MicroserviceRestTemplate(restTemplate);
+        restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public void handleError(URI url, org.springframework.http.HttpMethod method, ClientHttpResponse response) {
+                // error responses are handled by the caller
+            }
+        });
+
+        try (RestClientStreamingResponse response = restClient.doRequestForStream(URI.create(testUrl), HttpMethod.GET, null, null)) {
+            assertEquals(500, response.getHttpStatus());
+            assertEquals("Error body", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        } finally {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.qubership.cloud.restclient.resttemplate;
+
+import org.qubership.cloud.restclient.BaseMicroserviceRestClientTest;
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.compression.CompressionSettings;
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestSpec;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PooledMicroserviceRestTemplateTest extends BaseMicroserviceRestClientTest {
+    @Before
+    public void setUpBase() {
+        restClient = new MicroserviceRestTemplate();
+    }
+
+    @After
+    public void tearDown() {
+        ((MicroserviceRestTemplate) restClient).close();
+    }
+
+    @Override
+    protected MicroserviceRestClient withMetrics(RequestMetricsListener metricsListener) {
+        return ((MicroserviceRestTemplate) restClient).withMetrics(metricsListener);
+    }
+
+    @Override
+    protected MicroserviceRestClient withCompression(CompressionSettings compression) {
+        tearDown();
+        restClient = new MicroserviceRestTemplate(HttpClientPoolSettings.builder().compression(compression).build());
+        return restClient;
+    }
+
+    @Override
+    protected MicroserviceRestClient withConnectionTimings() {
+        tearDown();
+        restClient = new MicroserviceRestTemplate(HttpClientPoolSettings.builder().build());
+        return restClient;
+    }
+
+    @Test
+    public void testConnectionIsReused() throws InterruptedException {
+        tearDown();
+        restClient = new MicroserviceRestTemplate(HttpClientPoolSettings.builder()
+                .maxConnTotal(1)
+                .maxConnPerRoute(1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .responseTimeout(Duration.ofSeconds(30))
+                .build());
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        restClient.doRequest(testUrl, HttpMethod.GET, null, null, String.class);
+        restClient.doRequest(testUrl, HttpMethod.GET, null, null, String.class);
+        RecordedRequest firstRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        RecordedRequest secondRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(firstRequest);
+        assertNotNull(secondRequest);
+        assertEquals(firstRequest.getSequenceNumber() + 1, secondRequest.getSequenceNumber());
+    }
+
+    @Test
+    public void testClose() {
+        MicroserviceRestTemplate client = new MicroserviceRestTemplate(HttpClientPoolSettings.builder().build());
+
+        client.close();
+
+        assertThrows(RuntimeException.class, () -> client.doRequest(testUrl, HttpMethod.GET, null, null, String.class));
+        CompletableFuture<RestClientResponseEntity<String>> response = client.doRequestAsync(testUrl, HttpMethod.GET, null, null, String.class);
+        assertTrue(assertThrows(CompletionException.class, response::join).getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testSaturatedPlatformPoolFailsAsyncRequest() throws Exception {
+        ExecutorService executor = VirtualThreads.newPlatformExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // one task runs and one is queued
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            ((MicroserviceRestTemplate) restClient).setAsyncExecutor(executor);
+            int requestCount = mockBackEnd.getRequestCount();
+
+            CompletableFuture<RestClientResponseEntity<String>> response = restClient.doRequestAsync(testUrl, HttpMethod.GET, null, null, String.class);
+
+            assertTrue(assertThrows(CompletionException.class, response::join).getCause() instanceof RejectedExecutionException);
+            assertEquals(0, mockBackEnd.getRequestCount() - requestCount);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBulkRequestsFromTaskOfSaturatedPlatformPool() throws Exception {
+        ExecutorService executor = VirtualThreads.newPlatformExecutor(1);
+        ((MicroserviceRestTemplate) restClient).setAsyncExecutor(executor);
+        List<RequestSpec<String>> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+            requests.add(RequestSpec.of(testUrl, HttpMethod.GET, null, null, String.class));
+        }
+        try {
+            // the only thread of the pool waits for the bulk call, so its workers can only be queued
+            List<RequestResult<String>> results = CompletableFuture.supplyAsync(() -> restClient.doRequests(requests, 3), executor)
+                    .get(60, TimeUnit.SECONDS);
+
+            for (RequestResult<String> result : results) {
+                assertEquals(TEST_RESPONSE_BODY, result.getResponseOrThrow().getResponseBody());
+            }
+            for (int i = 0; i < 3; i++) {
+                assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        tearDown();
+        restClient = MicroserviceRestTemplate.withVirtualThreads();
+        int requestsCount = 50;
+        for (int i = 0; i < requestsCount; i++) {
+            mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        }
+
+        List<CompletableFuture<RestClientResponseEntity<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < requestsCount; i++) {
+            responses.add(restClient.doRequestAsync(testUrl, HttpMethod.GET, null, null, String.class));
+        }
+        for (CompletableFuture<RestClientResponseEntity<String>> response : responses) {
+            assertEquals(TEST_RESPONSE_BODY, response.get(60, TimeUnit.SECONDS).getResponseBody());
+        }
+        for (int i = 0; i < requestsCount; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -1,32 +1,63 @@
 package org.qubership.cloud.restclient;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.qubership.cloud.restclient.codec.BodyCodec;
+import org.qubership.cloud.restclient.codec.JacksonBodyCodec;
+import org.qubership.cloud.restclient.codec.JsonElementIterator;
+import org.qubership.cloud.restclient.compression.CompressionSettings;
+import org.qubership.cloud.restclient.entity.RequestHeaders;
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestTimings;
+import org.qubership.cloud.restclient.entity.RequestSpec;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
 import org.qubership.cloud.restclient.entity.TestEntity;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.qubership.cloud.restclient.metrics.InMemoryRequestMetrics;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
 
 import org.junit.AfterClass;
+import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import okhttp3.Headers;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 
 /**
  * NOTE: there is a QuarkusMicroserviceRestClientTest based on this. It must be executed as well  in case of modification
@@ -138,6 +169,52 @@ public abstract class BaseMicroserviceRestClientTest {
         assertEquals("Another-Header-Value", recordedRequest.getHeader(ANOTHER_TEST_HEADER_NAME));
     }
 
+    @Test
+    public void testRequestHeadersTemplate() throws Exception {
+        RequestHeaders headers = RequestHeaders.builder()
+                .add(ANOTHER_TEST_HEADER_NAME, "first")
+                .add(ANOTHER_TEST_HEADER_NAME.toLowerCase(), "second")
+                .build();
+        for (int i = 0; i < 3; i++) {
+            mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        }
+
+        restClient.doRequest(testUrl, HttpMethod.POST, headers, Map.of("key", "value"), String.class);
+        restClient.doRequestAsync(testUrl, HttpMethod.POST, headers, Map.of("key", "value"), String.class).get(60, TimeUnit.SECONDS);
+        restClient.doRequest(testUrl, HttpMethod.PUT, headers.with(CONTENT_TYPE, "text/plain"), "text", String.class);
+        for (int i = 0; i < 2; i++) {
+            RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+            assertNotNull(recordedRequest);
+            assertEquals(List.of("first", "second"), recordedRequest.getHeaders().values(ANOTHER_TEST_HEADER_NAME));
+            assertTrue(recordedRequest.getHeader(CONTENT_TYPE).startsWith(APPLICATION_JSON));
+        }
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals(List.of("first", "second"), recordedRequest.getHeaders().values(ANOTHER_TEST_HEADER_NAME));
+        assertTrue(recordedRequest.getHeader(CONTENT_TYPE).startsWith("text/plain"));
+    }
+
+    @Test
+    public void testCompiledUriTemplate() throws Exception {
+        CompiledUriTemplate template = CompiledUriTemplate.compile(LOCAL_HOST + mockBackEnd.getPort() + "/items/{id}?name={name}");
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientResponseEntity<String> response = restClient.doRequest(template, HttpMethod.GET, null, null, String.class,
+                Map.of("id", "a/b", "name", "x & y"));
+        RestClientResponseEntity<String> asyncResponse = restClient.doRequestAsync(template, HttpMethod.GET, null, null, String.class,
+                Map.of("id", 42, "name", "z")).get(60, TimeUnit.SECONDS);
+
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        assertEquals(TEST_RESPONSE_BODY, asyncResponse.getResponseBody());
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals("/items/a%2Fb?name=x%20%26%20y", recordedRequest.getPath());
+        recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals("/items/42?name=z", recordedRequest.getPath());
+    }
+
     @Test
     public void testResponseHeaders() throws InterruptedException {
         mockBackEnd.enqueue(new MockResponse()
@@ -157,6 +234,7 @@ public abstract class BaseMicroserviceRestClientTest {
         assertEquals("Test-Header-Value", recordedRequest.getHeader(TEST_HEADER_NAME));
         assertEquals("Test-Header-Response-Value", response.getHeaders().get(TEST_HEADER_NAME).get(0));
         assertEquals("Another-Test-Header-Response-Value", response.getHeaders().get(ANOTHER_TEST_HEADER_NAME).get(0));
+        assertEquals("Test-Header-Response-Value", response.getParsedHeaders().getFirst(TEST_HEADER_NAME.toLowerCase()));
     }
 
     @Test
@@ -190,6 +268,108 @@ public abstract class BaseMicroserviceRestClientTest {
         assertEquals(collectionOfEntities, Arrays.asList(objectMapper.readValue(secondResponse.getResponseBody(), TestEntity[].class)));
     }
 
+    /**
+     * @return client which reads and writes bodies supported by given codec with it. Codec tests are skipped unless
+     * the client supports it.
+     */
+    protected MicroserviceRestClient withCodec(BodyCodec codec) {
+        Assume.assumeTrue("Body codecs are not supported by the client", false);
+        return restClient;
+    }
+
+    @Test
+    public void testCodec() throws Exception {
+        MicroserviceRestClient client = withCodec(new JacksonBodyCodec());
+        TestEntity entity = TestEntity.createTestEntity();
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .setBody(objectMapper.writeValueAsString(entity)));
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, "text/plain")
+                .setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(204));
+
+        RestClientResponseEntity<TestEntity> response = client.doRequest(testUrl, HttpMethod.POST, null, entity, TestEntity.class);
+        RestClientResponseEntity<String> textResponse = client.doRequest(testUrl, HttpMethod.PUT,
+                Map.of(CONTENT_TYPE, List.of("text/plain")), "text", String.class);
+        RestClientResponseEntity<TestEntity> emptyResponse = client.doRequestAsync(testUrl, HttpMethod.GET, null, null, TestEntity.class)
+                .get(60, TimeUnit.SECONDS);
+
+        assertEquals(entity, response.getResponseBody());
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertTrue(recordedRequest.getHeader(CONTENT_TYPE).startsWith(APPLICATION_JSON));
+        assertEquals(entity, objectMapper.readValue(recordedRequest.getBody().readUtf8(), TestEntity.class));
+        assertEquals(TEST_RESPONSE_BODY, textResponse.getResponseBody());
+        recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals("text", recordedRequest.getBody().readUtf8());
+        assertEquals(204, emptyResponse.getHttpStatus());
+        assertNull(emptyResponse.getResponseBody());
+        assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+    }
+
+    /**
+     * @return client which compresses request bodies and decompresses responses according to given settings.
+     * Compression tests are skipped unless the client supports it.
+     */
+    protected MicroserviceRestClient withCompression(CompressionSettings compression) {
+        Assume.assumeTrue("Compression is not supported by the client", false);
+        return restClient;
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        MicroserviceRestClient client = withCompression(CompressionSettings.builder().minRequestSize(256).build());
+        String largeBody = objectMapper.writeValueAsString(Collections.nCopies(50, TestEntity.createTestEntity()));
+        ByteArrayOutputStream compressedResponse = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressedResponse)) {
+            outputStream.write(TEST_RESPONSE_BODY.getBytes(UTF_8));
+        }
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(new Buffer().write(compressedResponse.toByteArray())));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        Map<String, List<String>> headers = Map.of(CONTENT_TYPE, List.of(APPLICATION_JSON));
+
+        RestClientResponseEntity<String> response = client.doRequest(testUrl, HttpMethod.POST, headers, largeBody, String.class);
+        RestClientResponseEntity<String> smallResponse = client.doRequest(testUrl, HttpMethod.POST, headers, "{}", String.class);
+
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals("gzip", recordedRequest.getHeader("Content-Encoding"));
+        assertTrue(recordedRequest.getHeader("Accept-Encoding").contains("gzip"));
+        try (GZIPInputStream inputStream = new GZIPInputStream(recordedRequest.getBody().inputStream())) {
+            assertEquals(largeBody, new String(inputStream.readAllBytes(), UTF_8));
+        }
+        assertEquals(TEST_RESPONSE_BODY, smallResponse.getResponseBody());
+        recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertNull(recordedRequest.getHeader("Content-Encoding"));
+        assertEquals("{}", recordedRequest.getBody().readUtf8());
+    }
+
+    @Test
+    public void testStreamingRequestBodyIsNotCompressed() throws Exception {
+        MicroserviceRestClient client = withCompression(CompressionSettings.builder().minRequestSize(256).build());
+        byte[] content = "id,name\n1,item\n".repeat(1000).getBytes(UTF_8);
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientResponseEntity<String> response = client.doRequest(URI.create(testUrl), HttpMethod.POST,
+                Map.of(CONTENT_TYPE, List.of("text/csv")),
+                StreamingRequestBody.ofInputStream(() -> new ByteArrayInputStream(content)), String.class);
+
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertNull(recordedRequest.getHeader("Content-Encoding"));
+        assertArrayEquals(content, recordedRequest.getBody().readByteArray());
+    }
+
     @Test
     public void testResponseException() throws InterruptedException {
         final String errBody = "Test internal server error";
@@ -215,6 +395,495 @@ public abstract class BaseMicroserviceRestClientTest {
         assertTrue(gotExpectedException);
     }
 
+    @Test
+    public void testAsyncRequest() throws Exception {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .setBody(TEST_RESPONSE_BODY));
+
+        CompletableFuture<RestClientResponseEntity<String>> future = restClient.doRequestAsync(URI.create(testUrl), HttpMethod.GET, null, null, String.class);
+        RestClientResponseEntity<String> response = future.get(60, TimeUnit.SECONDS);
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals(TEST_PATH, recordedRequest.getPath());
+        assertEquals(200, response.getHttpStatus());
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+    }
+
+    @Test
+    public void testAsyncUriTemplate() throws Exception {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        Map<String, Object> uriParams = new HashMap<>(1);
+        uriParams.put("param1", "val1");
+        RestClientResponseEntity<Void> response = restClient.doRequestAsync(LOCAL_HOST + mockBackEnd.getPort() + "/test-path?param1={param1}", HttpMethod.POST, null, null, Void.class, uriParams)
+                .get(60, TimeUnit.SECONDS);
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertEquals(200, response.getHttpStatus());
+        assertNotNull(recordedRequest);
+        assertEquals(TEST_PATH, recordedRequest.getPath());
+    }
+
+    @Test
+    public void testAsyncResponseException() throws Exception {
+        final String errBody = "Test internal server error";
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setHeader(CONTENT_TYPE, "text/plain")
+                .setBody(errBody));
+
+        CompletableFuture<RestClientResponseEntity<Void>> future = restClient.doRequestAsync(testUrl, HttpMethod.POST, null, null, Void.class);
+        boolean gotExpectedException = false;
+        try {
+            future.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MicroserviceRestClientResponseException);
+            MicroserviceRestClientResponseException cause = (MicroserviceRestClientResponseException) e.getCause();
+            assertEquals(500, cause.getHttpStatus());
+            assertEquals(errBody, cause.getResponseBodyAsString());
+            gotExpectedException = true;
+        }
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertTrue(gotExpectedException);
+    }
+
+    @Test
+    public void testBulkRequests() throws InterruptedException {
+        Dispatcher queueDispatcher = mockBackEnd.getDispatcher();
+        mockBackEnd.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String item = request.getRequestUrl().queryParameter("item");
+                if ("3".equals(item)) {
+                    return new MockResponse().setResponseCode(500).setHeader(CONTENT_TYPE, "text/plain").setBody("failed-" + item);
+                }
+                return new MockResponse().setResponseCode(200).setBody("item-" + item);
+            }
+        });
+        try {
+            List<RequestSpec<String>> requests = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                requests.add(RequestSpec.of(testUrl + "&item=" + i, HttpMethod.GET, null, null, String.class));
+            }
+            List<RequestResult<String>> results = restClient.doRequests(requests, 3);
+            for (int i = 0; i < requests.size(); i++) {
+                assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+            }
+
+            assertEquals(requests.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                RequestResult<String> result = results.get(i);
+                if (i == 3) {
+                    assertFalse(result.isSuccess());
+                    assertTrue(result.getException() instanceof MicroserviceRestClientResponseException);
+                    MicroserviceRestClientResponseException exception = (MicroserviceRestClientResponseException) result.getException();
+                    assertEquals(500, exception.getHttpStatus());
+                    assertEquals("failed-3", exception.getResponseBodyAsString());
+                } else {
+                    assertTrue(result.isSuccess());
+                    assertEquals("item-" + i, result.getResponse().getResponseBody());
+                }
+            }
+        } finally {
+            mockBackEnd.setDispatcher(queueDispatcher);
+        }
+    }
+
+    /**
+     * Enables given retry policy on {@link #restClient}. Retry tests are skipped unless the client supports it.
+     */
+    protected MicroserviceRestClient withRetryPolicy(RetryPolicy retryPolicy) {
+        Assume.assumeTrue("Retry policy is not supported by the client", false);
+        return restClient;
+    }
+
+    private static RetryPolicy.RetryPolicyBuilder testRetryPolicy() {
+        return RetryPolicy.builder()
+                .initialBackoff(Duration.ofMillis(10))
+                .maxBackoff(Duration.ofMillis(50));
+    }
+
+    @Test
+    public void testRetryPolicyRetriesIdempotentRequest() throws Exception {
+        MicroserviceRestClient client = withRetryPolicy(testRetryPolicy().build());
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(503));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientResponseEntity<String> response = client.doRequest(testUrl, HttpMethod.GET, null, null, String.class);
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testRetryPolicyRetriesAsyncRequest() throws Exception {
+        MicroserviceRestClient client = withRetryPolicy(testRetryPolicy().build());
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(502));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientResponseEntity<String> response = client.doRequestAsync(testUrl, HttpMethod.PUT, null, null, String.class)
+                .get(60, TimeUnit.SECONDS);
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        for (int i = 0; i < 2; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testRetryPolicyDoesNotRetryNonIdempotentRequest() throws Exception {
+        MicroserviceRestClient client = withRetryPolicy(testRetryPolicy().build());
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(503));
+
+        try {
+            client.doRequest(testUrl, HttpMethod.POST, null, null, String.class);
+            throw new AssertionError("Exception expected");
+        } catch (MicroserviceRestClientResponseException e) {
+            assertEquals(503, e.getHttpStatus());
+        }
+        assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRetryPolicyRespectsRetryBudget() throws Exception {
+        MicroserviceRestClient client = withRetryPolicy(testRetryPolicy()
+                .retryBudgetRatio(0)
+                .retryBudgetMinRetries(1)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            mockBackEnd.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                client.doRequest(testUrl, HttpMethod.GET, null, null, String.class);
+                throw new AssertionError("Exception expected");
+            } catch (MicroserviceRestClientResponseException e) {
+                assertEquals(503, e.getHttpStatus());
+            }
+        }
+        // the only retry of the budget is spent by the first request
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Enables given metrics listener on {@link #restClient}. Metrics tests are skipped unless the client supports it.
+     */
+    protected MicroserviceRestClient withMetrics(RequestMetricsListener metricsListener) {
+        Assume.assumeTrue("Request metrics are not supported by the client", false);
+        return restClient;
+    }
+
+    @Test
+    public void testRequestMetrics() throws Exception {
+        InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        MicroserviceRestClient client = withMetrics(metrics);
+        String host = URI.create(testUrl).getHost() + ":" + URI.create(testUrl).getPort();
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(404).setBody("not found"));
+
+        client.doRequest(testUrl, HttpMethod.POST, null, "request".getBytes(UTF_8), String.class);
+        try {
+            client.doRequestAsync(testUrl, HttpMethod.GET, null, null, String.class).get(60, TimeUnit.SECONDS);
+            throw new AssertionError("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MicroserviceRestClientResponseException);
+        }
+        for (int i = 0; i < 2; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+
+        InMemoryRequestMetrics.RequestStats success = metrics.getStats(host, HttpMethod.POST, "2xx", "none");
+        assertNotNull(success);
+        assertEquals(1, success.getCount());
+        assertEquals(7, success.getRequestBytes());
+        assertEquals(TEST_RESPONSE_BODY.length(), success.getResponseBytes());
+        assertTrue(success.getLatency().getValueAtPercentile(99) > 0);
+        InMemoryRequestMetrics.RequestStats notFound = metrics.getStats(host, HttpMethod.GET, "4xx", "none");
+        assertNotNull(notFound);
+        assertEquals(1, notFound.getCount());
+        assertEquals(0, metrics.getInFlight(host, HttpMethod.GET));
+        assertEquals(0, metrics.getInFlight(host, HttpMethod.POST));
+    }
+
+    /**
+     * @return client with a connection pool of its own which measures phase timings of requests. Timings tests are
+     * skipped unless the client supports it.
+     */
+    protected MicroserviceRestClient withConnectionTimings() {
+        Assume.assumeTrue("Phase timings are not supported by the client", false);
+        return restClient;
+    }
+
+    @Test
+    public void testConnectionTimings() throws Exception {
+        withConnectionTimings();
+        InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        MicroserviceRestClient client = withMetrics(metrics);
+        String host = URI.create(testUrl).getHost() + ":" + URI.create(testUrl).getPort();
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RequestTimings first = client.doRequest(testUrl, HttpMethod.GET, null, null, String.class).getTimings();
+        RequestTimings second = client.doRequest(testUrl, HttpMethod.GET, null, null, String.class).getTimings();
+        for (int i = 0; i < 2; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+
+        assertTrue(first.isNewConnection());
+        assertTrue(first.getConnectNanos() >= 0);
+        assertEquals(-1, first.getTlsNanos());
+        assertTrue(first.getTimeToFirstByteNanos() >= 0);
+        assertTrue(first.getBodyNanos() >= 0);
+        assertFalse(second.isNewConnection());
+        assertTrue(second.getTimeToFirstByteNanos() >= 0);
+        InMemoryRequestMetrics.RequestStats stats = metrics.getStats(host, HttpMethod.GET, "2xx", "none");
+        assertNotNull(stats);
+        assertEquals(2, stats.getPhaseLatency(RequestTimings.Phase.TIME_TO_FIRST_BYTE).getCount());
+        assertEquals(1, stats.getPhaseLatency(RequestTimings.Phase.CONNECT).getCount());
+    }
+
+    @Test
+    public void testStreamingResponse() throws Exception {
+        final StringBuilder largeBody = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            largeBody.append("line-").append(i).append('\n');
+        }
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TEST_HEADER_NAME, "Test-Header-Response-Value")
+                .setHeader(CONTENT_TYPE, "text/plain")
+                .setBody(largeBody.toString()));
+
+        try (RestClientStreamingResponse response = restClient.doRequestForStream(URI.create(testUrl), HttpMethod.GET, null, null)) {
+            assertEquals(200, response.getHttpStatus());
+            assertEquals("Test-Header-Response-Value", response.getHeaders().get(TEST_HEADER_NAME).get(0));
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            while (response.getBodyChannel().read(buffer) != -1) {
+                buffer.flip();
+                received.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+            assertEquals(largeBody.toString(), received.toString(UTF_8.name()));
+        }
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testStreamingResponseClosedBeforeBodyIsRead() throws Exception {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientStreamingResponse response = restClient.doRequestForStream(URI.create(testUrl), HttpMethod.GET, null, null);
+        assertEquals(200, response.getHttpStatus());
+        response.close();
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+
+        try (RestClientStreamingResponse secondResponse = restClient.doRequestForStream(URI.create(testUrl), HttpMethod.GET, null, null)) {
+            assertEquals(TEST_RESPONSE_BODY, new String(secondResponse.getBody().readAllBytes(), UTF_8));
+        }
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testElements() throws Exception {
+        List<TestEntity> entities = List.of(TestEntity.createTestEntity(), TestEntity.createTestEntity(), TestEntity.createTestEntity());
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .setBody(objectMapper.writeValueAsString(entities)));
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, "application/x-ndjson")
+                .setBody(entities.stream().map(this::toJson).collect(Collectors.joining("\n"))));
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .setBody(objectMapper.writeValueAsString(entities)));
+
+        List<TestEntity> fromArray = new ArrayList<>();
+        try (JsonElementIterator<TestEntity> elements = restClient.doRequestForElements(URI.create(testUrl), HttpMethod.GET, null, null, TestEntity.class)) {
+            assertEquals(200, elements.getHttpStatus());
+            elements.forEachRemaining(fromArray::add);
+        }
+        List<TestEntity> fromNdjson;
+        try (Stream<TestEntity> elements = restClient.doRequestForElements(URI.create(testUrl), HttpMethod.GET, null, null, TestEntity.class).stream()) {
+            fromNdjson = elements.collect(Collectors.toList());
+        }
+        TestEntity first;
+        try (JsonElementIterator<TestEntity> elements = restClient.doRequestForElements(URI.create(testUrl), HttpMethod.GET, null, null, TestEntity.class)) {
+            first = elements.next();
+        }
+
+        assertEquals(entities, fromArray);
+        assertEquals(entities, fromNdjson);
+        assertEquals(entities.get(0), first);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void testStreamingResponseException() throws InterruptedException {
+        final String errBody = "Test internal server error";
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setHeader(CONTENT_TYPE, "text/plain")
+                .setBody(errBody));
+
+        boolean gotExpectedException = false;
+        try {
+            restClient.doRequestForStream(URI.create(testUrl), HttpMethod.GET, null, null);
+        } catch (MicroserviceRestClientResponseException e) {
+            gotExpectedException = true;
+            assertEquals(500, e.getHttpStatus());
+            assertEquals(errBody, e.getResponseBodyAsString());
+        }
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertTrue(gotExpectedException);
+    }
+
+    @Test
+    public void testStreamingRequestBodyFromInputStream() throws InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        final byte[] content = createStreamingContent();
+
+        RestClientResponseEntity<String> response = restClient.doRequest(URI.create(testUrl), HttpMethod.POST, null,
+                StreamingRequestBody.ofInputStream(() -> new ByteArrayInputStream(content)), String.class);
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertEquals(200, response.getHttpStatus());
+        assertNotNull(recordedRequest);
+        assertEquals("chunked", recordedRequest.getHeader("Transfer-Encoding"));
+        assertEquals("application/octet-stream", recordedRequest.getHeader(CONTENT_TYPE));
+        assertArrayEquals(content, recordedRequest.getBody().readByteArray());
+    }
+
+    @Test
+    public void testStreamingRequestBodyFromWriterWithContentLength() throws InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        final byte[] content = createStreamingContent();
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(CONTENT_TYPE, Collections.singletonList("text/plain"));
+
+        RestClientResponseEntity<String> response = restClient.doRequest(URI.create(testUrl), HttpMethod.PUT, headers,
+                StreamingRequestBody.ofWriter(outputStream -> outputStream.write(content), content.length), String.class);
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertEquals(200, response.getHttpStatus());
+        assertNotNull(recordedRequest);
+        assertEquals(String.valueOf(content.length), recordedRequest.getHeader("Content-Length"));
+        assertEquals("text/plain", recordedRequest.getHeader(CONTENT_TYPE));
+        assertArrayEquals(content, recordedRequest.getBody().readByteArray());
+    }
+
+    @Test
+    public void testStreamingRequestBodyFromPublisher() throws InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        final byte[] content = createStreamingContent();
+        SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>();
+        Thread producer = new Thread(() -> {
+            while (publisher.getNumberOfSubscribers() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int offset = 0; offset < content.length; offset += 1024) {
+                publisher.submit(ByteBuffer.wrap(content, offset, Math.min(1024, content.length - offset)));
+            }
+            publisher.close();
+        });
+        producer.setDaemon(true);
+        producer.start();
+
+        RestClientResponseEntity<String> response = restClient.doRequest(URI.create(testUrl), HttpMethod.POST, null,
+                StreamingRequestBody.ofPublisher(publisher), String.class);
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertEquals(200, response.getHttpStatus());
+        assertNotNull(recordedRequest);
+        assertArrayEquals(content, recordedRequest.getBody().readByteArray());
+    }
+
+    @Test
+    public void testUploadFile() throws Exception {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+        final byte[] content = createStreamingContent();
+        Path file = Files.createTempFile("restclient-upload", ".bin");
+        try {
+            Files.write(file, content);
+
+            RestClientResponseEntity<String> response = restClient.uploadFile(URI.create(testUrl), HttpMethod.PUT, null, file, String.class);
+            RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+            assertEquals(200, response.getHttpStatus());
+            assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+            assertNotNull(recordedRequest);
+            assertEquals("PUT", recordedRequest.getMethod());
+            assertEquals(String.valueOf(content.length), recordedRequest.getHeader("Content-Length"));
+            assertEquals("application/octet-stream", recordedRequest.getHeader(CONTENT_TYPE));
+            assertArrayEquals(content, recordedRequest.getBody().readByteArray());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDownloadTo() throws Exception {
+        final byte[] content = createStreamingContent();
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(CONTENT_TYPE, "application/octet-stream")
+                .setBody(new Buffer().write(content)));
+        Path file = Files.createTempFile("restclient-download", ".bin");
+        try {
+            RestClientResponseEntity<Path> response = restClient.downloadTo(URI.create(testUrl), null, file);
+            RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+            assertEquals(200, response.getHttpStatus());
+            assertEquals(file, response.getResponseBody());
+            assertNotNull(recordedRequest);
+            assertEquals("GET", recordedRequest.getMethod());
+            assertArrayEquals(content, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDownloadToResponseException() throws Exception {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setHeader(CONTENT_TYPE, "text/plain")
+                .setBody("Not found"));
+        Path file = Files.createTempFile("restclient-download", ".bin");
+        boolean gotExpectedException = false;
+        try {
+            restClient.downloadTo(URI.create(testUrl), null, file);
+        } catch (MicroserviceRestClientResponseException e) {
+            gotExpectedException = true;
+            assertEquals(404, e.getHttpStatus());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertTrue(gotExpectedException);
+    }
+
+    private static byte[] createStreamingContent() {
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
     private Headers convertHeaders(Map<String, List<String>> errResponseHeaders) {
         return Headers.of(errResponseHeaders.entrySet()
                 .stream()
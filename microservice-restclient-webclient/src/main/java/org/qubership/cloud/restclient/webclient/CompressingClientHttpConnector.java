@@ -0,0 +1,76 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.qubership.cloud.restclient.compression.RequestCompressor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.function.Function;
+
+/**
+ * Connector which compresses request bodies with a {@link RequestCompressor}. Only bodies written as a single
+ * buffer are compressed, which is how WebClient writes encoded objects, while streamed bodies are sent as is, so that
+ * they are not held in memory. Headers are sent before the body, so the body is compressed before it is written.
+ */
+public class CompressingClientHttpConnector implements ClientHttpConnector {
+    private final ClientHttpConnector delegate;
+    private final RequestCompressor compressor;
+
+    public CompressingClientHttpConnector(ClientHttpConnector delegate, RequestCompressor compressor) {
+        this.delegate = delegate;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri, Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        return delegate.connect(method, uri, request -> requestCallback.apply(new CompressingRequest(request)));
+    }
+
+    private class CompressingRequest extends ClientHttpRequestDecorator {
+
+        CompressingRequest(ClientHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+            String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+            long contentLength = headers.getContentLength();
+            if (!(body instanceof Mono) || contentLength == 0 || !compressor.shouldCompress(contentType, contentEncoding, contentLength)) {
+                return super.writeWith(body);
+            }
+            return Mono.from(body).singleOptional().flatMap(buffer -> buffer
+                    .map(value -> encode(value, contentType, contentEncoding, contentLength))
+                    .orElseGet(() -> super.writeWith(Mono.empty())));
+        }
+
+        private Mono<Void> encode(DataBuffer buffer, String contentType, String contentEncoding, long contentLength) {
+            int size = buffer.readableByteCount();
+            if (contentLength < 0 && (size == 0 || !compressor.shouldCompress(contentType, contentEncoding, size))) {
+                return super.writeWith(Mono.just(buffer));
+            }
+            DataBuffer compressed = bufferFactory().allocateBuffer(size / 2 + 64);
+            try (InputStream inputStream = buffer.asInputStream(true)) {
+                compressor.compress(inputStream, compressed.asOutputStream());
+            } catch (IOException e) {
+                DataBufferUtils.release(compressed);
+                return Mono.error(e);
+            }
+            getHeaders().set(HttpHeaders.CONTENT_ENCODING, compressor.getContentEncoding());
+            getHeaders().setContentLength(compressed.readableByteCount());
+            return super.writeWith(Mono.just(compressed));
+        }
+    }
+}
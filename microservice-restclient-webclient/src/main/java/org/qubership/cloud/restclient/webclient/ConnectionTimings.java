@@ -0,0 +1,102 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.qubership.cloud.restclient.metrics.RequestTimingsRecorder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientInfos;
+import reactor.util.context.ContextView;
+
+/**
+ * Reports phases of reactor-netty exchanges to the {@link RequestTimingsRecorder} found in the Reactor context of
+ * the request. Connection phases are kept in channel attributes until the first request on the connection takes
+ * them, so requests on reused connections report no connection phases.
+ * <p>
+ * Clients created by {@link MicroserviceWebClient#MicroserviceWebClient(HttpClient)} are instrumented already, use
+ * {@link #instrument(HttpClient)} when building WebClient on your own.
+ */
+public final class ConnectionTimings {
+    static final Class<RequestTimingsRecorder> CONTEXT_KEY = RequestTimingsRecorder.class;
+    private static final AttributeKey<ConnectionTimes> CONNECTION_TIMES = AttributeKey.valueOf(ConnectionTimings.class.getName());
+
+    private ConnectionTimings() {
+    }
+
+    public static HttpClient instrument(HttpClient httpClient) {
+        return httpClient
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    ConnectionTimes times = new ConnectionTimes();
+                    channel.attr(CONNECTION_TIMES).set(times);
+                    channel.pipeline().addFirst(ConnectionTimings.class.getName(), new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelActive(ChannelHandlerContext ctx) {
+                            times.activeAt = System.nanoTime();
+                            ctx.pipeline().remove(this);
+                            ctx.fireChannelActive();
+                        }
+                    });
+                })
+                .doOnResolve(connection -> times(connection.channel()).resolveStartedAt = System.nanoTime())
+                .doAfterResolve((connection, address) -> times(connection.channel()).resolvedAt = System.nanoTime())
+                .doOnConnected(connection -> {
+                    ConnectionTimes times = times(connection.channel());
+                    times.connectedAt = System.nanoTime();
+                    times.secure = connection.channel().pipeline().get(SslHandler.class) != null;
+                })
+                .doOnRequest((request, connection) -> {
+                    RequestTimingsRecorder recorder = recorder(request);
+                    if (recorder != null) {
+                        ConnectionTimes times = connection.channel().attr(CONNECTION_TIMES).getAndSet(null);
+                        if (times != null && times.connectedAt != 0) {
+                            times.report(recorder);
+                        }
+                        recorder.requestStarted();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    RequestTimingsRecorder recorder = recorder(response);
+                    if (recorder != null) {
+                        recorder.headersReceived();
+                    }
+                });
+    }
+
+    private static RequestTimingsRecorder recorder(HttpClientInfos infos) {
+        ContextView context = infos.currentContextView();
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    private static ConnectionTimes times(Channel channel) {
+        ConnectionTimes times = channel.attr(CONNECTION_TIMES).get();
+        if (times == null) {
+            // connection from a client instrumented after the channel was initialized
+            times = new ConnectionTimes();
+            channel.attr(CONNECTION_TIMES).set(times);
+        }
+        return times;
+    }
+
+    /**
+     * Timestamps of the connection phases, written and read on the event loop of the channel.
+     */
+    private static class ConnectionTimes {
+        final long initializedAt = System.nanoTime();
+        long resolveStartedAt;
+        long resolvedAt;
+        long activeAt;
+        long connectedAt;
+        boolean secure;
+
+        void report(RequestTimingsRecorder recorder) {
+            long dns = resolveStartedAt != 0 && resolvedAt != 0 ? resolvedAt - resolveStartedAt : -1;
+            long connectStartedAt = resolvedAt != 0 ? resolvedAt : initializedAt;
+            long connect = activeAt != 0 ? activeAt - connectStartedAt : -1;
+            long tls = secure && activeAt != 0 ? connectedAt - activeAt : -1;
+            recorder.connectionEstablished(dns, connect, tls);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Blocking {@link InputStream} view of a {@link DataBuffer} publisher. At most {@link #PREFETCH} buffers are
+ * requested ahead of the reader, so the transport is throttled by the speed of the consumer.
+ * Closing the stream cancels the subscription and releases buffers which were not read.
+ */
+class DataBufferInputStream extends InputStream implements Subscriber<DataBuffer> {
+    private static final int PREFETCH = 4;
+    private static final Object COMPLETE = new Object();
+
+    private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    private volatile Subscription subscription;
+    private volatile boolean closed;
+    private DataBuffer current;
+    private boolean done;
+    private Throwable error;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(PREFETCH);
+    }
+
+    @Override
+    public void onNext(DataBuffer dataBuffer) {
+        signals.add(dataBuffer);
+        if (closed) {
+            releaseQueued();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        signals.add(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        signals.add(COMPLETE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        DataBuffer dataBuffer = nextReadable();
+        if (dataBuffer == null) {
+            return -1;
+        }
+        int count = Math.min(len, dataBuffer.readableByteCount());
+        dataBuffer.read(bytes, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.readableByteCount();
+    }
+
+    private DataBuffer nextReadable() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        while (current == null || current.readableByteCount() == 0) {
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+                subscription.request(1);
+            }
+            if (error != null) {
+                // every read after a failure fails, so that a truncated body is not taken for a complete one
+                throw new IOException("Failed to read response body", error);
+            }
+            if (done) {
+                return null;
+            }
+            Object signal;
+            try {
+                signal = signals.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for response body");
+            }
+            if (signal == COMPLETE) {
+                done = true;
+            } else if (signal instanceof Throwable) {
+                done = true;
+                error = (Throwable) signal;
+            } else {
+                current = (DataBuffer) signal;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        if (current != null) {
+            DataBufferUtils.release(current);
+            current = null;
+        }
+        releaseQueued();
+    }
+
+    private void releaseQueued() {
+        Object signal;
+        while ((signal = signals.poll()) != null) {
+            if (signal instanceof DataBuffer) {
+                DataBufferUtils.release((DataBuffer) signal);
+            }
+        }
+    }
+}
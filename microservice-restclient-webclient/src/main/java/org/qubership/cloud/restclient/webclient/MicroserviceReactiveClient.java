@@ -0,0 +1,73 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link org.qubership.cloud.restclient.MicroserviceRestClient}. Nothing is sent until
+ * the returned publisher is subscribed, and no method of this interface blocks.
+ * <p>
+ * Errors are signalled as {@link org.qubership.cloud.restclient.exception.MicroserviceRestClientException} and
+ * {@link org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException}, the same way as
+ * the blocking client throws them.
+ */
+public interface MicroserviceReactiveClient {
+
+    <T> Mono<RestClientResponseEntity<T>> doRequest(String uriTemplate,
+                                                    HttpMethod httpMethod,
+                                                    @Nullable Map<String, List<String>> headers,
+                                                    @Nullable Object requestBody,
+                                                    Class<T> responseClass,
+                                                    Map<String, Object> params);
+
+    <T> Mono<RestClientResponseEntity<T>> doRequest(String url,
+                                                    HttpMethod httpMethod,
+                                                    @Nullable Map<String, List<String>> headers,
+                                                    @Nullable Object requestBody,
+                                                    Class<T> responseClass);
+
+    <T> Mono<RestClientResponseEntity<T>> doRequest(URI uri,
+                                                    HttpMethod httpMethod,
+                                                    @Nullable Map<String, List<String>> headers,
+                                                    @Nullable Object requestBody,
+                                                    Class<T> responseClass);
+
+    /**
+     * Decodes the response body as a stream of {@code elementClass} elements, e.g. items of a JSON array.
+     * Demand of the subscriber is propagated to the connection.
+     */
+    <T> Flux<T> doRequestForFlux(String uriTemplate,
+                                 HttpMethod httpMethod,
+                                 @Nullable Map<String, List<String>> headers,
+                                 @Nullable Object requestBody,
+                                 Class<T> elementClass,
+                                 Map<String, Object> params);
+
+    /**
+     * Decodes the response body as a stream of {@code elementClass} elements, e.g. items of a JSON array.
+     * Demand of the subscriber is propagated to the connection.
+     */
+    <T> Flux<T> doRequestForFlux(URI uri,
+                                 HttpMethod httpMethod,
+                                 @Nullable Map<String, List<String>> headers,
+                                 @Nullable Object requestBody,
+                                 Class<T> elementClass);
+
+    /**
+     * Emits the response as soon as status and headers are received, with the body as a stream of raw buffers.
+     * The body must be consumed or cancelled to release the connection, and every emitted buffer must be
+     * released by the subscriber, e.g. with {@link org.springframework.core.io.buffer.DataBufferUtils#release}.
+     */
+    Mono<RestClientResponseEntity<Flux<DataBuffer>>> doRequestForStream(URI uri,
+                                                                        HttpMethod httpMethod,
+                                                                        @Nullable Map<String, List<String>> headers,
+                                                                        @Nullable Object requestBody);
+}
@@ -0,0 +1,104 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MicroserviceReactiveClient} based on {@link WebClient}. Shares header defaulting, retry and TMF error
+ * mapping with {@link MicroserviceWebClient} it is built upon.
+ */
+public class MicroserviceReactiveWebClient implements MicroserviceReactiveClient {
+    private final MicroserviceWebClient microserviceWebClient;
+
+    public MicroserviceReactiveWebClient(MicroserviceWebClient microserviceWebClient) {
+        this.microserviceWebClient = microserviceWebClient;
+    }
+
+    public MicroserviceReactiveWebClient(WebClient webClient) {
+        this(new MicroserviceWebClient(webClient));
+    }
+
+    public MicroserviceReactiveWebClient() {
+        this(new MicroserviceWebClient());
+    }
+
+    public MicroserviceReactiveWebClient withRetryPolicy(RetryPolicy retryPolicy) {
+        microserviceWebClient.withRetryPolicy(retryPolicy);
+        return this;
+    }
+
+    public MicroserviceReactiveWebClient withMetrics(RequestMetricsListener metricsListener) {
+        microserviceWebClient.withMetrics(metricsListener);
+        return this;
+    }
+
+    @Override
+    public <T> Mono<RestClientResponseEntity<T>> doRequest(String uriTemplate,
+                                                           HttpMethod httpMethod,
+                                                           Map<String, List<String>> headers,
+                                                           Object requestBody,
+                                                           Class<T> responseClass,
+                                                           Map<String, Object> params) {
+        return microserviceWebClient.exchangeMono(httpMethod, () -> microserviceWebClient.method(httpMethod).uri(uriTemplate, params),
+                requestBody, headers, responseClass);
+    }
+
+    @Override
+    public <T> Mono<RestClientResponseEntity<T>> doRequest(String url,
+                                                           HttpMethod httpMethod,
+                                                           Map<String, List<String>> headers,
+                                                           Object requestBody,
+                                                           Class<T> responseClass) {
+        return Mono.defer(() -> doRequest(URI.create(url), httpMethod, headers, requestBody, responseClass));
+    }
+
+    @Override
+    public <T> Mono<RestClientResponseEntity<T>> doRequest(URI uri,
+                                                           HttpMethod httpMethod,
+                                                           Map<String, List<String>> headers,
+                                                           Object requestBody,
+                                                           Class<T> responseClass) {
+        return microserviceWebClient.exchangeMono(httpMethod, () -> microserviceWebClient.method(httpMethod).uri(uri),
+                requestBody, headers, responseClass);
+    }
+
+    @Override
+    public <T> Flux<T> doRequestForFlux(String uriTemplate,
+                                        HttpMethod httpMethod,
+                                        Map<String, List<String>> headers,
+                                        Object requestBody,
+                                        Class<T> elementClass,
+                                        Map<String, Object> params) {
+        return microserviceWebClient.exchangeFlux(() -> microserviceWebClient.method(httpMethod).uri(uriTemplate, params),
+                requestBody, headers, elementClass);
+    }
+
+    @Override
+    public <T> Flux<T> doRequestForFlux(URI uri,
+                                        HttpMethod httpMethod,
+                                        Map<String, List<String>> headers,
+                                        Object requestBody,
+                                        Class<T> elementClass) {
+        return microserviceWebClient.exchangeFlux(() -> microserviceWebClient.method(httpMethod).uri(uri),
+                requestBody, headers, elementClass);
+    }
+
+    @Override
+    public Mono<RestClientResponseEntity<Flux<DataBuffer>>> doRequestForStream(URI uri,
+                                                                               HttpMethod httpMethod,
+                                                                               Map<String, List<String>> headers,
+                                                                               Object requestBody) {
+        return microserviceWebClient.exchangeForStream(httpMethod, () -> microserviceWebClient.method(httpMethod).uri(uri),
+                requestBody, headers);
+    }
+}
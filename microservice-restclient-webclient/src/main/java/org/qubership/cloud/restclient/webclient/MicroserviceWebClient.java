@@ -3,52 +3,113 @@ package org.qubership.cloud.restclient.webclient;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
 import org.qubership.cloud.core.error.rest.tmf.DefaultTmfErrorResponseConverter;
-import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
 import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponseConverter;
 import org.qubership.cloud.restclient.AbstractMicroserviceRestClient;
+import org.qubership.cloud.restclient.HeaderValues;
 import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.codec.BodyCodec;
+import org.qubership.cloud.restclient.codec.JacksonBodyCodec;
+import org.qubership.cloud.restclient.codec.JsonElementIterator;
+import org.qubership.cloud.restclient.compression.CompressionSettings;
+import org.qubership.cloud.restclient.compression.RequestCompressor;
+import org.qubership.cloud.restclient.entity.RequestResult;
+import org.qubership.cloud.restclient.entity.RequestSpec;
+import org.qubership.cloud.restclient.entity.RequestHeaders;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.entity.RestClientStreamingResponse;
+import org.qubership.cloud.restclient.entity.StreamingRequestBody;
+import org.qubership.cloud.restclient.error.ErrorDecodingSettings;
+import org.qubership.cloud.restclient.error.ErrorResponseProcessor;
+import org.qubership.cloud.restclient.error.TmfErrorResponseDecoder;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.metrics.RequestSample;
+import org.qubership.cloud.restclient.metrics.RequestTimingsRecorder;
+import org.qubership.cloud.restclient.retry.Retrier;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.web.reactive.function.BodyExtractor;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.http.client.HttpClient;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 @Slf4j
 public class MicroserviceWebClient extends AbstractMicroserviceRestClient {
+    private static final int STREAMING_BUFFER_SIZE = 8192;
+    private static final String REQUEST_SIZE_ATTRIBUTE = MicroserviceWebClient.class.getName() + ".requestSize";
+    private static final String TIMINGS_HOLDER_KEY = MicroserviceWebClient.class.getName() + ".timings";
     private final WebClient webClient;
-    private Retry retryPolicy = Retry.backoff(0, Duration.ZERO).filter(throwable -> false); //stub
+    private static final Retry NO_RETRY = Retry.backoff(0, Duration.ZERO).filter(throwable -> false);
+    private Retry retryPolicy = NO_RETRY;
+    private Retrier retrier;
+    @Getter
+    private volatile RequestMetricsListener metricsListener = RequestMetricsListener.NONE;
+    @Getter
+    private volatile BodyCodec codec;
+    private volatile Jackson2JsonDecoder elementDecoder;
     @Getter
-    @Setter
     private ObjectMapper mapper = new ObjectMapper()
             .setSerializationInclusion(JsonInclude.Include.NON_NULL)
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     @Getter
-    @Setter
     private TmfErrorResponseConverter converter = new DefaultTmfErrorResponseConverter();
+    private ErrorDecodingSettings errorDecodingSettings = ErrorDecodingSettings.builder().build();
+    private volatile ErrorResponseProcessor errorProcessor;
+    /**
+     * Compressor of request bodies, {@code null} unless the client is created with {@link CompressionSettings}.
+     */
+    @Getter
+    private RequestCompressor requestCompressor;
 
     public MicroserviceWebClient(WebClient webClient) {
-        this.webClient = webClient;
+        this.webClient = webClient.mutate().filter(this::meter).build();
     }
 
     /**
@@ -57,23 +118,176 @@ public class MicroserviceWebClient extends AbstractMicroserviceRestClient {
      * library/service.
      */
     public MicroserviceWebClient() {
-        this.webClient =  WebClient.builder().build();
+        this.webClient =  WebClient.builder().filter(this::meter).build();
     }
 
     public MicroserviceWebClient(HttpClient httpClient) {
-        this.webClient =  WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        this(httpClient, null);
     }
 
+    /**
+     * Creates client which compresses request bodies according to given settings, {@code null} disables compression.
+     * Unless {@link CompressionSettings#isDecompressResponses()} is turned off, {@code Accept-Encoding} is sent and
+     * responses are decompressed by {@link HttpClient#compress(boolean)}.
+     */
+    public MicroserviceWebClient(HttpClient httpClient, CompressionSettings compression) {
+        if (compression != null) {
+            this.requestCompressor = new RequestCompressor(compression);
+            if (httpClient != null && compression.isDecompressResponses()) {
+                httpClient = httpClient.compress(true);
+            }
+        }
+        ClientHttpConnector connector = new ReactorClientHttpConnector(httpClient == null ? null : ConnectionTimings.instrument(httpClient));
+        this.webClient =  WebClient.builder()
+                .clientConnector(requestCompressor == null ? connector : new CompressingClientHttpConnector(connector, requestCompressor))
+                .filter(this::meter)
+                .build();
+    }
+
+    /**
+     * Retries WebClient exchanges with given Reactor spec. It replaces the policy set with
+     * {@link #withRetryPolicy(RetryPolicy)}, so that requests are never retried by both.
+     *
+     * @deprecated use {@link #withRetryPolicy(RetryPolicy)}, which sees the same exceptions callers get and limits
+     * retries with a retry budget
+     */
+    @Deprecated
     public MicroserviceWebClient withRetry(Retry retryPolicy) {
         this.retryPolicy = retryPolicy;
+        this.retrier = null;
+        return this;
+    }
+
+    /**
+     * Enables retries of failed requests according to given policy, {@code null} disables them. It replaces the
+     * Reactor spec set with {@link #withRetry(Retry)}, so that requests are never retried by both. The policy sees
+     * the same exceptions callers get, e.g. {@link MicroserviceRestClientResponseException}, and the retry budget
+     * is tracked per client. Decoded {@code Flux} bodies are not retried since elements could be emitted already.
+     */
+    public MicroserviceWebClient withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = NO_RETRY;
+        this.retrier = retryPolicy == null ? null : new Retrier(retryPolicy);
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retrier == null ? null : retrier.getPolicy();
+    }
+
+    public void setMapper(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.errorProcessor = null;
+    }
+
+    public void setConverter(TmfErrorResponseConverter converter) {
+        this.converter = converter;
+        this.errorProcessor = null;
+    }
+
+    /**
+     * Configures how error responses are converted to {@link MicroserviceRestClientResponseException}.
+     */
+    public MicroserviceWebClient withErrorDecoding(ErrorDecodingSettings errorDecodingSettings) {
+        this.errorDecodingSettings = errorDecodingSettings;
+        this.errorProcessor = null;
+        return this;
+    }
+
+    public ErrorDecodingSettings getErrorDecodingSettings() {
+        return errorDecodingSettings;
+    }
+
+    private ErrorResponseProcessor errorProcessor() {
+        ErrorResponseProcessor processor = errorProcessor;
+        if (processor == null) {
+            processor = new ErrorResponseProcessor(errorDecodingSettings, new TmfErrorResponseDecoder(mapper, converter));
+            errorProcessor = processor;
+        }
+        return processor;
+    }
+
+    /**
+     * Makes given codec read and write bodies it supports instead of codecs of the {@link WebClient}, {@code null}
+     * restores WebClient codecs. Request bodies are written to a single buffer of the transport and response bodies
+     * are read from the received buffers joined without copying. Elements of decoded {@code Flux} bodies are read
+     * with the mapper of {@link JacksonBodyCodec}, other codecs do not affect them. Streaming requests and bodies of
+     * error responses are not affected.
+     */
+    public MicroserviceWebClient withCodec(BodyCodec codec) {
+        this.codec = codec;
+        this.elementDecoder = codec instanceof JacksonBodyCodec ? new Jackson2JsonDecoder(((JacksonBodyCodec) codec).getMapper()) : null;
+        return this;
+    }
+
+    /**
+     * Reports every exchange, including retried attempts, to given listener, {@code null} disables reporting.
+     * Exchanges are reported once the response body is consumed. Phase timings are measured only for clients
+     * created with {@link HttpClient} or instrumented with {@link ConnectionTimings#instrument(HttpClient)}.
+     */
+    public MicroserviceWebClient withMetrics(RequestMetricsListener metricsListener) {
+        this.metricsListener = metricsListener == null ? RequestMetricsListener.NONE : metricsListener;
         return this;
     }
 
-    private static HttpHeaders setHttpHeaders(HttpHeaders httpHeaders, Map<String, List<String>> headers) {
+    private Mono<ClientResponse> meter(ClientRequest request, ExchangeFunction next) {
+        RequestMetricsListener listener = metricsListener;
+        return Mono.deferContextual(context -> {
+            AtomicReference<RequestTimingsRecorder> timingsHolder = context.getOrDefault(TIMINGS_HOLDER_KEY, null);
+            if (listener == RequestMetricsListener.NONE && timingsHolder == null) {
+                return next.exchange(request);
+            }
+            HttpMethod httpMethod;
+            try {
+                httpMethod = HttpMethod.valueOf(request.method().name());
+            } catch (IllegalArgumentException e) {
+                return next.exchange(request);
+            }
+            long requestBytes = (long) request.attribute(REQUEST_SIZE_ATTRIBUTE).orElse(-1L);
+            RequestTimingsRecorder timings = new RequestTimingsRecorder();
+            if (timingsHolder != null) {
+                timingsHolder.set(timings);
+            }
+            RequestSample sample = RequestSample.start(listener, request.url(), httpMethod, timings);
+            return next.exchange(request)
+                    .contextWrite(ctx -> ctx.put(ConnectionTimings.CONTEXT_KEY, timings))
+                    .map(response -> meterBody(response, sample, requestBytes))
+                    .doOnError(e -> sample.stop(0, requestBytes, -1, e))
+                    .doOnCancel(() -> sample.stop(0, requestBytes, -1, new CancellationException()));
+        });
+    }
+
+    private static ClientResponse meterBody(ClientResponse response, RequestSample sample, long requestBytes) {
+        int httpStatus = response.statusCode().value();
+        AtomicLong responseBytes = new AtomicLong();
+        // completion is recorded before it is propagated, so it happens before the decoded body is emitted
+        return response.mutate()
+                .body(body -> body.doOnNext(buffer -> responseBytes.addAndGet(buffer.readableByteCount()))
+                        .doOnComplete(() -> {
+                            sample.getTimings().bodyReceived();
+                            sample.stop(httpStatus, requestBytes, responseBytes.get(), null);
+                        })
+                        .doOnError(e -> sample.stop(httpStatus, requestBytes, responseBytes.get(), e))
+                        .doOnCancel(() -> sample.stop(httpStatus, requestBytes, responseBytes.get(), new CancellationException())))
+                .build();
+    }
+
+    private static HttpHeaders setHttpHeaders(HttpHeaders httpHeaders, Map<String, List<String>> headers, Object requestBody) {
+        if (headers instanceof RequestHeaders && !(requestBody instanceof StreamingRequestBody)) {
+            // values are shared read-only lists, WebClient copies them to the request it builds
+            httpHeaders.putAll(((RequestHeaders) headers).getTransportHeaders(HttpHeaders.class, MicroserviceWebClient::toHttpHeaders));
+            return httpHeaders;
+        }
         if (headers != null) {
-            httpHeaders.addAll(new HttpHeaders(new LinkedMultiValueMap<>(headers)));
-        } else {
-            httpHeaders.addAll(new HttpHeaders(new LinkedMultiValueMap<>()));
+            headers.forEach(httpHeaders::addAll);
+        }
+        if (requestBody instanceof StreamingRequestBody) {
+            StreamingRequestBody streamingRequestBody = (StreamingRequestBody) requestBody;
+            if (null == httpHeaders.getContentType()) {
+                httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            }
+            if (streamingRequestBody.isContentLengthKnown()) {
+                httpHeaders.setContentLength(streamingRequestBody.getContentLength());
+            }
         }
         if (null == httpHeaders.getContentType()) {
             httpHeaders.setContentType(MediaType.APPLICATION_JSON);
@@ -81,6 +295,15 @@ public class MicroserviceWebClient extends AbstractMicroserviceRestClient {
         return httpHeaders;
     }
 
+    private static HttpHeaders toHttpHeaders(RequestHeaders headers) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        headers.forEach(httpHeaders::addAll);
+        if (null == httpHeaders.getContentType()) {
+            httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return HttpHeaders.readOnlyHttpHeaders(httpHeaders);
+    }
+
     @Override
     public <T> RestClientResponseEntity<T> doRequest(String uriTemplate,
                                                      HttpMethod httpMethod,
@@ -88,7 +311,7 @@ public class MicroserviceWebClient extends AbstractMicroserviceRestClient {
                                                      Object requestBody,
                                                      Class<T> responseClass,
                                                      Map<String, Object> params) {
-        return doRequestInternal(() -> webClient.method(convertHttpMethod(httpMethod)).uri(uriTemplate, params),
+        return doRequestInternal(httpMethod, () -> webClient.method(convertHttpMethod(httpMethod)).uri(uriTemplate, params),
                 requestBody, headers, responseClass);
     }
 
@@ -98,64 +321,363 @@ public class MicroserviceWebClient extends AbstractMicroserviceRestClient {
                                                      Map<String, List<String>> headers,
                                                      Object requestBody,
                                                      Class<T> responseClass) {
-        return doRequestInternal(() -> webClient.method(convertHttpMethod(httpMethod)).uri(uri),
+        return doRequestInternal(httpMethod, () -> webClient.method(convertHttpMethod(httpMethod)).uri(uri),
+                requestBody, headers, responseClass);
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(String uriTemplate,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass,
+                                                                             Map<String, Object> params) {
+        return doRequestAsyncInternal(httpMethod, () -> webClient.method(convertHttpMethod(httpMethod)).uri(uriTemplate, params),
+                requestBody, headers, responseClass);
+    }
+
+    @Override
+    public <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsync(URI uri,
+                                                                             HttpMethod httpMethod,
+                                                                             Map<String, List<String>> headers,
+                                                                             Object requestBody,
+                                                                             Class<T> responseClass) {
+        return doRequestAsyncInternal(httpMethod, () -> webClient.method(convertHttpMethod(httpMethod)).uri(uri),
                 requestBody, headers, responseClass);
     }
 
-    private <T> RestClientResponseEntity<T> doRequestInternal(Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
+    private <T> RestClientResponseEntity<T> doRequestInternal(HttpMethod httpMethod,
+                                                              Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
                                                               Object requestBody,
                                                               Map<String, List<String>> headers,
                                                               Class<T> responseClass) {
-        try {
-            WebClient.RequestBodySpec requestBodySpec = requestBodySpecSupplier.get();
-            requestBodySpec = requestBodySpec.headers(hs -> setHttpHeaders(hs, headers));
-            WebClient.RequestHeadersSpec<?> requestSpec = requestBodySpec;
-            if (requestBody != null) {
-                requestSpec = requestBodySpec.bodyValue(requestBody);
+        return exchangeMono(httpMethod, requestBodySpecSupplier, requestBody, headers, responseClass).block();
+    }
+
+    @Override
+    public RestClientStreamingResponse doRequestForStream(URI uri,
+                                                          HttpMethod httpMethod,
+                                                          Map<String, List<String>> headers,
+                                                          Object requestBody) {
+        RestClientResponseEntity<Flux<DataBuffer>> responseEntity =
+                exchangeForStream(httpMethod, () -> webClient.method(convertHttpMethod(httpMethod)).uri(uri), requestBody, headers)
+                        .block();
+        if (responseEntity == null) {
+            throw new MicroserviceRestClientException("Null HTTP response");
+        }
+        DataBufferInputStream body = new DataBufferInputStream();
+        Flux<DataBuffer> bodyFlux = responseEntity.getResponseBody() == null ? Flux.empty() : responseEntity.getResponseBody();
+        bodyFlux.subscribe(body);
+        return new RestClientStreamingResponse(responseEntity.getHttpStatus(), responseEntity.getHeaders(), body, body);
+    }
+
+    /**
+     * Parses elements with the mapper of the codec set with {@link #withCodec(BodyCodec)} if it is a
+     * {@link JacksonBodyCodec}. See {@link MicroserviceReactiveClient#doRequestForFlux} for a non-blocking variant.
+     */
+    @Override
+    public <T> JsonElementIterator<T> doRequestForElements(URI uri,
+                                                           HttpMethod httpMethod,
+                                                           Map<String, List<String>> headers,
+                                                           Object requestBody,
+                                                           Class<T> elementClass) {
+        RestClientStreamingResponse response = doRequestForStream(uri, httpMethod, headers, requestBody);
+        BodyCodec currentCodec = codec;
+        return currentCodec instanceof JacksonBodyCodec
+                ? JsonElementIterator.open(response, (JacksonBodyCodec) currentCodec, elementClass)
+                : JsonElementIterator.open(response, elementClass);
+    }
+
+    @Override
+    public RestClientResponseEntity<Path> downloadTo(URI uri,
+                                                     Map<String, List<String>> headers,
+                                                     Path target) {
+        RestClientResponseEntity<Path> responseEntity = exchangeForStream(HttpMethod.GET, () -> webClient.method(org.springframework.http.HttpMethod.GET).uri(uri), null, headers)
+                .flatMap(response -> DataBufferUtils.write(response.getResponseBody() == null ? Flux.empty() : response.getResponseBody(), target,
+                                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                        .then(Mono.fromSupplier(() -> new RestClientResponseEntity<>(target, response.getHttpStatus(), response.getHeaders()))))
+                .onErrorMap(e -> !(e instanceof MicroserviceRestClientException),
+                        e -> new MicroserviceRestClientException("Failed to download " + uri + " to " + target, e))
+                .block();
+        if (responseEntity == null) {
+            throw new MicroserviceRestClientException("Null HTTP response");
+        }
+        return responseEntity;
+    }
+
+    /**
+     * Subscribes to at most {@code parallelism} exchanges at a time on the event loop, no thread is blocked
+     * per request.
+     */
+    @Override
+    public <T> List<RequestResult<T>> doRequests(List<RequestSpec<T>> requests, int parallelism) {
+        checkParallelism(parallelism);
+        List<RequestResult<T>> results = Flux.fromIterable(requests)
+                .flatMapSequential(request -> exchangeMono(request.getHttpMethod(), () -> method(request.getHttpMethod()).uri(request.getUri()),
+                                request.getRequestBody(), request.getHeaders(), request.getResponseClass())
+                                .map(RequestResult::success)
+                                .onErrorResume(e -> Mono.just(toRequestResult(null, e))),
+                        parallelism)
+                .collectList()
+                .block();
+        return results == null ? List.of() : results;
+    }
+
+    private <T> CompletableFuture<RestClientResponseEntity<T>> doRequestAsyncInternal(HttpMethod httpMethod,
+                                                                                      Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
+                                                                                      Object requestBody,
+                                                                                      Map<String, List<String>> headers,
+                                                                                      Class<T> responseClass) {
+        return exchangeMono(httpMethod, requestBodySpecSupplier, requestBody, headers, responseClass).toFuture();
+    }
+
+    /**
+     * Lazily performs the exchange on subscription. Errors are mapped the same way as in blocking calls.
+     */
+    <T> Mono<RestClientResponseEntity<T>> exchangeMono(HttpMethod httpMethod,
+                                                       Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
+                                                       Object requestBody,
+                                                       Map<String, List<String>> headers,
+                                                       Class<T> responseClass) {
+        return applyRetryPolicy(Mono.defer(() -> exchange(requestBodySpecSupplier.get(), requestBody, headers, responseClass))
+                .switchIfEmpty(Mono.error(() -> new MicroserviceRestClientException("Null HTTP response")))
+                .onErrorMap(WebClientException.class, this::processWebClientException), httpMethod, requestBody);
+    }
+
+    /**
+     * Lazily performs the exchange on subscription and decodes the response body as a stream of elements.
+     */
+    <T> Flux<T> exchangeFlux(Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
+                             Object requestBody,
+                             Map<String, List<String>> headers,
+                             Class<T> elementClass) {
+        return Flux.defer(() -> retrieve(requestBodySpecSupplier.get(), requestBody, headers)
+                        .toEntityFlux(elementsExtractor(elementClass))
+                        .flatMapMany(ResponseEntity::getBody)
+                        .retryWhen(retryPolicy))
+                .onErrorMap(WebClientException.class, this::processWebClientException);
+    }
+
+    /**
+     * Lazily performs the exchange on subscription and emits the response as soon as status and headers are
+     * received. The body must be consumed or cancelled by the subscriber to release the connection.
+     */
+    Mono<RestClientResponseEntity<Flux<DataBuffer>>> exchangeForStream(HttpMethod httpMethod,
+                                                                       Supplier<WebClient.RequestBodySpec> requestBodySpecSupplier,
+                                                                       Object requestBody,
+                                                                       Map<String, List<String>> headers) {
+        return applyRetryPolicy(Mono.defer(() -> retrieve(requestBodySpecSupplier.get(), requestBody, headers)
+                        .toEntityFlux(DataBuffer.class)
+                        .retryWhen(retryPolicy))
+                .map(responseEntity -> new RestClientResponseEntity<>(responseEntity.getBody(),
+                        responseEntity.getStatusCodeValue(),
+                        responseEntity.getHeaders()))
+                .onErrorMap(WebClientException.class, this::processWebClientException), httpMethod, requestBody);
+    }
+
+    /**
+     * Resubscribes to the exchange according to {@link RetryPolicy} set with {@link #withRetryPolicy(RetryPolicy)}.
+     */
+    private <T> Mono<T> applyRetryPolicy(Mono<T> exchange, HttpMethod httpMethod, Object requestBody) {
+        Retrier currentRetrier = retrier;
+        if (currentRetrier == null || !currentRetrier.canRetry(httpMethod, requestBody)) {
+            return exchange;
+        }
+        return Mono.defer(() -> {
+            currentRetrier.onRequest();
+            return exchange.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                Duration delay = currentRetrier.nextRetryDelay((int) signal.totalRetries() + 1, failure);
+                if (delay == null) {
+                    return Mono.error(failure);
+                }
+                log.debug("Retry #{} of {} request in {} ms: {}", signal.totalRetries() + 1, httpMethod, delay.toMillis(), failure.getMessage());
+                return Mono.delay(delay);
+            })));
+        });
+    }
+
+    WebClient.RequestBodyUriSpec method(HttpMethod httpMethod) {
+        return webClient.method(convertHttpMethod(httpMethod));
+    }
+
+    private <T> Mono<RestClientResponseEntity<T>> exchange(WebClient.RequestBodySpec requestBodySpec,
+                                                           Object requestBody,
+                                                           Map<String, List<String>> headers,
+                                                           Class<T> responseClass) {
+        AtomicReference<RequestTimingsRecorder> timings = new AtomicReference<>();
+        BodyCodec currentCodec = codec;
+        WebClient.ResponseSpec responseSpec = retrieve(requestBodySpec, requestBody, headers);
+        Mono<ResponseEntity<T>> response = currentCodec == null || !currentCodec.canRead(responseClass, null)
+                ? responseSpec.toEntity(responseClass)
+                : toEntity(responseSpec, currentCodec, responseClass);
+        return response
+                .retryWhen(retryPolicy)
+                .map(responseEntity -> {
+                    RestClientResponseEntity<T> entity = new RestClientResponseEntity<>(responseEntity.getBody(),
+                            responseEntity.getStatusCodeValue(),
+                            responseEntity.getHeaders());
+                    RequestTimingsRecorder recorder = timings.get();
+                    if (recorder != null) {
+                        entity.setTimings(recorder.toTimings());
+                    }
+                    return entity;
+                })
+                .contextWrite(context -> context.put(TIMINGS_HOLDER_KEY, timings));
+    }
+
+    /**
+     * Decodes body with the codec if it supports content type of the response, otherwise with WebClient codecs.
+     */
+    private static <T> Mono<ResponseEntity<T>> toEntity(WebClient.ResponseSpec responseSpec, BodyCodec codec, Class<T> responseClass) {
+        return responseSpec.toEntityFlux((BodyExtractor<Flux<T>, ReactiveHttpInputMessage>) (response, context) -> {
+                    if (!codec.canRead(responseClass, response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE))) {
+                        return BodyExtractors.toMono(responseClass).extract(response, context).flux();
+                    }
+                    return DataBufferUtils.join(response.getBody())
+                            .<T>handle((buffer, sink) -> {
+                                T body = decode(codec, responseClass, buffer);
+                                if (body != null) {
+                                    sink.next(body);
+                                }
+                            })
+                            .flux();
+                })
+                .flatMap(responseEntity -> responseEntity.getBody()
+                        .singleOrEmpty()
+                        .map(body -> new ResponseEntity<>(body, responseEntity.getHeaders(), responseEntity.getStatusCode()))
+                        .switchIfEmpty(Mono.fromSupplier(() -> new ResponseEntity<>(responseEntity.getHeaders(), responseEntity.getStatusCode()))));
+    }
+
+    /**
+     * Decodes JSON arrays and newline-delimited JSON element by element with the mapper of {@link JacksonBodyCodec}
+     * if it is set or the response has no {@code Content-Type}, otherwise with WebClient codecs.
+     */
+    private <T> BodyExtractor<Flux<T>, ReactiveHttpInputMessage> elementsExtractor(Class<T> elementClass) {
+        Jackson2JsonDecoder codecDecoder = elementDecoder;
+        return (response, context) -> {
+            MediaType contentType = response.getHeaders().getContentType();
+            ResolvableType elementType = ResolvableType.forClass(elementClass);
+            Jackson2JsonDecoder decoder = contentType == null && codecDecoder == null ? DefaultElementDecoder.INSTANCE : codecDecoder;
+            if (decoder == null || (contentType != null && !decoder.canDecode(elementType, contentType))) {
+                return BodyExtractors.toFlux(elementClass).extract(response, context);
             }
-            ResponseEntity<T> responseEntity = requestSpec.retrieve()
-                    .onRawStatus(status -> {
-                                HttpStatus.Series series = HttpStatus.Series.resolve(status);
-                                return (series == null || series == HttpStatus.Series.CLIENT_ERROR || series == HttpStatus.Series.SERVER_ERROR);
-                            },
-                            ClientResponse::createException)
-                    .toEntity(responseClass)
-                    .retryWhen(retryPolicy)
-                    .block();
-            if (responseEntity == null) {
-                throw new MicroserviceRestClientException("Null HTTP response");
+            return decoder.decode(response.getBody(), elementType, contentType == null ? MediaType.APPLICATION_JSON : contentType, Hints.none())
+                    .cast(elementClass);
+        };
+    }
+
+    private static <T> T decode(BodyCodec codec, Class<T> responseClass, DataBuffer buffer) {
+        if (buffer.readableByteCount() == 0) {
+            DataBufferUtils.release(buffer);
+            return null;
+        }
+        try (InputStream inputStream = buffer.asInputStream(true)) {
+            return codec.read(responseClass, inputStream);
+        } catch (IOException e) {
+            throw new MicroserviceRestClientException("Could not read response body: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes body with the codec to a single buffer allocated by the transport, so its length is known.
+     */
+    private static BodyInserter<Object, ClientHttpRequest> codecInserter(BodyCodec codec, Object requestBody) {
+        return (request, context) -> {
+            DataBuffer buffer = request.bufferFactory().allocateBuffer(STREAMING_BUFFER_SIZE);
+            try (OutputStream outputStream = buffer.asOutputStream()) {
+                codec.write(requestBody, outputStream);
+            } catch (IOException | RuntimeException e) {
+                DataBufferUtils.release(buffer);
+                return Mono.error(new MicroserviceRestClientException("Could not write request body: " + e.getMessage(), e));
             }
-            return new RestClientResponseEntity<>(responseEntity.getBody(),
-                    responseEntity.getStatusCodeValue(),
-                    responseEntity.getHeaders());
-        } catch (WebClientException e) {
-            throw processWebClientException(e);
+            request.getHeaders().setContentLength(buffer.readableByteCount());
+            return request.writeWith(Mono.just(buffer));
+        };
+    }
+
+    private WebClient.ResponseSpec retrieve(WebClient.RequestBodySpec requestBodySpec,
+                                            Object requestBody,
+                                            Map<String, List<String>> headers) {
+        requestBodySpec = requestBodySpec.headers(hs -> setHttpHeaders(hs, headers, requestBody))
+                .attribute(REQUEST_SIZE_ATTRIBUTE, RequestSample.requestSize(requestBody));
+        WebClient.RequestHeadersSpec<?> requestSpec = requestBodySpec;
+        BodyCodec currentCodec = codec;
+        if (requestBody instanceof StreamingRequestBody && ((StreamingRequestBody) requestBody).getFile() != null) {
+            // file resources are written with zero-copy file transfer by reactor-netty
+            requestSpec = requestBodySpec.body(BodyInserters.fromResource(new FileSystemResource(((StreamingRequestBody) requestBody).getFile())));
+        } else if (requestBody instanceof StreamingRequestBody) {
+            requestSpec = requestBodySpec.body(BodyInserters.fromDataBuffers(toDataBuffers((StreamingRequestBody) requestBody)));
+        } else if (requestBody != null && currentCodec != null
+                && currentCodec.canWrite(requestBody.getClass(), HeaderValues.getFirst(headers, HttpHeaders.CONTENT_TYPE))) {
+            requestSpec = requestBodySpec.body(codecInserter(currentCodec, requestBody));
+        } else if (requestBody != null) {
+            requestSpec = requestBodySpec.bodyValue(requestBody);
         }
+        return requestSpec.retrieve()
+                .onRawStatus(status -> {
+                            HttpStatus.Series series = HttpStatus.Series.resolve(status);
+                            return (series == null || series == HttpStatus.Series.CLIENT_ERROR || series == HttpStatus.Series.SERVER_ERROR);
+                        },
+                        ClientResponse::createException);
+    }
+
+    private static Flux<DataBuffer> toDataBuffers(StreamingRequestBody requestBody) {
+        DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        if (requestBody.getInputStreamSource() != null) {
+            // reads block, so they must not run on the event loop which requests the next buffer
+            return DataBufferUtils.readInputStream(requestBody.getInputStreamSource()::open, bufferFactory, STREAMING_BUFFER_SIZE)
+                    .subscribeOn(Schedulers.boundedElastic());
+        } else if (requestBody.getPublisher() != null) {
+            return JdkFlowAdapter.flowPublisherToFlux(requestBody.getPublisher()).map(bufferFactory::wrap);
+        } else {
+            return Flux.from(DataBufferUtils.outputStreamPublisher(outputStream -> {
+                try {
+                    requestBody.getBodyWriter().writeTo(outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, bufferFactory, Schedulers.boundedElastic()::schedule, STREAMING_BUFFER_SIZE));
+        }
+    }
+
+    /**
+     * Returns a non-blocking view of this client. The view shares WebClient, retry policy and error mapping
+     * settings with this client.
+     */
+    public MicroserviceReactiveClient reactive() {
+        return new MicroserviceReactiveWebClient(this);
     }
 
     private MicroserviceRestClientException processWebClientException(WebClientException e) {
         if (e instanceof WebClientResponseException) {
             WebClientResponseException re = (WebClientResponseException) e;
-            // try to convert to TMF response
-            MicroserviceRestClientResponseException mce;
-            try {
-                TmfErrorResponse tmfErrorResponse = mapper.readValue(re.getResponseBodyAsByteArray(), TmfErrorResponse.class);
-                final RemoteCodeException remoteCodeException = converter.buildErrorCodeException(tmfErrorResponse);
-                mce = new MicroserviceRestClientResponseException(remoteCodeException.getMessage(),
-                        remoteCodeException,
-                        re.getRawStatusCode(), re.getResponseBodyAsByteArray(), re.getHeaders());
-            } catch (Exception ce) {
-                // failed to parse as TMF format, fallback to non-TMF response
-                log.warn("Failed to parse response as TMF error response, cause: {}", ce.getMessage());
-                mce = new MicroserviceRestClientResponseException(re.getMessage(), re, re.getRawStatusCode(), re.getResponseBodyAsByteArray(), re.getHeaders());
-            }
-            return mce;
+            return errorProcessor().process(re.getMessage(), withoutBody(re), re.getRawStatusCode(), re.getHeaders(), re.getResponseBodyAsByteArray());
         } else {
             return new MicroserviceRestClientException(e.getMessage(), e);
         }
     }
 
+    /**
+     * @return copy of the exception without the response body, so that the body is held by the resulting exception
+     * only, up to {@link ErrorDecodingSettings#getMaxCapturedBodySize()}
+     */
+    private static WebClientResponseException withoutBody(WebClientResponseException e) {
+        WebClientResponseException copy = WebClientResponseException.create(e.getStatusCode(), e.getStatusText(),
+                e.getHeaders(), null, null, e.getRequest());
+        copy.setStackTrace(e.getStackTrace());
+        return copy;
+    }
+
     private org.springframework.http.HttpMethod convertHttpMethod(HttpMethod httpMethod) {
         return org.springframework.http.HttpMethod.valueOf(httpMethod.name());
     }
+
+    /**
+     * Decodes elements of responses without {@code Content-Type}, which WebClient codecs cannot decode. Created on
+     * first use rather than when the client class is initialized.
+     */
+    private static final class DefaultElementDecoder {
+        static final Jackson2JsonDecoder INSTANCE = new Jackson2JsonDecoder(new JacksonBodyCodec().getMapper());
+    }
 }
@@ -0,0 +1,32 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+public class DataBufferInputStreamTest {
+
+    @Test
+    public void testEveryReadAfterUpstreamErrorFails() throws IOException {
+        IllegalStateException failure = new IllegalStateException("connection reset");
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap("body".getBytes(StandardCharsets.UTF_8));
+        DataBufferInputStream inputStream = new DataBufferInputStream();
+        Flux.concat(Flux.just(buffer), Flux.<DataBuffer>error(failure)).subscribe(inputStream);
+
+        byte[] bytes = new byte[4];
+        assertEquals(4, inputStream.read(bytes, 0, 4));
+        assertArrayEquals("body".getBytes(StandardCharsets.UTF_8), bytes);
+        assertSame(failure, assertThrows(IOException.class, inputStream::read).getCause());
+        assertSame(failure, assertThrows(IOException.class, inputStream::read).getCause());
+        inputStream.close();
+    }
+}
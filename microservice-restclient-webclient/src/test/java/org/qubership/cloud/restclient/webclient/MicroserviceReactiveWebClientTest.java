@@ -0,0 +1,162 @@
+package org.qubership.cloud.restclient.webclient;
+
+import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.codec.JacksonBodyCodec;
+import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
+import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MicroserviceReactiveWebClientTest {
+    private MockWebServer mockBackEnd;
+    private MicroserviceReactiveClient reactiveClient;
+
+    @Before
+    public void setUp() throws IOException {
+        mockBackEnd = new MockWebServer();
+        mockBackEnd.start();
+        reactiveClient = new MicroserviceReactiveWebClient(WebClient.builder().build());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mockBackEnd.shutdown();
+    }
+
+    @Test
+    public void testNothingIsSentUntilSubscribed() throws InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody("Test response body"));
+
+        reactiveClient.doRequest(mockBackEnd.url("/test").uri(), HttpMethod.GET, null, null, String.class);
+        assertNull(mockBackEnd.takeRequest(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testMonoRequest() throws InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody("Test response body"));
+
+        Map<String, Object> uriParams = new HashMap<>(1);
+        uriParams.put("param1", "val1");
+        RestClientResponseEntity<String> response = reactiveClient.doRequest(mockBackEnd.url("/").toString() + "test-path?param1={param1}",
+                        HttpMethod.POST, null, null, String.class, uriParams)
+                .block(Duration.ofSeconds(60));
+        RecordedRequest recordedRequest = mockBackEnd.takeRequest(60, TimeUnit.SECONDS);
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getHttpStatus());
+        assertEquals("Test response body", response.getResponseBody());
+        assertNotNull(recordedRequest);
+        assertEquals("/test-path?param1=val1", recordedRequest.getPath());
+        assertEquals(MediaType.APPLICATION_JSON.toString(), recordedRequest.getHeader("Content-Type"));
+    }
+
+    @Test
+    public void testFluxRequest() {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("[1,2,3]"));
+
+        List<Integer> elements = reactiveClient.doRequestForFlux(URI.create(mockBackEnd.url("/test").toString()), HttpMethod.GET, null, null, Integer.class)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+        assertEquals(Arrays.asList(1, 2, 3), elements);
+    }
+
+    @Test
+    public void testFluxOfNewlineDelimitedJson() {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":1}\n{\"id\":2}\n"));
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/x-ndjson")
+                .setBody("{\"id\":3}\n{\"id\":4}\n"));
+        URI uri = URI.create(mockBackEnd.url("/test").toString());
+
+        List<Map> withoutContentType = reactiveClient.doRequestForFlux(uri, HttpMethod.GET, null, null, Map.class)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+        List<Map> ndjson = new MicroserviceWebClient(WebClient.builder().build()).withCodec(new JacksonBodyCodec()).reactive()
+                .doRequestForFlux(uri, HttpMethod.GET, null, null, Map.class)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), withoutContentType);
+        assertEquals(List.of(Map.of("id", 3), Map.of("id", 4)), ndjson);
+    }
+
+    @Test
+    public void testErrorMapping() {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(503)
+                .setHeader("Content-Type", "text/plain")
+                .setBody("Service unavailable"));
+
+        try {
+            reactiveClient.doRequest(mockBackEnd.url("/test").toString(), HttpMethod.GET, null, null, String.class)
+                    .block(Duration.ofSeconds(60));
+            fail("MicroserviceRestClientResponseException is expected");
+        } catch (MicroserviceRestClientResponseException e) {
+            assertEquals(503, e.getHttpStatus());
+            assertEquals("Service unavailable", e.getResponseBodyAsString());
+        }
+    }
+
+    @Test
+    public void testFluxErrorMapping() {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setHeader("Content-Type", "text/plain")
+                .setBody("Not found"));
+
+        try {
+            reactiveClient.doRequestForFlux(URI.create(mockBackEnd.url("/test").toString()), HttpMethod.GET, null, null, String.class)
+                    .blockLast(Duration.ofSeconds(60));
+            fail("MicroserviceRestClientResponseException is expected");
+        } catch (MicroserviceRestClientResponseException e) {
+            assertEquals(404, e.getHttpStatus());
+        }
+    }
+
+    @Test
+    public void testStreamRequest() {
+        mockBackEnd.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Test-Header-Name", "Test-Header-Value")
+                .setBody("Test response body"));
+
+        String body = reactiveClient.doRequestForStream(URI.create(mockBackEnd.url("/test").toString()), HttpMethod.GET, null, null)
+                .flatMap(response -> {
+                    assertEquals(200, response.getHttpStatus());
+                    assertEquals("Test-Header-Value", response.getHeaders().get("Test-Header-Name").get(0));
+                    return DataBufferUtils.join(response.getResponseBody());
+                })
+                .map(dataBuffer -> {
+                    String result = dataBuffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(dataBuffer);
+                    return result;
+                })
+                .block(Duration.ofSeconds(60));
+        assertEquals("Test response body", body);
+    }
+}
@@ -5,9 +5,15 @@ import org.qubership.cloud.core.error.rest.exception.RemoteCodeException;
 import org.qubership.cloud.core.error.rest.tmf.TmfErrorResponse;
 import org.qubership.cloud.restclient.BaseMicroserviceRestClientTest;
 import org.qubership.cloud.restclient.HttpMethod;
+import org.qubership.cloud.restclient.MicroserviceRestClient;
+import org.qubership.cloud.restclient.compression.CompressionSettings;
+import org.qubership.cloud.restclient.codec.BodyCodec;
 import org.qubership.cloud.restclient.entity.RestClientResponseEntity;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientException;
 import org.qubership.cloud.restclient.exception.MicroserviceRestClientResponseException;
+import org.qubership.cloud.restclient.metrics.RequestMetricsListener;
+import org.qubership.cloud.restclient.retry.RetryPolicy;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.Before;
@@ -38,9 +44,37 @@ public class MicroserviceWebClientTest extends BaseMicroserviceRestClientTest {
         restClient = new MicroserviceWebClient(webClient);
     }
 
+    @Override
+    protected MicroserviceRestClient withRetryPolicy(RetryPolicy retryPolicy) {
+        return ((MicroserviceWebClient) restClient).withRetryPolicy(retryPolicy);
+    }
+
+    @Override
+    protected MicroserviceRestClient withMetrics(RequestMetricsListener metricsListener) {
+        return ((MicroserviceWebClient) restClient).withMetrics(metricsListener);
+    }
+
+    @Override
+    protected MicroserviceRestClient withCodec(BodyCodec codec) {
+        return ((MicroserviceWebClient) restClient).withCodec(codec);
+    }
+
+    @Override
+    protected MicroserviceRestClient withCompression(CompressionSettings compression) {
+        restClient = new MicroserviceWebClient(HttpClient.create(), compression);
+        return restClient;
+    }
+
+    @Override
+    protected MicroserviceRestClient withConnectionTimings() {
+        restClient = new MicroserviceWebClient(HttpClient.create(ConnectionProvider.create("connection-timings", 1)));
+        return restClient;
+    }
+
     private WebClient getWebClientMock() {
         WebClient webClient = Mockito.mock(WebClient.class);
         WebClient.Builder builderMock = Mockito.mock(WebClient.Builder.class);
+        Mockito.when(builderMock.filter(any())).thenReturn(builderMock);
         Mockito.when(builderMock.build()).thenReturn(webClient);
         Mockito.when(webClient.mutate()).thenReturn(builderMock);
         return webClient;
@@ -113,6 +147,9 @@ public class MicroserviceWebClientTest extends BaseMicroserviceRestClientTest {
             assertEquals(HttpStatus.BAD_REQUEST.value(), e.getHttpStatus());
             assertEquals(httpHeaders, e.getResponseHeaders());
             assertEquals(errorMessage, e.getResponseBodyAsString());
+            assertTrue(e.getCause() instanceof WebClientResponseException);
+            assertEquals(HttpStatus.BAD_REQUEST.value(), ((WebClientResponseException) e.getCause()).getStatusCode().value());
+            assertEquals(0, ((WebClientResponseException) e.getCause()).getResponseBodyAsByteArray().length);
             gotExpectedException = true;
         }
         assertTrue(gotExpectedException);
@@ -231,4 +268,47 @@ public class MicroserviceWebClientTest extends BaseMicroserviceRestClientTest {
             assertEquals("Retries exhausted: 2/2", ee.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testRetryPolicyReplacesReactorRetry() throws InterruptedException {
+        Dispatcher queueDispatcher = mockBackEnd.getDispatcher();
+        mockBackEnd.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(503);
+            }
+        });
+        try {
+            MicroserviceWebClient client = ((MicroserviceWebClient) restClient)
+                    .withRetry(Retry.backoff(3, Duration.ZERO))
+                    .withRetryPolicy(RetryPolicy.builder().maxAttempts(2).initialBackoff(Duration.ZERO).build());
+            int requestCount = mockBackEnd.getRequestCount();
+
+            MicroserviceRestClientResponseException e = assertThrows(MicroserviceRestClientResponseException.class,
+                    () -> client.doRequest(testUrl, HttpMethod.GET, null, null, String.class));
+            assertEquals(503, e.getHttpStatus());
+            assertEquals(2, mockBackEnd.getRequestCount() - requestCount);
+            for (int i = 0; i < 2; i++) {
+                assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            mockBackEnd.setDispatcher(queueDispatcher);
+        }
+    }
+
+    @Test
+    public void testRetryPolicyRetriesResponseTimeout() throws InterruptedException {
+        MicroserviceWebClient client = new MicroserviceWebClient(HttpClient.create().responseTimeout(Duration.ofMillis(200)))
+                .withRetryPolicy(RetryPolicy.builder().maxAttempts(2).initialBackoff(Duration.ZERO).build());
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(1, TimeUnit.SECONDS));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(200).setBody(TEST_RESPONSE_BODY));
+
+        RestClientResponseEntity<String> response = client.doRequest(testUrl, HttpMethod.GET, null, null, String.class);
+
+        assertEquals(TEST_RESPONSE_BODY, response.getResponseBody());
+        for (int i = 0; i < 2; i++) {
+            assertNotNull(mockBackEnd.takeRequest(60, TimeUnit.SECONDS));
+        }
+    }
+}